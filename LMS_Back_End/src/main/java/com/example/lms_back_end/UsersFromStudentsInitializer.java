@@ -1,22 +1,34 @@
 package com.example.lms_back_end;
 
 import com.example.lms_back_end.entity.AppUser;
+import com.example.lms_back_end.entity.SeedMarker;
 import com.example.lms_back_end.entity.Student;
 import com.example.lms_back_end.entity.Instructor;
 import com.example.lms_back_end.repository.AppUserRepository;
+import com.example.lms_back_end.repository.SeedMarkerRepository;
 import com.example.lms_back_end.repository.StudentRepository;
 import com.example.lms_back_end.repository.InstructorRepository;
 import com.example.lms_back_end.security.Role;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Seeds login users for the known students/instructors plus an admin.
+ * Set-based: one query for existing usernames, then JDBC batch inserts/updates
+ * (AppUser uses IDENTITY ids, so Hibernate itself cannot batch these inserts).
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
@@ -26,7 +38,15 @@ public class UsersFromStudentsInitializer implements CommandLineRunner {
     private final StudentRepository students;
     private final InstructorRepository instructors;
     private final AppUserRepository users;
+    private final SeedMarkerRepository markers;
     private final PasswordEncoder passwordEncoder;
+    private final JdbcTemplate jdbc;
+
+    @Value("${app.seed.batch-size:500}")
+    private int batchSize;
+
+    // Bump the version if the seed set below changes and must be re-applied
+    private static final String SEED_MARKER = "users-from-students:v1";
 
     // Change these if you want different defaults
     private static final String DEFAULT_STUDENT_PASSWORD = "student123";
@@ -46,121 +66,140 @@ public class UsersFromStudentsInitializer implements CommandLineRunner {
             1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L
     );
 
+    /** A user row to insert (keyed by lower-cased username while planning). */
+    private static final class NewUser {
+        final String username; final String password; final Role role;
+        Long studentId; Long instructorId;
+        NewUser(String username, String password, Role role) {
+            this.username = username; this.password = password; this.role = role;
+        }
+    }
+
     @Override
     @Transactional
     public void run(String... args) {
-        // ===== Students =====
+        long t0 = System.nanoTime();
+        if (markers.existsById(SEED_MARKER)) {
+            log.info("User seeding '{}' already applied; skipping ({} ms)", SEED_MARKER, millisSince(t0));
+            return;
+        }
+
+        // ===== Phase 1: load targets and existing users (3 queries) =====
         var targetStudents = students.findAllById(TARGET_STUDENT_IDS);
+        var targetInstructors = instructors.findAllById(TARGET_INSTRUCTOR_IDS);
+        if (targetStudents.isEmpty()) log.warn("No matching students found for {}", TARGET_STUDENT_IDS);
+        if (targetInstructors.isEmpty()) log.warn("No matching instructors found for {}", TARGET_INSTRUCTOR_IDS);
 
-        if (targetStudents.isEmpty()) {
-            log.warn("No matching students found for {}", TARGET_STUDENT_IDS);
-        } else {
-            String encoded = passwordEncoder.encode(DEFAULT_STUDENT_PASSWORD);
+        String adminEmail = safeTrim(ADMIN_EMAIL);
+        Set<String> wanted = new HashSet<>();
+        targetStudents.forEach(s -> addKey(wanted, s.getEmail()));
+        targetInstructors.forEach(i -> addKey(wanted, i.getEmail()));
+        addKey(wanted, adminEmail);
+
+        Map<String, AppUser> existing = wanted.isEmpty() ? Map.of() : users.findByLowerUsernameIn(wanted).stream()
+                .collect(Collectors.toMap(u -> key(u.getUsername()), Function.identity(), (a, b) -> a));
+        long tLoad = System.nanoTime();
 
+        // ===== Phase 2: plan inserts and link updates in memory =====
+        Map<String, NewUser> inserts = new LinkedHashMap<>();
+        List<Object[]> studentLinks = new ArrayList<>();    // [studentId, userId]
+        List<Object[]> instructorLinks = new ArrayList<>(); // [instructorId, userId]
+
+        if (!targetStudents.isEmpty()) {
+            String encoded = passwordEncoder.encode(DEFAULT_STUDENT_PASSWORD);
             for (Student s : targetStudents) {
                 String email = safeTrim(s.getEmail());
                 if (email == null || email.isBlank()) {
                     log.warn("Student id={} has no email; skipping user creation", s.getId());
                     continue;
                 }
-
                 // If a user with this username already exists, skip (but update missing student link)
-                var existing = users.findByUsernameIgnoreCase(email);
-                if (existing.isPresent()) {
-                    var u = existing.get();
+                AppUser u = existing.get(key(email));
+                if (u != null) {
                     if (u.getStudentId() == null) {
-                        u.setStudentId(s.getId());
-                        users.save(u);
-                        log.info("Updated user '{}' with studentId={}", u.getUsername(), s.getId());
-                    } else {
-                        log.info("User '{}' already present; skipping", email);
+                        studentLinks.add(new Object[]{s.getId(), u.getId()});
+                        log.info("Updating user '{}' with studentId={}", u.getUsername(), s.getId());
                     }
                 } else {
-                    AppUser newUser = AppUser.builder()
-                            .username(email)
-                            .password(encoded)
-                            .role(Role.STUDENT)
-                            .studentId(s.getId())
-                            .instructorId(null)
-                            .build();
-
-                    users.save(newUser);
-                    log.info("Created user '{}' for studentId={}", email, s.getId());
+                    inserts.computeIfAbsent(key(email), k -> new NewUser(email, encoded, Role.STUDENT))
+                            .studentId = s.getId();
                 }
             }
-
-            log.info("Student -> user seeding complete");
         }
 
-        // ===== Instructors =====
-        var targetInstructors = instructors.findAllById(TARGET_INSTRUCTOR_IDS);
-
-        if (targetInstructors.isEmpty()) {
-            log.warn("No matching instructors found for {}", TARGET_INSTRUCTOR_IDS);
-        } else {
+        if (!targetInstructors.isEmpty()) {
             String encodedInstructor = passwordEncoder.encode(DEFAULT_INSTRUCTOR_PASSWORD);
-
             for (Instructor i : targetInstructors) {
                 String email = safeTrim(i.getEmail());
                 if (email == null || email.isBlank()) {
                     log.warn("Instructor id={} has no email; skipping user creation", i.getId());
                     continue;
                 }
-
-                var existing = users.findByUsernameIgnoreCase(email);
-                if (existing.isPresent()) {
-                    var u = existing.get();
+                AppUser u = existing.get(key(email));
+                if (u != null) {
                     if (u.getInstructorId() == null) {
-                        u.setInstructorId(i.getId());
-                        users.save(u);
-                        log.info("Updated user '{}' with instructorId={}", u.getUsername(), i.getId());
-                    } else {
-                        log.info("User '{}' already present; skipping", email);
+                        instructorLinks.add(new Object[]{i.getId(), u.getId()});
+                        log.info("Updating user '{}' with instructorId={}", u.getUsername(), i.getId());
                     }
                 } else {
-                    AppUser newUser = AppUser.builder()
-                            .username(email)
-                            .password(encodedInstructor)
-                            .role(Role.INSTRUCTOR)
-                            .studentId(null)
-                            .instructorId(i.getId())
-                            .build();
-
-                    users.save(newUser);
-                    log.info("Created user '{}' for instructorId={}", email, i.getId());
+                    // an email shared with a student being created in this run just gains the link
+                    inserts.computeIfAbsent(key(email), k -> new NewUser(email, encodedInstructor, Role.INSTRUCTOR))
+                            .instructorId = i.getId();
                 }
             }
-
-            log.info("Instructor -> user seeding complete");
         }
 
-        // ===== Admin =====
-        String adminEmail = safeTrim(ADMIN_EMAIL);
         if (adminEmail == null || adminEmail.isBlank()) {
             log.warn("Admin email is blank; skipping admin creation");
         } else {
-            var existingAdmin = users.findByUsernameIgnoreCase(adminEmail);
-            if (existingAdmin.isPresent()) {
-                var u = existingAdmin.get();
-                if (u.getRole() != Role.ADMIN) {
-                    log.warn("User '{}' already exists with role {}; not changing role to ADMIN", adminEmail, u.getRole());
-                } else {
-                    log.info("Admin '{}' already present; skipping", adminEmail);
-                }
-            } else {
-                String encodedAdmin = passwordEncoder.encode(DEFAULT_ADMIN_PASSWORD);
-                AppUser admin = AppUser.builder()
-                        .username(adminEmail)
-                        .password(encodedAdmin)
-                        .role(Role.ADMIN)
-                        .studentId(null)
-                        .instructorId(null)
-                        .build();
-                users.save(admin);
-                log.info("Created admin user '{}'", adminEmail);
+            AppUser u = existing.get(key(adminEmail));
+            if (u != null && u.getRole() != Role.ADMIN) {
+                log.warn("User '{}' already exists with role {}; not changing role to ADMIN", adminEmail, u.getRole());
+            } else if (u == null && !inserts.containsKey(key(adminEmail))) {
+                inserts.put(key(adminEmail),
+                        new NewUser(adminEmail, passwordEncoder.encode(DEFAULT_ADMIN_PASSWORD), Role.ADMIN));
             }
         }
+        long tPlan = System.nanoTime();
+
+        // ===== Phase 3: write in JDBC batches =====
+        jdbc.batchUpdate(
+                "insert into users (username, password, role, student_id, instructor_id) values (?, ?, ?, ?, ?)",
+                new ArrayList<>(inserts.values()), batchSize, (ps, u) -> {
+                    ps.setString(1, u.username);
+                    ps.setString(2, u.password);
+                    ps.setString(3, u.role.name());
+                    ps.setObject(4, u.studentId);
+                    ps.setObject(5, u.instructorId);
+                });
+        jdbc.batchUpdate("update users set student_id = ? where id = ?", studentLinks);
+        jdbc.batchUpdate("update users set instructor_id = ? where id = ?", instructorLinks);
+        long tWrite = System.nanoTime();
+
+        // Only mark done once every target row existed; otherwise retry on the next boot
+        boolean complete = targetStudents.size() == TARGET_STUDENT_IDS.size()
+                && targetInstructors.size() == TARGET_INSTRUCTOR_IDS.size();
+        if (complete) {
+            markers.save(SeedMarker.builder().name(SEED_MARKER).appliedAt(Instant.now()).build());
+        }
+
+        log.info("User seeding: {} created, {} student links, {} instructor links{} "
+                        + "(load {} ms, plan {} ms, write {} ms, total {} ms)",
+                inserts.size(), studentLinks.size(), instructorLinks.size(),
+                complete ? "" : " (incomplete targets; will re-run next boot)",
+                nanosToMillis(tLoad - t0), nanosToMillis(tPlan - tLoad), nanosToMillis(tWrite - tPlan), millisSince(t0));
+    }
+
+    private static void addKey(Set<String> keys, String email) {
+        String e = safeTrim(email);
+        if (e != null && !e.isBlank()) keys.add(key(e));
     }
 
+    private static String key(String username) { return username.trim().toLowerCase(Locale.ROOT); }
+
+    private static long millisSince(long startNanos) { return nanosToMillis(System.nanoTime() - startNanos); }
+
+    private static long nanosToMillis(long nanos) { return nanos / 1_000_000; }
+
     private static String safeTrim(String v) { return v == null ? null : v.trim(); }
 }
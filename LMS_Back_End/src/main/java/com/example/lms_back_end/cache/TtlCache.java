@@ -0,0 +1,125 @@
+package com.example.lms_back_end.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Small bounded in-memory cache with per-entry expiry.
+ * Lookups are lock-free. When the size bound is exceeded, one thread sweeps the map once,
+ * dropping expired entries and then arbitrary ones until the cache is down to 90% of the
+ * bound, so the sweep cost is spread over the next tenth of the capacity worth of inserts.
+ */
+public class TtlCache<K, V> {
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+        boolean expired(long now) { return now >= expiresAtMillis; }
+    }
+
+    private final ConcurrentHashMap<K, Entry<V>> map = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final int shrinkTo;
+    private final long ttlMillis;
+    private final AtomicBoolean shrinking = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TtlCache(int maxSize, Duration ttl) {
+        if (maxSize <= 0) throw new IllegalArgumentException("maxSize must be > 0");
+        this.maxSize = maxSize;
+        this.shrinkTo = Math.max(1, maxSize - Math.max(1, maxSize / 10));
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /** Cached value, or null when absent/expired. */
+    public V get(K key) {
+        Entry<V> e = map.get(key);
+        if (e == null) {
+            misses.increment();
+            return null;
+        }
+        if (e.expired(System.currentTimeMillis())) {
+            map.remove(key, e);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return e.value();
+    }
+
+    /**
+     * Cached value, loading (and caching) it on a miss. Null results are not cached.
+     * <p>
+     * Not atomic: concurrent misses may each run the loader, and the last put wins. A load
+     * that started before an {@link #invalidate} can also put its (stale) result back after
+     * it. Use {@link #computeIfAbsent} when every caller must share one instance.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V v = get(key);
+        if (v != null) return v;
+        v = loader.apply(key);
+        if (v != null) put(key, v);
+        return v;
+    }
+
+    /**
+     * Atomic get-or-create: all concurrent callers receive the same instance. The factory runs
+     * while the map bin is locked, so it must be cheap and must not touch this cache.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        long now = System.currentTimeMillis();
+        Entry<V> current = map.get(key);
+        if (current != null && !current.expired(now)) {
+            hits.increment();
+            return current.value();
+        }
+        misses.increment();
+        Entry<V> e = map.compute(key, (k, old) ->
+                old != null && !old.expired(now) ? old : new Entry<>(factory.apply(k), now + ttlMillis));
+        if (map.size() > maxSize) shrink();
+        return e.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /** Store with an explicit expiry; it is capped at the cache TTL. */
+    public void put(K key, V value, long expiresAtMillis) {
+        long cap = System.currentTimeMillis() + ttlMillis;
+        map.put(key, new Entry<>(value, Math.min(expiresAtMillis, cap)));
+        if (map.size() > maxSize) shrink();
+    }
+
+    public void invalidate(K key) { map.remove(key); }
+
+    public void invalidateAll() { map.clear(); }
+
+    public int size() { return map.size(); }
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long evictions() { return evictions.sum(); }
+
+    private void shrink() {
+        if (!shrinking.compareAndSet(false, true)) return; // another thread is already sweeping
+        try {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+            while (it.hasNext()) {
+                var en = it.next();
+                if (en.getValue().expired(now) || map.size() > shrinkTo) {
+                    it.remove();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            shrinking.set(false);
+        }
+    }
+}
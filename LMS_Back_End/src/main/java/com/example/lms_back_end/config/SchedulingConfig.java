@@ -0,0 +1,10 @@
+package com.example.lms_back_end.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/** Enables @Scheduled housekeeping jobs (e.g. pruning expired token revocations). */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
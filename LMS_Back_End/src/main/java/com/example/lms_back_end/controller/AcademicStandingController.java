@@ -0,0 +1,22 @@
+package com.example.lms_back_end.controller;
+
+import com.example.lms_back_end.dto.grade.StandingRebuildReport;
+import com.example.lms_back_end.service.AcademicStandingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/standings")
+@RequiredArgsConstructor
+public class AcademicStandingController {
+
+    private final AcademicStandingService service;
+
+    /** Recompute all GPA standings (e.g. after a grading-scale change) */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/rebuild")
+    public StandingRebuildReport rebuild() {
+        return service.rebuildAll();
+    }
+}
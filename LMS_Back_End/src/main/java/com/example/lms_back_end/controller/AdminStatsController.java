@@ -0,0 +1,24 @@
+package com.example.lms_back_end.controller;
+
+import com.example.lms_back_end.dto.admin.AdminStatsDto;
+import com.example.lms_back_end.service.AdminStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminStatsController {
+
+    private final AdminStatsService service;
+
+    /** Dashboard overview counts (cached snapshot, see computedAt) */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public AdminStatsDto stats() {
+        return service.stats();
+    }
+}
@@ -2,22 +2,29 @@ package com.example.lms_back_end.controller;
 
 import com.example.lms_back_end.dto.course.CourseCreateRequest;
 import com.example.lms_back_end.dto.course.CourseDto;
+import com.example.lms_back_end.dto.course.CourseSeatsDto;
 import com.example.lms_back_end.dto.course.CourseUpdateRequest;
 import com.example.lms_back_end.service.CourseService;
+import com.example.lms_back_end.service.SeatAvailabilityBroadcaster;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/courses")
 @RequiredArgsConstructor
 public class CourseController {
 
     private final CourseService service;
+    private final SeatAvailabilityBroadcaster seatEvents;
 
     @PreAuthorize("isAuthenticated()")
     @GetMapping
@@ -29,6 +36,23 @@ public class CourseController {
         return service.list(q, page, size);
     }
 
+    /** Enrolled/remaining seats for many courses in one call: GET /api/courses/counts?ids=1,2,3 */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/counts")
+    public List<CourseSeatsDto> counts(@RequestParam List<Long> ids) {
+        return service.seats(ids);
+    }
+
+    /**
+     * Live seat availability as Server-Sent Events ("seats" events carrying CourseSeatsDto lists):
+     * GET /api/courses/seats/stream?ids=1,2,3, or without ids for the whole catalog
+     */
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter seatStream(@RequestParam(required = false) List<Long> ids) {
+        return seatEvents.subscribe(ids);
+    }
+
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/{id}")
     public CourseDto getById(@PathVariable Long id) {
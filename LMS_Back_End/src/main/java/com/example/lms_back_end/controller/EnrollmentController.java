@@ -1,8 +1,16 @@
 package com.example.lms_back_end.controller;
 
+import com.example.lms_back_end.dto.enrollment.BulkEnrollReport;
+import com.example.lms_back_end.dto.enrollment.BulkEnrollRequest;
+import com.example.lms_back_end.dto.enrollment.CheckoutRequest;
 import com.example.lms_back_end.dto.enrollment.EnrollRequest;
 import com.example.lms_back_end.dto.enrollment.EnrollmentDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentHistoryDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto;
+import com.example.lms_back_end.service.BulkEnrollmentService;
+import com.example.lms_back_end.service.EnrollmentCheckoutService;
 import com.example.lms_back_end.service.EnrollmentService;
+import com.example.lms_back_end.service.EnrollmentSurgeService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -10,6 +18,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.parameters.P;  // <-- added
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/enrollments")
@@ -17,13 +30,65 @@ import org.springframework.web.bind.annotation.*;
 public class EnrollmentController {
 
     private final EnrollmentService service;
+    private final BulkEnrollmentService bulkService;
+    private final EnrollmentCheckoutService checkoutService;
+    private final EnrollmentSurgeService surge;
 
+    /** In surge mode the request is queued: 202 with a ticket, Location pointing at its status. */
     @PreAuthorize("hasRole('STUDENT') and #req.studentId == principal.studentId")
     @PostMapping
-    public ResponseEntity<EnrollmentDto> enroll(@P("req") @Valid @RequestBody EnrollRequest req) { // <-- added
+    public ResponseEntity<?> enroll(@P("req") @Valid @RequestBody EnrollRequest req,
+                                    UriComponentsBuilder uri) { // <-- added
+        if (surge.isEnabled()) {
+            EnrollmentTicketDto ticket = surge.submit(req);
+            return ResponseEntity
+                    .accepted()
+                    .location(uri.path("/api/enrollments/tickets/{id}")
+                            .queryParam("studentId", req.getStudentId())
+                            .build(ticket.getTicketId()))
+                    .body(ticket);
+        }
         return ResponseEntity.ok(service.enroll(req));
     }
 
+    /** Surge-mode ticket; with waitSeconds > 0 the response is held until the ticket is decided (long poll). */
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @GetMapping("/tickets/{ticketId}")
+    public CompletableFuture<EnrollmentTicketDto> ticket(@PathVariable String ticketId,
+                                                         @P("studentId") @RequestParam Long studentId,
+                                                         @RequestParam(defaultValue = "0") int waitSeconds) {
+        if (waitSeconds <= 0) return CompletableFuture.completedFuture(surge.ticket(ticketId, studentId));
+        return surge.awaitTicket(ticketId, studentId, Duration.ofSeconds(Math.min(waitSeconds, 30)));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/surge")
+    public boolean surgeEnabled() {
+        return surge.isEnabled();
+    }
+
+    /** Switches enroll requests between direct writes and the queued, batched surge intake */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/surge")
+    public boolean setSurgeEnabled(@RequestParam boolean enabled) {
+        surge.setEnabled(enabled);
+        return surge.isEnabled();
+    }
+
+    /** Cart checkout: many courses for one student in a single request and transaction */
+    @PreAuthorize("hasRole('STUDENT') and #req.studentId == principal.studentId")
+    @PostMapping("/checkout")
+    public BulkEnrollReport checkout(@P("req") @Valid @RequestBody CheckoutRequest req) {
+        return checkoutService.checkout(req);
+    }
+
+    /** Admin mass-enroll (explicit pairs and/or students x courses); per-pair outcome report */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/bulk")
+    public BulkEnrollReport bulkEnroll(@Valid @RequestBody BulkEnrollRequest req) {
+        return bulkService.bulkEnroll(req);
+    }
+
     @PreAuthorize("hasRole('STUDENT') and #studentId == principal.studentId")
     @DeleteMapping
     public ResponseEntity<Void> unenroll(@P("studentId") @RequestParam Long studentId, // <-- added
@@ -40,6 +105,13 @@ public class EnrollmentController {
         return service.listByStudent(studentId, page, size);
     }
 
+    /** Dropped courses (with the grade held at the time), served from the archive */
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @GetMapping("/students/{studentId}/history")
+    public List<EnrollmentHistoryDto> listHistoryByStudent(@P("studentId") @PathVariable Long studentId) {
+        return service.listHistoryByStudent(studentId);
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
     @GetMapping("/courses/{courseId}")
     public Page<EnrollmentDto> listByCourse(@PathVariable Long courseId,
@@ -0,0 +1,55 @@
+package com.example.lms_back_end.controller;
+
+import com.example.lms_back_end.service.GradebookExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+
+/** Whole gradebooks written straight to the response stream (CSV with header, or NDJSON) */
+@RestController
+@RequestMapping("/api/exports")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final GradebookExportService exports;
+
+    @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
+    @GetMapping("/courses/{courseId}/gradebook")
+    public void courseGradebook(@PathVariable Long courseId,
+                                @RequestParam(defaultValue = "csv") String format,  // csv|ndjson
+                                HttpServletResponse response) throws IOException {
+        var f = format(format);
+        prepare(response, f, "gradebook-course-" + courseId);
+        exports.exportGradebook(courseId, f, response.getOutputStream());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/gradebook")
+    public void allGradebooks(@RequestParam(defaultValue = "csv") String format,
+                              HttpServletResponse response) throws IOException {
+        var f = format(format);
+        prepare(response, f, "gradebook-all");
+        exports.exportGradebook(null, f, response.getOutputStream());
+    }
+
+    private static GradebookExportService.Format format(String format) {
+        return switch (format.toLowerCase()) {
+            case "csv" -> GradebookExportService.Format.CSV;
+            case "ndjson" -> GradebookExportService.Format.NDJSON;
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported format: " + format);
+        };
+    }
+
+    private static void prepare(HttpServletResponse response, GradebookExportService.Format format, String name) {
+        boolean csv = format == GradebookExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name + (csv ? ".csv" : ".ndjson") + "\"");
+    }
+}
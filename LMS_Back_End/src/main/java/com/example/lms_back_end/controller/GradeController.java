@@ -1,9 +1,15 @@
 package com.example.lms_back_end.controller;
 
+import com.example.lms_back_end.dto.grade.CourseGradesBatchRequest;
+import com.example.lms_back_end.dto.grade.GradeDistributionDto;
 import com.example.lms_back_end.dto.grade.GradeDto;
 import com.example.lms_back_end.dto.grade.GradeSummaryDto;
 import com.example.lms_back_end.dto.grade.GradeUpsertRequest;
+import com.example.lms_back_end.dto.grade.RankDto;
+import com.example.lms_back_end.dto.grade.StudentRanksDto;
+import com.example.lms_back_end.service.ClassRankService;
 import com.example.lms_back_end.service.GradeService;
+import com.example.lms_back_end.service.GradeStatisticsService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,12 +18,16 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.parameters.P;  // <-- added
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/grades")
 @RequiredArgsConstructor
 public class GradeController {
 
     private final GradeService service;
+    private final GradeStatisticsService statistics;
+    private final ClassRankService ranks;
 
     @PreAuthorize("hasRole('INSTRUCTOR')")
     @PostMapping
@@ -25,20 +35,49 @@ public class GradeController {
         return ResponseEntity.ok(service.upsert(req));
     }
 
+    // Whole-gradebook save: validated together, written in one transaction, returns the updated gradebook
+    @PreAuthorize("hasRole('INSTRUCTOR') and #req.instructorId == principal.instructorId")
+    @PostMapping("/courses/{courseId}/batch")
+    public List<GradeDto> upsertCourseGrades(@PathVariable Long courseId,
+                                             @P("req") @Valid @RequestBody CourseGradesBatchRequest req) {
+        return service.upsertCourseGrades(courseId, req);
+    }
+
     @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
     @GetMapping("/students/{studentId}")
     public Page<GradeDto> listByStudent(@P("studentId") @PathVariable Long studentId, // <-- added
                                         @RequestParam(defaultValue = "0") int page,
-                                        @RequestParam(defaultValue = "20") int size) {
-        return service.listByStudent(studentId, page, size);
+                                        @RequestParam(defaultValue = "20") int size,
+                                        @RequestParam(defaultValue = "grade") String sort) { // grade|courseCode|courseTitle|score[,desc]
+        return service.listByStudent(studentId, page, size, sort);
     }
 
     @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
     @GetMapping("/courses/{courseId}")
     public Page<GradeDto> listByCourse(@P("courseId") @PathVariable Long courseId,    // <-- added
                                        @RequestParam(defaultValue = "0") int page,
-                                       @RequestParam(defaultValue = "20") int size) {
-        return service.listByCourse(courseId, page, size);
+                                       @RequestParam(defaultValue = "20") int size,
+                                       @RequestParam(defaultValue = "enrollment") String sort,  // enrollment|studentId|studentNo|lastName|score[,desc]
+                                       @RequestParam(defaultValue = "true") boolean count) {    // false skips the COUNT query
+        return service.listByCourse(courseId, page, size, sort, count);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
+    @GetMapping("/courses/{courseId}/stats")
+    public GradeDistributionDto statsByCourse(@PathVariable Long courseId) {
+        return statistics.forCourse(courseId);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @GetMapping("/courses/{courseId}/students/{studentId}/rank")
+    public RankDto courseRank(@PathVariable Long courseId, @P("studentId") @PathVariable Long studentId) {
+        return ranks.courseRank(courseId, studentId);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @GetMapping("/students/{studentId}/ranks")
+    public StudentRanksDto ranksByStudent(@P("studentId") @PathVariable Long studentId) {
+        return ranks.ranksFor(studentId);
     }
 
     @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
@@ -0,0 +1,51 @@
+package com.example.lms_back_end.controller;
+
+import com.example.lms_back_end.dto.grade.GradingScaleDto;
+import com.example.lms_back_end.dto.grade.GradingScaleRequest;
+import com.example.lms_back_end.service.GradingScaleService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/grading-scales")
+@RequiredArgsConstructor
+public class GradingScaleController {
+
+    private final GradingScaleService service;
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping
+    public List<GradingScaleDto> list() {
+        return service.list();
+    }
+
+    @PreAuthorize("isAuthenticated()")
+    @GetMapping("/{id}")
+    public GradingScaleDto getById(@PathVariable Long id) {
+        return service.getById(id);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    public ResponseEntity<GradingScaleDto> create(@Valid @RequestBody GradingScaleRequest req) {
+        return ResponseEntity.status(201).body(service.create(req));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{id}")
+    public GradingScaleDto update(@PathVariable Long id, @Valid @RequestBody GradingScaleRequest req) {
+        return service.update(id, req);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        service.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
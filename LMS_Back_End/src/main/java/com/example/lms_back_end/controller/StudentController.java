@@ -4,17 +4,23 @@ import com.example.lms_back_end.dto.course.CourseDto;
 import com.example.lms_back_end.dto.student.StudentCreateRequest;
 import com.example.lms_back_end.dto.student.StudentDto;
 import com.example.lms_back_end.dto.student.StudentProfileUpdateRequest;
+import com.example.lms_back_end.dto.student.StudentImportReport;
+import com.example.lms_back_end.dto.student.TimetableDto;
 import com.example.lms_back_end.service.EnrollmentService;
+import com.example.lms_back_end.service.StudentImportService;
 import com.example.lms_back_end.service.StudentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.parameters.P;  // <-- keep
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.InputStream;
+
 @RestController
 @RequestMapping("/api/students")
 @RequiredArgsConstructor
@@ -22,6 +28,7 @@ public class StudentController {
 
     private final StudentService service;
     private final EnrollmentService enrollmentService;
+    private final StudentImportService importService;
 
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
@@ -48,6 +55,17 @@ public class StudentController {
                 .body(created);
     }
 
+    /** Bulk create from a streamed CSV (with header) or NDJSON body; returns a per-row report */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public StudentImportReport importStudents(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                              InputStream body) {
+        var format = contentType.contains("ndjson")
+                ? StudentImportService.Format.NDJSON
+                : StudentImportService.Format.CSV;
+        return importService.importStudents(body, format);
+    }
+
     @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #id == principal.studentId)")
     @PutMapping("/{id}/profile")
     public StudentDto updateProfile(@P("id") @PathVariable Long id,
@@ -62,6 +80,13 @@ public class StudentController {
         return ResponseEntity.noContent().build();
     }
 
+    /** Weekly lectures of the enrolled courses, from the per-student timetable index */
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @GetMapping("/{studentId}/timetable")
+    public TimetableDto timetable(@P("studentId") @PathVariable Long studentId) {
+        return enrollmentService.timetableForStudent(studentId);
+    }
+
     @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
     @GetMapping("/{studentId}/courses")
     public Page<CourseDto> listEnrolledCourses(@P("studentId") @PathVariable Long studentId,
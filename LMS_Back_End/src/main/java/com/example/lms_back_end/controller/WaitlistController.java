@@ -0,0 +1,49 @@
+package com.example.lms_back_end.controller;
+
+import com.example.lms_back_end.dto.enrollment.WaitlistEntryDto;
+import com.example.lms_back_end.dto.enrollment.WaitlistRequest;
+import com.example.lms_back_end.service.WaitlistService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.parameters.P;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/waitlists")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService service;
+
+    /** Queue for a full course; the student is enrolled automatically when a seat frees up */
+    @PreAuthorize("hasRole('STUDENT') and #req.studentId == principal.studentId")
+    @PostMapping
+    public ResponseEntity<WaitlistEntryDto> join(@P("req") @Valid @RequestBody WaitlistRequest req) {
+        return ResponseEntity.ok(service.join(req));
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @DeleteMapping
+    public ResponseEntity<Void> leave(@P("studentId") @RequestParam Long studentId,
+                                      @RequestParam Long courseId) {
+        service.leave(studentId, courseId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /** The student's queued courses with their current positions */
+    @PreAuthorize("hasRole('ADMIN') or (hasRole('STUDENT') and #studentId == principal.studentId)")
+    @GetMapping("/students/{studentId}")
+    public List<WaitlistEntryDto> listByStudent(@P("studentId") @PathVariable Long studentId) {
+        return service.listByStudent(studentId);
+    }
+
+    @PreAuthorize("hasAnyRole('ADMIN','INSTRUCTOR')")
+    @GetMapping("/courses/{courseId}")
+    public List<WaitlistEntryDto> listByCourse(@PathVariable Long courseId) {
+        return service.listByCourse(courseId);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.lms_back_end.dto.admin;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AdminStatsDto {
+    private long students;
+    private long instructors;
+    private long courses;
+    private long enrollments;        // active enrollments
+    private long gradedEnrollments;  // active enrollments with a grade
+    private Map<String, Long> usersByRole;
+
+    private Instant computedAt;      // snapshot time; served for up to the cache TTL
+}
@@ -16,5 +16,11 @@ public class CourseDto {
     private DayOfWeek lectureDay;
 
     private Integer capacity;
+    private Integer credits;
+    private Long gradingScaleId; // null => default scale
     private boolean enrollmentOpen;
+
+    // from courses.enrolled_count (no extra query); seatsRemaining is null when capacity is unlimited
+    private Integer enrolledCount;
+    private Integer seatsRemaining;
 }
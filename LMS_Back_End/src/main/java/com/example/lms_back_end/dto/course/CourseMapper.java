@@ -15,10 +15,30 @@ public final class CourseMapper {
                 .lectureTime(c.getLectureTime())
                 .lectureDay(c.getLectureDay())
                 .capacity(c.getCapacity())
+                .credits(c.getCredits())
+                .gradingScaleId(c.gradingScaleId())
                 .enrollmentOpen(c.isEnrollmentOpen())
+                .enrolledCount(c.getEnrolledCount())
+                .seatsRemaining(seatsRemaining(c.getCapacity(), c.getEnrolledCount()))
                 .build();
     }
 
+    public static CourseSeatsDto toSeatsDto(Long courseId, Integer capacity, int enrolled, boolean enrollmentOpen) {
+        return CourseSeatsDto.builder()
+                .courseId(courseId)
+                .capacity(capacity)
+                .enrolledCount(enrolled)
+                .seatsRemaining(seatsRemaining(capacity, enrolled))
+                .enrollmentOpen(enrollmentOpen)
+                .build();
+    }
+
+    /** null/0 capacity => unlimited (null); never negative if capacity was lowered below the headcount */
+    public static Integer seatsRemaining(Integer capacity, int enrolled) {
+        if (capacity == null || capacity <= 0) return null;
+        return Math.max(0, capacity - enrolled);
+    }
+
     public static Course fromCreate(CourseCreateRequest r) {
         return Course.builder()
                 .code(r.getCode())
@@ -28,6 +48,7 @@ public final class CourseMapper {
                 .lectureTime(r.getLectureTime())
                 .lectureDay(r.getLectureDay())
                 .capacity(r.getCapacity())
+                .credits(r.getCredits())
                 .enrollmentOpen(r.isEnrollmentOpen())
                 .build();
     }
@@ -40,6 +61,7 @@ public final class CourseMapper {
         c.setLectureTime(r.getLectureTime());
         c.setLectureDay(r.getLectureDay());
         c.setCapacity(r.getCapacity());
+        c.setCredits(r.getCredits());
         c.setEnrollmentOpen(r.isEnrollmentOpen());
     }
 }
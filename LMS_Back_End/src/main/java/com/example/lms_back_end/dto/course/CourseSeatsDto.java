@@ -0,0 +1,12 @@
+package com.example.lms_back_end.dto.course;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CourseSeatsDto {
+    private Long courseId;
+    private Integer capacity;
+    private int enrolledCount;
+    private Integer seatsRemaining; // null => unlimited
+    private boolean enrollmentOpen;
+}
@@ -1,5 +1,7 @@
 package com.example.lms_back_end.dto.course;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
@@ -24,5 +26,10 @@ public class CourseUpdateRequest {
     private DayOfWeek lectureDay;
 
     private Integer capacity;       // null or 0 → unlimited
+    @Min(0) @Max(60)
+    private Integer credits;           // null → not credit-weighted
+
+    private Long gradingScaleId;       // null → default grading scale
+
     private boolean enrollmentOpen; // whether enrollment is open
 }
@@ -0,0 +1,14 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkEnrollReport {
+    private int requested;
+    private int enrolled;
+    private int failed;
+    private long elapsedMillis;
+    private List<BulkEnrollResult> results;
+}
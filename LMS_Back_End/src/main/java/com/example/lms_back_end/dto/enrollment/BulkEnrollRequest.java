@@ -0,0 +1,23 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Admin mass-enroll: either explicit {@code pairs}, or every student in {@code studentIds}
+ * into every course in {@code courseIds} (both forms may be combined).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkEnrollRequest {
+    @Valid
+    private List<EnrollRequest> pairs;
+
+    private List<Long> studentIds;
+    private List<Long> courseIds;
+
+    @Min(1)
+    private Integer commitSize; // rows per transaction; server default when null
+}
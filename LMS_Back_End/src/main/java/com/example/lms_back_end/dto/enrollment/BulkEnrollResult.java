@@ -0,0 +1,11 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BulkEnrollResult {
+    private Long studentId;
+    private Long courseId;
+    private boolean success;
+    private String message; // failure reason, e.g. "Course capacity reached"
+}
@@ -0,0 +1,25 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Student cart checkout: enroll {@code studentId} in every course of {@code courseIds} with one
+ * request. {@code allOrNothing} (default) enrolls in none of them if any one is refused;
+ * otherwise every course that passes is kept.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CheckoutRequest {
+    @NotNull private Long studentId;
+
+    @NotEmpty
+    @Size(max = 50)
+    private List<@NotNull Long> courseIds;
+
+    @Builder.Default
+    private boolean allOrNothing = true;
+}
@@ -0,0 +1,19 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class EnrollmentHistoryDto {
+    private Long enrollmentId;
+    private Long courseId;
+    private String courseCode;
+    private String courseTitle;
+
+    // final grade at the time of the drop (null if ungraded)
+    private Integer score;
+    private String letter;
+
+    private Instant droppedAt;
+}
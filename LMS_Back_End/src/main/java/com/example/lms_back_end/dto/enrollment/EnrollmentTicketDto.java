@@ -0,0 +1,19 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/** Outcome of an enroll request taken in surge mode; QUEUED until the course's writer decides it. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class EnrollmentTicketDto {
+    public enum Status { QUEUED, ENROLLED, REJECTED }
+
+    private String ticketId;
+    private Long studentId;
+    private Long courseId;
+    private Status status;
+    private String message;    // reason when REJECTED (same messages as a direct enroll)
+    private Instant queuedAt;
+    private Instant decidedAt;
+}
@@ -0,0 +1,16 @@
+package com.example.lms_back_end.dto.enrollment;
+
+import lombok.*;
+
+import java.time.Instant;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class WaitlistEntryDto {
+    private Long id;
+    private Long studentId;
+    private Long courseId;
+    private String courseCode;
+    private String courseTitle;
+    private int position;    // 1 = next to be promoted
+    private Instant joinedAt;
+}
@@ -0,0 +1,87 @@
+package com.example.lms_back_end.dto.grade;
+
+import com.example.lms_back_end.entity.GradingBand;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * A grading scale flattened into 101-entry lookup tables, so mapping a score is
+ * two array reads: no branching over bands and no allocation per DTO.
+ * Immutable; instances are shared through the scale cache.
+ */
+public final class CompiledGradingScale {
+
+    /** The historical 4.0 scale; used by courses without an assigned scale. */
+    public static final CompiledGradingScale DEFAULT = compile(null, 50, List.of(
+            band(90, "A", 4.0), band(85, "A-", 3.7), band(80, "B+", 3.3), band(75, "B", 3.0),
+            band(70, "B-", 2.7), band(65, "C+", 2.3), band(60, "C", 2.0), band(55, "C-", 1.7),
+            band(50, "D", 1.0), band(0, "F", 0.0)));
+
+    private final Long id;
+    private final int passMark;
+    private final double[] points = new double[101];
+    private final String[] letters = new String[101];
+    private final List<String> letterOrder; // best to worst
+
+    private CompiledGradingScale(Long id, int passMark, List<GradingBand> bandsDesc) {
+        this.id = id;
+        this.passMark = passMark;
+        int b = 0;
+        for (int s = 100; s >= 0; s--) {
+            while (bandsDesc.get(b).getMinScore() > s) b++;
+            points[s] = bandsDesc.get(b).getPoints();
+            letters[s] = bandsDesc.get(b).getLetter();
+        }
+        var order = new LinkedHashSet<String>();
+        bandsDesc.forEach(band -> order.add(band.getLetter()));
+        this.letterOrder = List.copyOf(order);
+    }
+
+    /** Validates the bands (0..100, distinct, one starting at 0) and builds the tables. */
+    public static CompiledGradingScale compile(Long id, int passMark, List<GradingBand> bands) {
+        if (bands == null || bands.isEmpty()) throw new IllegalArgumentException("A scale needs at least one band");
+        if (passMark < 0 || passMark > 100) throw new IllegalArgumentException("Pass mark must be 0..100");
+        var sorted = new ArrayList<>(bands);
+        sorted.sort(Comparator.comparingInt(GradingBand::getMinScore).reversed());
+        for (int i = 0; i < sorted.size(); i++) {
+            var band = sorted.get(i);
+            if (band.getMinScore() < 0 || band.getMinScore() > 100) {
+                throw new IllegalArgumentException("Band minimum must be 0..100: " + band.getMinScore());
+            }
+            if (i > 0 && sorted.get(i - 1).getMinScore() == band.getMinScore()) {
+                throw new IllegalArgumentException("Duplicate band minimum: " + band.getMinScore());
+            }
+            if (band.getLetter() == null || band.getLetter().isBlank()) {
+                throw new IllegalArgumentException("Band letter is required");
+            }
+            if (band.getPoints() < 0 || Double.isNaN(band.getPoints())) {
+                throw new IllegalArgumentException("Band points must be >= 0");
+            }
+        }
+        if (sorted.get(sorted.size() - 1).getMinScore() != 0) {
+            throw new IllegalArgumentException("The lowest band must start at 0");
+        }
+        return new CompiledGradingScale(id, passMark, sorted);
+    }
+
+    private static GradingBand band(int minScore, String letter, double points) {
+        return GradingBand.builder().minScore(minScore).letter(letter).points(points).build();
+    }
+
+    /** Scale id, or null for {@link #DEFAULT}. */
+    public Long id() { return id; }
+
+    public int passMark() { return passMark; }
+
+    public double points(int score) { return points[score]; }
+
+    public String letter(int score) { return letters[score]; }
+
+    public boolean passed(int score) { return score >= passMark; }
+
+    /** Distinct letters from best to worst (histogram order). */
+    public List<String> letterOrder() { return letterOrder; }
+}
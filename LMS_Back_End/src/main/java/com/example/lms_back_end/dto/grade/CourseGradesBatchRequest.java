@@ -0,0 +1,22 @@
+package com.example.lms_back_end.dto.grade;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/** Scores for many students of one course in a single request (all-or-nothing) */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class CourseGradesBatchRequest {
+    @NotNull private Long instructorId;
+
+    @NotEmpty @Size(max = 5000) @Valid
+    private List<Entry> grades;
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Entry {
+        @NotNull private Long studentId;
+        @NotNull @Min(0) @Max(100) private Integer score;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.lms_back_end.dto.grade;
+
+import lombok.*;
+
+import java.util.Map;
+
+/** Score statistics for the active enrollments of one course; numeric fields are null when nothing is graded */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GradeDistributionDto {
+    private Long courseId;
+    private long count;
+    private Double mean;
+    private Double median;
+    private Double stdDev;   // population standard deviation
+    private Integer min;
+    private Integer max;
+    private Map<String, Integer> percentiles; // p10, p25, p50, p75, p90 (nearest rank)
+    private Map<String, Long> letters;        // the course scale's letters, best first, zero counts included
+    private Double passRate;                  // share of graded students at or above the scale's pass mark
+}
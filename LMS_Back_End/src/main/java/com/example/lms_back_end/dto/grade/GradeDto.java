@@ -9,8 +9,24 @@ public class GradeDto {
     private Long courseId;
     private String courseCode;
     private String courseTitle;
+    private Long gradingScaleId; // null => default scale
 
     private Integer score;     // 0..100
     private String letter;     // e.g., A-, B+
     private double gradePoint; // 0.0..4.0
-}
\ No newline at end of file
+
+    /**
+     * Constructor-expression target for repository projections; derives letter/points from score
+     * on the default scale (rows with a gradingScaleId are re-mapped by GradingScaleService).
+     */
+    public GradeDto(Long id, Long studentId, Long courseId, String courseCode, String courseTitle,
+                    Long gradingScaleId, Integer score) {
+        this(id, studentId, courseId, courseCode, courseTitle, gradingScaleId, score,
+                GradeMapper.letter(score), GradeMapper.gradePoint(score));
+    }
+
+    public void applyScale(CompiledGradingScale scale) {
+        this.letter = scale.letter(score);
+        this.gradePoint = scale.points(score);
+    }
+}
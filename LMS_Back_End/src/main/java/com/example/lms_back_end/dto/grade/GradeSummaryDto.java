@@ -7,4 +7,7 @@ public class GradeSummaryDto {
     private Long studentId;
     private int gradedCourses;
     private double gpa; // 4.0 scale, unweighted
+
+    private int gradedCredits;   // credits of graded courses that carry a credit value
+    private Double weightedGpa;  // credit-weighted; null when no graded course has credits
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.example.lms_back_end.dto.grade;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GradingBandDto {
+    @Min(0) @Max(100)
+    private int minScore;      // band covers minScore up to the next band's minimum
+
+    @NotBlank @Size(max = 4)
+    private String letter;
+
+    @DecimalMin("0.0") @DecimalMax("10.0")
+    private double points;
+}
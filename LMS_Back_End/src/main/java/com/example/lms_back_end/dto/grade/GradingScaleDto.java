@@ -0,0 +1,14 @@
+package com.example.lms_back_end.dto.grade;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GradingScaleDto {
+    private Long id;
+    private String code;
+    private String name;
+    private int passMark;
+    private List<GradingBandDto> bands; // highest minimum first
+}
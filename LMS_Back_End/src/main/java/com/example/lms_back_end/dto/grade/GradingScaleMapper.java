@@ -0,0 +1,41 @@
+package com.example.lms_back_end.dto.grade;
+
+import com.example.lms_back_end.entity.GradingBand;
+import com.example.lms_back_end.entity.GradingScale;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class GradingScaleMapper {
+    private GradingScaleMapper() {}
+
+    public static GradingScaleDto toDto(GradingScale s) {
+        return GradingScaleDto.builder()
+                .id(s.getId())
+                .code(s.getCode())
+                .name(s.getName())
+                .passMark(s.getPassMark())
+                .bands(s.getBands().stream()
+                        .map(b -> new GradingBandDto(b.getMinScore(), b.getLetter(), b.getPoints()))
+                        .toList())
+                .build();
+    }
+
+    public static void apply(GradingScale s, GradingScaleRequest r) {
+        s.setCode(r.getCode());
+        s.setName(r.getName());
+        s.setPassMark(r.getPassMark());
+        s.getBands().clear();
+        s.getBands().addAll(bands(r));
+    }
+
+    public static List<GradingBand> bands(GradingScaleRequest r) {
+        var out = new ArrayList<GradingBand>();
+        for (var b : r.getBands()) out.add(new GradingBand(b.getMinScore(), b.getLetter().trim(), b.getPoints()));
+        return out;
+    }
+
+    public static CompiledGradingScale compile(GradingScale s) {
+        return CompiledGradingScale.compile(s.getId(), s.getPassMark(), s.getBands());
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.lms_back_end.dto.grade;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/** Create/replace body for a grading scale; the bands must include one starting at 0 */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GradingScaleRequest {
+    @NotBlank @Size(max = 40)
+    private String code;
+
+    @NotBlank @Size(max = 120)
+    private String name;
+
+    @Min(0) @Max(100)
+    private int passMark;
+
+    @NotEmpty @Size(max = 101) @Valid
+    private List<GradingBandDto> bands;
+}
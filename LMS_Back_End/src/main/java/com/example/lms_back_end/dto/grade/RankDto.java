@@ -0,0 +1,14 @@
+package com.example.lms_back_end.dto.grade;
+
+import lombok.*;
+
+/** A student's position by score within one course, or by GPA across all courses (courseId null) */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RankDto {
+    private Long studentId;
+    private Long courseId;
+    private double value;      // score, or GPA for the overall rank
+    private long rank;         // 1 + number strictly ahead; ties share a rank
+    private long outOf;
+    private double percentile; // mid-rank: share below plus half the ties, 0..100
+}
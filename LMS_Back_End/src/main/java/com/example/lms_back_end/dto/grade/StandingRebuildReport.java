@@ -0,0 +1,11 @@
+package com.example.lms_back_end.dto.grade;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class StandingRebuildReport {
+    private int students;
+    private int standings; // rows written (students with at least one graded active enrollment)
+    private int chunks;
+    private long elapsedMillis;
+}
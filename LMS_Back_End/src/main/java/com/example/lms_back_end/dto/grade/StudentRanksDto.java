@@ -0,0 +1,12 @@
+package com.example.lms_back_end.dto.grade;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class StudentRanksDto {
+    private Long studentId;
+    private RankDto overall;     // null until the student has a graded active enrollment
+    private List<RankDto> courses;
+}
@@ -5,7 +5,8 @@ import lombok.*;
 
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class AuthResponse {
-    private String token;
+    private String token;        // short-lived access token
+    private String refreshToken; // exchange at /api/auth/refresh
     private Role role;
     private Long userId;
     private Long studentId;    // if applicable
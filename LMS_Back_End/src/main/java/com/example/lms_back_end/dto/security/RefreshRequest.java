@@ -0,0 +1,9 @@
+package com.example.lms_back_end.dto.security;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RefreshRequest {
+    @NotBlank private String refreshToken;
+}
@@ -0,0 +1,16 @@
+package com.example.lms_back_end.dto.student;
+
+import lombok.*;
+
+import java.util.List;
+
+/** Totals of a bulk student import, with the first failed rows (the rest are only counted in errorsOmitted). */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class StudentImportReport {
+    private int total;
+    private int created;
+    private int failed;
+    private long elapsedMillis;
+    private List<StudentImportRowResult> errors;
+    private int errorsOmitted;
+}
@@ -0,0 +1,12 @@
+package com.example.lms_back_end.dto.student;
+
+import lombok.*;
+
+/** One failed input row of a bulk student import (line numbers are 1-based, header included). */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class StudentImportRowResult {
+    private int line;
+    private String studentNo;
+    private String email;
+    private String message;   // failure reason
+}
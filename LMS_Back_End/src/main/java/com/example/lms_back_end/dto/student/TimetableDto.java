@@ -0,0 +1,24 @@
+package com.example.lms_back_end.dto.student;
+
+import lombok.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TimetableDto {
+    private Long studentId;
+    private List<Entry> lectures; // ordered by day, then start time
+
+    @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Entry {
+        private Long courseId;
+        private String courseCode;
+        private String courseTitle;
+        private String lectureHall;
+        private DayOfWeek day;
+        private LocalTime start;
+        private LocalTime end; // start + the configured lecture length
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Per-student running GPA totals over grades on active enrollments.
+ * Maintained incrementally by grade upserts/drops and rebuilt in bulk after scale changes.
+ */
+@Entity
+@Table(name = "academic_standings")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AcademicStanding {
+    @Id
+    @Column(name = "student_id")
+    private Long studentId;
+
+    @Column(name = "graded_courses", nullable = false)
+    private int gradedCourses;
+
+    @Column(name = "point_sum", nullable = false)
+    private double pointSum;
+
+    /** Credits of graded courses that have a credit value */
+    @Column(name = "graded_credits", nullable = false)
+    private int gradedCredits;
+
+    @Column(name = "credit_point_sum", nullable = false)
+    private double creditPointSum;
+
+    @Column(nullable = false)
+    private double gpa;
+
+    @Column(name = "weighted_gpa", nullable = false)
+    private double weightedGpa;
+}
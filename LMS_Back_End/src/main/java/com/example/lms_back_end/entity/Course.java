@@ -1,6 +1,8 @@
 package com.example.lms_back_end.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
@@ -46,6 +48,28 @@ public class Course {
     @Column(name = "capacity")
     private Integer capacity; // null/0 => unlimited
 
+    /**
+     * Active enrollments, maintained only by conditional UPDATEs (CourseRepository.claimSeat/releaseSeat
+     * and the bulk path); never written through the entity so a stale copy can't overwrite it.
+     */
+    @Builder.Default
+    @Column(name = "enrolled_count", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "integer default 0")
+    private int enrolledCount = 0;
+
+    @Min(0) @Max(60)
+    @Column(name = "credits")
+    private Integer credits; // null => not counted in credit-weighted GPA
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "grading_scale_id")
+    private GradingScale gradingScale; // null => default scale
+
+    /** Scale id without initializing the lazy association. */
+    public Long gradingScaleId() {
+        return gradingScale == null ? null : gradingScale.getId();
+    }
+
     @Builder.Default
     @Column(name = "enrollment_open", nullable = false)
     private boolean enrollmentOpen = true;
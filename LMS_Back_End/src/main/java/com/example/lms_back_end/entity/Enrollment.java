@@ -3,6 +3,8 @@ package com.example.lms_back_end.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.Instant;
+
 @Entity
 @Table(
         name = "enrollments",
@@ -24,8 +26,14 @@ public class Enrollment {
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
-    /** true = current enrollment, false = previously dropped (soft “delete”) */
+    /**
+     * true = current enrollment, false = dropped and waiting for EnrollmentArchiver to move it
+     * (with its grade) into enrollment_history
+     */
     @Builder.Default
     @Column(nullable = false)
     private boolean active = true;
-}
\ No newline at end of file
+
+    @Column(name = "dropped_at")
+    private Instant droppedAt;
+}
@@ -0,0 +1,35 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** A dropped enrollment (and its final score, if graded), moved out of the hot enrollments table */
+@Entity
+@Table(
+        name = "enrollment_history",
+        indexes = @Index(name = "ix_enrollment_history_student_id", columnList = "student_id")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class EnrollmentHistory {
+    /** Same id the row had in enrollments */
+    @Id
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    private Integer score;
+
+    @Column(name = "dropped_at")
+    private Instant droppedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+}
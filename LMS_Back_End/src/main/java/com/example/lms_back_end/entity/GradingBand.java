@@ -0,0 +1,19 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/** One step of a grading scale: scores from {@code minScore} up to the next band map to letter/points */
+@Embeddable
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GradingBand {
+    @Column(name = "min_score", nullable = false)
+    private int minScore;
+
+    @Column(nullable = false, length = 4)
+    private String letter;
+
+    @Column(nullable = false)
+    private double points;
+}
@@ -0,0 +1,42 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** A named score → letter/points policy; courses without one use the built-in default scale */
+@Entity
+@Table(
+        name = "grading_scales",
+        uniqueConstraints = @UniqueConstraint(name = "uk_grading_scales_code", columnNames = "code")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class GradingScale {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank @Size(max = 40)
+    @Column(nullable = false, length = 40)
+    private String code;
+
+    @NotBlank @Size(max = 120)
+    @Column(nullable = false, length = 120)
+    private String name;
+
+    /** Lowest passing score */
+    @Min(0) @Max(100)
+    @Column(name = "pass_mark", nullable = false)
+    private int passMark;
+
+    @Builder.Default
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "grading_scale_bands", joinColumns = @JoinColumn(name = "scale_id"))
+    @OrderBy("minScore DESC")
+    private List<GradingBand> bands = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** Persisted revocation (by JWT id) so logouts/rotations survive restarts; rows are pruned after expiry. */
+@Entity
+@Table(name = "revoked_tokens", indexes = @Index(name = "ix_revoked_tokens_expires_at", columnList = "expires_at"))
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RevokedToken {
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,19 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** Records that a one-off startup seeding step has completed, so later boots can skip it. */
+@Entity
+@Table(name = "seed_markers")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class SeedMarker {
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    private Instant appliedAt;
+}
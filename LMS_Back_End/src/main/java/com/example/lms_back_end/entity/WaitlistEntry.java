@@ -0,0 +1,30 @@
+package com.example.lms_back_end.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/** A student queued for a full course; FIFO by id, removed on promotion or when the student leaves */
+@Entity
+@Table(
+        name = "waitlist_entries",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_student_course", columnNames = {"student_id", "course_id"}),
+        indexes = @Index(name = "ix_waitlist_course_id", columnList = "course_id, id")
+)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class WaitlistEntry {
+    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+
+    @Column(name = "joined_at", nullable = false)
+    private Instant joinedAt;
+}
@@ -0,0 +1,43 @@
+package com.example.lms_back_end.repository;
+
+import com.example.lms_back_end.entity.AcademicStanding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AcademicStandingRepository extends JpaRepository<AcademicStanding, Long> {
+
+    /** Atomic in-place delta (no read-modify-write race); returns 0 when the row does not exist yet. */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+           update AcademicStanding s set
+               s.gradedCourses = s.gradedCourses + :dCourses,
+               s.pointSum = s.pointSum + :dPoints,
+               s.gradedCredits = s.gradedCredits + :dCredits,
+               s.creditPointSum = s.creditPointSum + :dCreditPoints,
+               s.gpa = case when s.gradedCourses + :dCourses > 0
+                            then (s.pointSum + :dPoints) / (s.gradedCourses + :dCourses) else 0 end,
+               s.weightedGpa = case when s.gradedCredits + :dCredits > 0
+                            then (s.creditPointSum + :dCreditPoints) / (s.gradedCredits + :dCredits) else 0 end
+           where s.studentId = :studentId
+           """)
+    int applyDelta(Long studentId, int dCourses, double dPoints, int dCredits, double dCreditPoints);
+
+    @Query("select s.studentId as studentId, s.gradedCourses as gradedCourses, s.gpa as gpa from AcademicStanding s")
+    List<StudentGpa> findAllGpas();
+
+    @Query("""
+           select s.studentId as studentId, s.gradedCourses as gradedCourses, s.gpa as gpa
+           from AcademicStanding s where s.studentId in :studentIds
+           """)
+    List<StudentGpa> findGpas(Collection<Long> studentIds);
+
+    interface StudentGpa {
+        Long getStudentId();
+        int getGradedCourses();
+        double getGpa();
+    }
+}
@@ -2,8 +2,16 @@ package com.example.lms_back_end.repository;
 
 import com.example.lms_back_end.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     Optional<AppUser> findByUsernameIgnoreCase(String username);
-}
\ No newline at end of file
+
+    /** Bulk lookup; pass usernames already lower-cased. */
+    @Query("select u from AppUser u where lower(u.username) in :lowerUsernames")
+    List<AppUser> findByLowerUsernameIn(Collection<String> lowerUsernames);
+}
@@ -2,14 +2,74 @@ package com.example.lms_back_end.repository;
 
 
 import com.example.lms_back_end.entity.Course;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface CourseRepository extends JpaRepository<Course, Long> {
     boolean existsByCodeIgnoreCase(String code);
     Optional<Course> findByCodeIgnoreCase(String code);
     Page<Course> findByCodeContainingIgnoreCaseOrTitleContainingIgnoreCase(String code, String title, Pageable pageable);
+
+    /**
+     * Takes one seat if the course is open and not full; the row lock held until commit serializes
+     * concurrent claims, so capacity can never be exceeded. Returns 0 when no seat was taken.
+     */
+    @Modifying
+    @Query("""
+           update Course c set c.enrolledCount = c.enrolledCount + 1
+           where c.id = :id and c.enrollmentOpen = true
+             and (c.capacity is null or c.capacity <= 0 or c.enrolledCount < c.capacity)
+           """)
+    int claimSeat(Long id);
+
+    @Modifying
+    @Query("update Course c set c.enrolledCount = c.enrolledCount - 1 where c.id = :id and c.enrolledCount > 0")
+    int releaseSeat(Long id);
+
+    /** Reads the course holding its row lock until commit (same lock claimSeat takes). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> lockById(Long id);
+
+    boolean existsByGradingScale_Id(Long gradingScaleId);
+
+    @Query("select c.id from Course c where c.gradingScale.id = :gradingScaleId")
+    List<Long> findIdsByGradingScaleId(Long gradingScaleId);
+
+    /** Course id + grading scale id without loading the entity (empty when the course does not exist). */
+    @Query("select c.id as id, c.gradingScale.id as gradingScaleId from Course c where c.id = :id")
+    Optional<CourseGrading> findGradingById(Long id);
+
+    /** Seat counters of many courses in one statement (missing ids are simply absent). */
+    @Query("""
+           select c.id as id, c.capacity as capacity, c.enrolledCount as enrolledCount,
+                  c.enrollmentOpen as enrollmentOpen
+           from Course c where c.id in :ids
+           """)
+    List<CourseSeats> findSeatsByIds(Collection<Long> ids);
+
+    /** Current counter value, for a managed entity that a claimSeat/releaseSeat in the same transaction made stale. */
+    @Query("select c.enrolledCount from Course c where c.id = :id")
+    int findEnrolledCountById(Long id);
+
+    interface CourseSeats {
+        Long getId();
+        Integer getCapacity();
+        int getEnrolledCount();
+        boolean isEnrollmentOpen();
+    }
+
+    interface CourseGrading {
+        Long getId();
+        Long getGradingScaleId();
+    }
 }
\ No newline at end of file
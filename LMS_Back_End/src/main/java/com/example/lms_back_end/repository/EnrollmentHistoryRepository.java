@@ -0,0 +1,32 @@
+package com.example.lms_back_end.repository;
+
+import com.example.lms_back_end.entity.EnrollmentHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EnrollmentHistoryRepository extends JpaRepository<EnrollmentHistory, Long> {
+
+    /** A student's archived drops, course code/title joined in, newest first. */
+    @Query("""
+           select h.id as enrollmentId, c.id as courseId, c.code as courseCode, c.title as courseTitle,
+                  c.gradingScale.id as gradingScaleId, h.score as score, h.droppedAt as droppedAt
+           from EnrollmentHistory h join h.course c
+           where h.student.id = :studentId
+           order by h.id desc
+           """)
+    List<DroppedEnrollment> findByStudentId(Long studentId);
+
+    /** Shared row shape for archived and not-yet-archived drops. */
+    interface DroppedEnrollment {
+        Long getEnrollmentId();
+        Long getCourseId();
+        String getCourseCode();
+        String getCourseTitle();
+        Long getGradingScaleId();
+        Integer getScore();
+        Instant getDroppedAt();
+    }
+}
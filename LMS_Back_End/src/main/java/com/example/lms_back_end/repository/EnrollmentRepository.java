@@ -1,10 +1,20 @@
 package com.example.lms_back_end.repository;
 
+import com.example.lms_back_end.dto.enrollment.EnrollmentDto;
+import com.example.lms_back_end.entity.Course;
 import com.example.lms_back_end.entity.Enrollment;
+import com.example.lms_back_end.entity.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -12,6 +22,121 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     Optional<Enrollment> findByStudent_IdAndCourse_IdAndActive(Long studentId, Long courseId, boolean active);
     long countByCourse_IdAndActive(Long courseId, boolean active);
 
-    Page<Enrollment> findByStudent_IdAndActive(Long studentId, boolean active, Pageable pageable);
-    Page<Enrollment> findByCourse_IdAndActive(Long courseId, boolean active, Pageable pageable);
+    /** The active enrollment, row-locked: serializes grade writes on it, including the first (no grade row yet). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e from Enrollment e where e.student.id = :studentId and e.course.id = :courseId and e.active = true")
+    Optional<Enrollment> lockActive(Long studentId, Long courseId);
+
+    /** Row-locks those of the given enrollments still active, in ascending id order (batch twin of {@link #lockActive}). */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Enrollment e where e.id in :ids and e.active = true order by e.id")
+    List<Long> lockActiveByIds(Collection<Long> ids);
+
+    // ---- listings: each is one page query (+ COUNT), never touching a lazy association per row ----
+
+    @Query(value = """
+           select new com.example.lms_back_end.dto.enrollment.EnrollmentDto(e.id, e.student.id, c.id, e.active, c.code, c.title)
+           from Enrollment e join e.course c
+           where e.student.id = :studentId and e.active = true
+           order by e.id
+           """, countQuery = """
+           select count(e) from Enrollment e where e.student.id = :studentId and e.active = true
+           """)
+    Page<EnrollmentDto> findActiveDtosByStudentId(Long studentId, Pageable pageable);
+
+    @Query(value = """
+           select new com.example.lms_back_end.dto.enrollment.EnrollmentDto(e.id, e.student.id, c.id, e.active, c.code, c.title)
+           from Enrollment e join e.course c
+           where c.id = :courseId and e.active = true
+           order by e.id
+           """, countQuery = """
+           select count(e) from Enrollment e where e.course.id = :courseId and e.active = true
+           """)
+    Page<EnrollmentDto> findActiveDtosByCourseId(Long courseId, Pageable pageable);
+
+    /** The courses themselves (selected through the join, so loaded by the page query). */
+    @Query(value = """
+           select c from Enrollment e join e.course c
+           where e.student.id = :studentId and e.active = true
+           order by e.id
+           """, countQuery = """
+           select count(e) from Enrollment e where e.student.id = :studentId and e.active = true
+           """)
+    Page<Course> findActiveCoursesByStudentId(Long studentId, Pageable pageable);
+
+    @Query(value = """
+           select s from Enrollment e join e.student s
+           where e.course.id = :courseId and e.active = true
+           order by e.id
+           """, countQuery = """
+           select count(e) from Enrollment e where e.course.id = :courseId and e.active = true
+           """)
+    Page<Student> findActiveStudentsByCourseId(Long courseId, Pageable pageable);
+
+    /** Which of the given students already hold an active enrollment in which of the given courses. */
+    @Query("""
+           select e.student.id as studentId, e.course.id as courseId from Enrollment e
+           where e.active = true and e.student.id in :studentIds and e.course.id in :courseIds
+           """)
+    List<StudentCourse> findActivePairs(Collection<Long> studentIds, Collection<Long> courseIds);
+
+    /** Active enrollment ids of the given students in one course. */
+    @Query("""
+           select e.student.id as studentId, e.id as enrollmentId from Enrollment e
+           where e.active = true and e.course.id = :courseId and e.student.id in :studentIds
+           """)
+    List<StudentEnrollment> findActiveByCourseIdAndStudentIds(Long courseId, Collection<Long> studentIds);
+
+    /** Drops the archiver has not moved yet (EnrollmentHistoryRepository holds the rest). */
+    @Query("""
+           select e.id as enrollmentId, c.id as courseId, c.code as courseCode, c.title as courseTitle,
+                  c.gradingScale.id as gradingScaleId, g.score as score, e.droppedAt as droppedAt
+           from Enrollment e join e.course c left join Grade g on g.enrollment = e
+           where e.active = false and e.student.id = :studentId
+           order by e.id desc
+           """)
+    List<EnrollmentHistoryRepository.DroppedEnrollment> findDroppedByStudentId(Long studentId);
+
+    /** Scheduled lectures of a student's active enrollments (feeds TimetableIndex). */
+    @Query("""
+           select c.id as courseId, c.code as code, c.title as title, c.lectureHall as lectureHall,
+                  c.lectureDay as lectureDay, c.lectureTime as lectureTime
+           from Enrollment e join e.course c
+           where e.active = true and e.student.id = :studentId
+             and c.lectureDay is not null and c.lectureTime is not null
+           """)
+    List<ScheduledLecture> findLecturesByStudentId(Long studentId);
+
+    /** findLecturesByStudentId for many students in one query (surge batches). */
+    @Query("""
+           select e.student.id as studentId, c.id as courseId, c.code as code, c.title as title,
+                  c.lectureHall as lectureHall, c.lectureDay as lectureDay, c.lectureTime as lectureTime
+           from Enrollment e join e.course c
+           where e.active = true and e.student.id in :studentIds
+             and c.lectureDay is not null and c.lectureTime is not null
+           """)
+    List<StudentLecture> findLecturesByStudentIds(Collection<Long> studentIds);
+
+    interface ScheduledLecture {
+        Long getCourseId();
+        String getCode();
+        String getTitle();
+        String getLectureHall();
+        DayOfWeek getLectureDay();
+        LocalTime getLectureTime();
+    }
+
+    interface StudentLecture extends ScheduledLecture {
+        Long getStudentId();
+    }
+
+    interface StudentEnrollment {
+        Long getStudentId();
+        Long getEnrollmentId();
+    }
+
+    interface StudentCourse {
+        Long getStudentId();
+        Long getCourseId();
+    }
 }
@@ -1,12 +1,140 @@
 package com.example.lms_back_end.repository;
 
+import com.example.lms_back_end.dto.grade.GradeDto;
 import com.example.lms_back_end.entity.Grade;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface GradeRepository extends JpaRepository<Grade, Long> {
-    Optional<Grade> findByEnrollment_Student_IdAndEnrollment_Course_Id(Long studentId, Long courseId);
     List<Grade> findByEnrollment_Student_Id(Long studentId);
+
+    String COURSE_GRADEBOOK = """
+           select new com.example.lms_back_end.dto.grade.GradeDto(g.id, s.id, c.id, c.code, c.title, c.gradingScale.id, g.score)
+           from Grade g join g.enrollment e join e.student s join e.course c
+           where c.id = :courseId and e.active = true
+           """;
+
+    /** Grades on active enrollments of a course, paged/sorted in the DB (sort with JpaSort.unsafe on g/e/s/c). */
+    @Query(value = COURSE_GRADEBOOK, countQuery = """
+           select count(g) from Grade g join g.enrollment e
+           where e.course.id = :courseId and e.active = true
+           """)
+    Page<GradeDto> findGradebookByCourseId(Long courseId, Pageable pageable);
+
+    /** The whole gradebook in one query (used after batch writes). */
+    @Query(COURSE_GRADEBOOK)
+    List<GradeDto> findGradebookByCourseId(Long courseId, Sort sort);
+
+    /** Same rows without the COUNT query. */
+    @Query(COURSE_GRADEBOOK)
+    Slice<GradeDto> findGradebookSliceByCourseId(Long courseId, Pageable pageable);
+
+    /**
+     * A student's grades on current enrollments, course code/title joined in. Dropped courses are
+     * archived with their score (EnrollmentHistoryRepository / EnrollmentService.listHistoryByStudent).
+     */
+    @Query(value = """
+           select new com.example.lms_back_end.dto.grade.GradeDto(g.id, s.id, c.id, c.code, c.title, c.gradingScale.id, g.score)
+           from Grade g join g.enrollment e join e.student s join e.course c
+           where s.id = :studentId and e.active = true
+           """, countQuery = """
+           select count(g) from Grade g join g.enrollment e
+           where e.student.id = :studentId and e.active = true
+           """)
+    Page<GradeDto> findHistoryByStudentId(Long studentId, Pageable pageable);
+
+    Optional<Grade> findByEnrollment_Id(Long enrollmentId);
+
+    /** (student, score, credits, scale) histogram over active enrollments, for rebuilding standings. */
+    @Query("""
+           select e.student.id as studentId, g.score as score, c.credits as credits,
+                  c.gradingScale.id as gradingScaleId, count(g) as total
+           from Grade g join g.enrollment e join e.course c
+           where e.active = true and e.student.id in :studentIds
+           group by e.student.id, g.score, c.credits, c.gradingScale.id
+           """)
+    List<ScoreBucket> findScoreBuckets(Collection<Long> studentIds);
+
+    @Query("""
+           select e.student.id from Grade g join g.enrollment e
+           where e.course.id = :courseId and e.active = true
+           """)
+    List<Long> findGradedStudentIdsByCourseId(Long courseId);
+
+    @Query("""
+           select distinct e.student.id from Grade g join g.enrollment e
+           where e.course.gradingScale.id = :gradingScaleId and e.active = true
+           """)
+    List<Long> findGradedStudentIdsByGradingScaleId(Long gradingScaleId);
+
+    /** Existing grades for a set of enrollments (id + score only). */
+    @Query("select g.id as id, g.enrollment.id as enrollmentId, g.score as score from Grade g where g.enrollment.id in :enrollmentIds")
+    List<GradeScore> findScoresByEnrollmentIds(Collection<Long> enrollmentIds);
+
+    interface GradeScore {
+        Long getId();
+        Long getEnrollmentId();
+        Integer getScore();
+    }
+
+    /** Score histogram of a course's active enrollments (at most 101 rows). */
+    @Query("""
+           select g.score as score, count(g) as total from Grade g join g.enrollment e
+           where e.course.id = :courseId and e.active = true
+           group by g.score
+           """)
+    List<ScoreCount> countScoresByCourseId(Long courseId);
+
+    /** Score histogram of every course (warms the rank index). */
+    @Query("""
+           select e.course.id as courseId, g.score as score, count(g) as total from Grade g join g.enrollment e
+           where e.active = true
+           group by e.course.id, g.score
+           """)
+    List<CourseScoreCount> countScoresByCourse();
+
+    /** A student's scores on active enrollments. */
+    @Query("""
+           select e.course.id as courseId, g.score as score from Grade g join g.enrollment e
+           where e.student.id = :studentId and e.active = true
+           """)
+    List<CourseScore> findActiveScoresByStudentId(Long studentId);
+
+    @Query("""
+           select g.score from Grade g join g.enrollment e
+           where e.student.id = :studentId and e.course.id = :courseId and e.active = true
+           """)
+    Optional<Integer> findActiveScore(Long studentId, Long courseId);
+
+    interface CourseScoreCount {
+        Long getCourseId();
+        Integer getScore();
+        long getTotal();
+    }
+
+    interface CourseScore {
+        Long getCourseId();
+        Integer getScore();
+    }
+
+    interface ScoreCount {
+        Integer getScore();
+        long getTotal();
+    }
+
+    interface ScoreBucket {
+        Long getStudentId();
+        Integer getScore();
+        Integer getCredits();
+        Long getGradingScaleId();
+        long getTotal();
+    }
 }
@@ -0,0 +1,8 @@
+package com.example.lms_back_end.repository;
+
+import com.example.lms_back_end.entity.GradingScale;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GradingScaleRepository extends JpaRepository<GradingScale, Long> {
+    boolean existsByCodeIgnoreCase(String code);
+}
@@ -0,0 +1,7 @@
+package com.example.lms_back_end.repository;
+
+import com.example.lms_back_end.entity.SeedMarker;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SeedMarkerRepository extends JpaRepository<SeedMarker, String> {
+}
@@ -5,6 +5,10 @@ import com.example.lms_back_end.entity.Student;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface StudentRepository extends JpaRepository<Student, Long> {
     boolean existsByEmailIgnoreCase(String email);
@@ -12,4 +16,22 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 
     Page<Student> findByStudentNoContainingIgnoreCaseOrFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
             String studentNo, String firstName, String lastName, String email, Pageable pageable);
+
+    /** Lower-cased keys of students clashing on either student number or email (pass lower-cased values). */
+    @Query("""
+           select lower(s.studentNo) as studentNo, lower(s.email) as email from Student s
+           where lower(s.studentNo) in :studentNos or lower(s.email) in :emails
+           """)
+    List<StudentKeys> findClashingKeys(Collection<String> studentNos, Collection<String> emails);
+
+    @Query("select s.id from Student s order by s.id")
+    List<Long> findAllIds();
+
+    @Query("select s.id from Student s where s.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    interface StudentKeys {
+        String getStudentNo();
+        String getEmail();
+    }
 }
\ No newline at end of file
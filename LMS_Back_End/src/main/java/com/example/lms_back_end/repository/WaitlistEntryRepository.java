@@ -0,0 +1,52 @@
+package com.example.lms_back_end.repository;
+
+import com.example.lms_back_end.entity.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+    boolean existsByStudent_IdAndCourse_Id(Long studentId, Long courseId);
+    Optional<WaitlistEntry> findByStudent_IdAndCourse_Id(Long studentId, Long courseId);
+    Optional<WaitlistEntry> findFirstByCourse_IdOrderByIdAsc(Long courseId);
+    long countByCourse_IdAndIdLessThan(Long courseId, Long id);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.course.id = :courseId")
+    int deleteByCourseId(Long courseId);
+
+    /** Queue order of one course (ids only; feeds the in-memory view). */
+    @Query("select w.id from WaitlistEntry w where w.course.id = :courseId order by w.id")
+    List<Long> findIdsByCourseId(Long courseId);
+
+    @Query("""
+           select w.id as id, w.student.id as studentId, c.id as courseId, c.code as courseCode,
+                  c.title as courseTitle, w.joinedAt as joinedAt
+           from WaitlistEntry w join w.course c
+           where w.student.id = :studentId
+           order by w.id
+           """)
+    List<EntryRow> findRowsByStudentId(Long studentId);
+
+    @Query("""
+           select w.id as id, w.student.id as studentId, c.id as courseId, c.code as courseCode,
+                  c.title as courseTitle, w.joinedAt as joinedAt
+           from WaitlistEntry w join w.course c
+           where c.id = :courseId
+           order by w.id
+           """)
+    List<EntryRow> findRowsByCourseId(Long courseId);
+
+    interface EntryRow {
+        Long getId();
+        Long getStudentId();
+        Long getCourseId();
+        String getCourseCode();
+        String getCourseTitle();
+        Instant getJoinedAt();
+    }
+}
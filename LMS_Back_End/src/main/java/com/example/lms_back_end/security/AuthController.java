@@ -2,15 +2,25 @@ package com.example.lms_back_end.security;
 
 import com.example.lms_back_end.dto.security.AuthRequest;
 import com.example.lms_back_end.dto.security.AuthResponse;
+import com.example.lms_back_end.dto.security.RefreshRequest;
 import com.example.lms_back_end.repository.AppUserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -19,31 +29,92 @@ public class AuthController {
     private final AuthenticationManager authManager;
     private final JwtService jwt;
     private final AppUserRepository users;
+    private final LoginAdmissionControl admission;
+    private final CurrentUserDetailsService userDetails;
+    private final TokenRevocationService revocations;
 
+    /** BCrypt runs on the login pool; the servlet thread is released while it hashes. */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody AuthRequest req) {
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest req,
+                                                                 HttpServletRequest http) {
         try {
-            var auth = authManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
-            var principal = (CurrentUser) auth.getPrincipal();
-
-            String token = jwt.generateToken(
-                    principal.getUsername(),
-                    principal.getRole(),
-                    principal.getId(),
-                    principal.getStudentId(),
-                    principal.getInstructorId());
-
-            return ResponseEntity.ok(AuthResponse.builder()
-                    .token(token)
-                    .role(principal.getRole())
-                    .userId(principal.getId())
-                    .studentId(principal.getStudentId())
-                    .instructorId(principal.getInstructorId())
+            // remote address is the rightmost X-Forwarded-For hop not from a trusted proxy (RemoteIpValve)
+            return admission.submit(req.getUsername(), http.getRemoteAddr(), () -> authenticate(req))
+                    .exceptionally(ex -> {
+                        Throwable cause = ex instanceof CompletionException ? ex.getCause() : ex;
+                        if (cause instanceof AuthenticationException) return ResponseEntity.status(401).build();
+                        throw new CompletionException(cause);
+                    });
+        } catch (LoginAdmissionControl.RejectedLoginException ex) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
                     .build());
-        } catch (AuthenticationException ex) {
+        }
+    }
+
+    /** Exchanges a refresh token for a new access/refresh pair (the old refresh token is revoked). */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshRequest req) {
+        Claims claims;
+        try {
+            claims = jwt.parse(req.getRefreshToken()).getPayload();
+        } catch (JwtException | IllegalArgumentException ex) {
+            return ResponseEntity.status(401).build();
+        }
+        if (!jwt.isRefreshToken(claims) || revocations.isRevoked(claims.getId())) {
+            return ResponseEntity.status(401).build();
+        }
+        CurrentUser principal;
+        try {
+            // re-read identity so role/link changes since login are picked up
+            principal = (CurrentUser) userDetails.loadUserByUsername(claims.getSubject());
+        } catch (UsernameNotFoundException ex) {
+            return ResponseEntity.status(401).build();
+        }
+        // only the request that revokes the old token gets a new pair; a concurrent replay loses here
+        if (!revocations.revoke(claims.getId(), claims.getExpiration().toInstant())) {
             return ResponseEntity.status(401).build();
         }
+        return issue(principal);
+    }
+
+    /** Revokes the presented access token and, if given, the refresh token. */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String auth,
+                                       @RequestBody(required = false) RefreshRequest req) {
+        if (auth != null && auth.startsWith("Bearer ")) revokeQuietly(auth.substring(7));
+        if (req != null && req.getRefreshToken() != null) revokeQuietly(req.getRefreshToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    private void revokeQuietly(String token) {
+        try {
+            var claims = jwt.parse(token).getPayload();
+            revocations.revoke(claims.getId(), claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException ignored) { /* already unusable */ }
     }
-}
 
+    private ResponseEntity<AuthResponse> authenticate(AuthRequest req) {
+        var auth = authManager.authenticate(
+                new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
+        return issue((CurrentUser) auth.getPrincipal());
+    }
+
+    private ResponseEntity<AuthResponse> issue(CurrentUser principal) {
+        String token = jwt.generateToken(
+                principal.getUsername(),
+                principal.getRole(),
+                principal.getId(),
+                principal.getStudentId(),
+                principal.getInstructorId());
+
+        return ResponseEntity.ok(AuthResponse.builder()
+                .token(token)
+                .refreshToken(jwt.generateRefreshToken(principal.getUsername(), principal.getId()))
+                .role(principal.getRole())
+                .userId(principal.getId())
+                .studentId(principal.getStudentId())
+                .instructorId(principal.getInstructorId())
+                .build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.lms_back_end.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/** Admin-only view of authentication caches/counters. */
+@RestController
+@RequestMapping("/api/admin/auth")
+@RequiredArgsConstructor
+public class AuthStatsController {
+
+    private final JwtService jwt;
+    private final LoginAdmissionControl loginAdmission;
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return Map.of(
+                "tokenCache", jwt.tokenCacheStats(),
+                "login", loginAdmission.stats());
+    }
+}
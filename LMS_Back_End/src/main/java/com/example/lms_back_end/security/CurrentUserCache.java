@@ -0,0 +1,37 @@
+package com.example.lms_back_end.security;
+
+import com.example.lms_back_end.cache.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache of {@link CurrentUser} keyed by lower-cased username.
+ * Only used by the paths that still need the AppUser row (login, legacy tokens);
+ * services that change a user's role or links must call {@link #evict(String)}.
+ */
+@Component
+public class CurrentUserCache {
+
+    private final TtlCache<String, CurrentUser> cache;
+
+    public CurrentUserCache(@Value("${app.security.user-cache.max-size:10000}") int maxSize,
+                            @Value("${app.security.user-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = new TtlCache<>(maxSize, ttl);
+    }
+
+    public CurrentUser get(String username, Supplier<CurrentUser> loader) {
+        return cache.get(key(username), k -> loader.get());
+    }
+
+    public void evict(String username) {
+        if (username != null) cache.invalidate(key(username));
+    }
+
+    public void evictAll() { cache.invalidateAll(); }
+
+    private static String key(String username) { return username.trim().toLowerCase(Locale.ROOT); }
+}
@@ -9,14 +9,17 @@ import org.springframework.stereotype.Service;
 @Service @RequiredArgsConstructor
 public class CurrentUserDetailsService implements UserDetailsService {
     private final AppUserRepository repo;
+    private final CurrentUserCache cache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        var u = repo.findByUsernameIgnoreCase(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return CurrentUser.builder()
-                .id(u.getId()).username(u.getUsername()).password(u.getPassword())
-                .role(u.getRole()).studentId(u.getStudentId()).instructorId(u.getInstructorId())
-                .build();
+        var user = cache.get(username, () -> repo.findByUsernameIgnoreCase(username)
+                .map(u -> CurrentUser.builder()
+                        .id(u.getId()).username(u.getUsername()).password(u.getPassword())
+                        .role(u.getRole()).studentId(u.getStudentId()).instructorId(u.getInstructorId())
+                        .build())
+                .orElse(null));
+        if (user == null) throw new UsernameNotFoundException("User not found");
+        return user;
     }
 }
@@ -15,6 +15,7 @@ import java.io.IOException;
 public class JwtAuthFilter extends OncePerRequestFilter {
     private final JwtService jwt;
     private final UserDetailsService uds;
+    private final TokenRevocationService revocations;
 
     @Override
     protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
@@ -24,14 +25,19 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (auth != null && auth.startsWith("Bearer ")) {
             String token = auth.substring(7);
             try {
-                var jws = jwt.parse(token);
-                String username = jws.getPayload().getSubject();
-                var user = (CurrentUser) uds.loadUserByUsername(username);
+                var claims = jwt.verify(token);
+                // refresh tokens are only good at /api/auth/refresh; revocation check is in-memory only
+                if (!jwt.isRefreshToken(claims) && !revocations.isRevoked(claims.getId())) {
+                    // Current tokens carry the whole identity; only legacy tokens go through the (cached) user lookup
+                    var user = jwt.hasPrincipalClaims(claims)
+                            ? jwt.toPrincipal(claims)
+                            : (CurrentUser) uds.loadUserByUsername(claims.getSubject());
 
-                var authToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                    var authToken = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                }
             } catch (Exception ignored) { /* invalid token -> unauthenticated */}
         }
         chain.doFilter(req, res);
     }
-}
\ No newline at end of file
+}
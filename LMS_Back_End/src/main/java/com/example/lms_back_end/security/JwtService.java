@@ -1,33 +1,150 @@
 package com.example.lms_back_end.security;
 
+import com.example.lms_back_end.cache.TtlCache;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 public class JwtService {
+    // Claim names carrying the full CurrentUser identity (so the filter needs no DB lookup)
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_UID = "uid";
+    static final String CLAIM_STUDENT_ID = "sid";
+    static final String CLAIM_INSTRUCTOR_ID = "iid";
+    static final String CLAIM_PRINCIPAL_VERSION = "pv"; // absent on tokens issued before sid/iid existed
+    static final String CLAIM_TYPE = "typ";             // "access" | "refresh" (absent on legacy access tokens)
+    static final String TYPE_ACCESS = "access";
+    static final String TYPE_REFRESH = "refresh";
+
     // Replace with config property; 256-bit secret
     private final Key key = Keys.hmacShaKeyFor("CHANGE_ME_TO_A_32+_CHAR_SECRET_KEY_CHANGE_ME".getBytes());
 
+    // Parser is immutable and thread-safe; build it once instead of per request
+    private final JwtParser parser = Jwts.parser().verifyWith((SecretKey) key).build();
+
+    // Verified claims keyed by SHA-256 of the token; entries expire with the token itself
+    private final TtlCache<String, Claims> verified;
+
+    private final Duration accessTtl;
+    private final Duration refreshTtl;
+
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    public JwtService() { this(20_000, Duration.ofHours(8), Duration.ofMinutes(10), Duration.ofHours(12)); }
+
+    @Autowired
+    public JwtService(@Value("${app.security.token-cache.max-size:20000}") int cacheSize,
+                      @Value("${app.security.token-cache.ttl:PT8H}") Duration cacheTtl,
+                      @Value("${app.security.jwt.access-ttl:PT10M}") Duration accessTtl,
+                      @Value("${app.security.jwt.refresh-ttl:PT12H}") Duration refreshTtl) {
+        this.verified = new TtlCache<>(cacheSize, cacheTtl);
+        this.accessTtl = accessTtl;
+        this.refreshTtl = refreshTtl;
+    }
+
     public String generateToken(String username, Role role, Long userId, Long studentId, Long instructorId) {
         Instant now = Instant.now();
         return Jwts.builder()
                 .setSubject(username)
-                .claim("role", role.name())   // role should not be null
-                .claim("uid", userId)         // userId should not be null
+                .claim(CLAIM_ROLE, role.name())   // role should not be null
+                .claim(CLAIM_UID, userId)         // userId should not be null
+                .claim(CLAIM_STUDENT_ID, studentId)       // omitted when null
+                .claim(CLAIM_INSTRUCTOR_ID, instructorId) // omitted when null
+                .claim(CLAIM_PRINCIPAL_VERSION, 1)
+                .claim(CLAIM_TYPE, TYPE_ACCESS)
+                .id(UUID.randomUUID().toString())  // jti, used for revocation
                 .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plusSeconds(60L * 60L * 8L))) // 8h
+                .setExpiration(Date.from(now.plus(accessTtl)))
                 .signWith(key)
                 .compact();
     }
 
+    /** Long-lived token only accepted by /api/auth/refresh; identity is re-read from the user row on use. */
+    public String generateRefreshToken(String username, Long userId) {
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(username)
+                .claim(CLAIM_UID, userId)
+                .claim(CLAIM_TYPE, TYPE_REFRESH)
+                .id(UUID.randomUUID().toString())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plus(refreshTtl)))
+                .signWith(key)
+                .compact();
+    }
+
+    public boolean isRefreshToken(Claims claims) {
+        return TYPE_REFRESH.equals(claims.get(CLAIM_TYPE, String.class));
+    }
+
+    /** Full verification on every call (no cache). */
     public Jws<Claims> parse(String token) {
-        return Jwts.parser().verifyWith((SecretKey) key).build().parseSignedClaims(token);
+        return parser.parseSignedClaims(token);
+    }
+
+    /**
+     * Verified claims for the token, served from cache when this exact token was
+     * already verified and has not expired. Throws {@link JwtException} like {@link #parse}.
+     */
+    public Claims verify(String token) {
+        String digest = digest(token);
+        Claims claims = verified.get(digest);
+        if (claims != null) return claims;
+
+        claims = parse(token).getPayload();
+        Date exp = claims.getExpiration();
+        if (exp != null) verified.put(digest, claims, exp.getTime());
+        return claims;
+    }
+
+    /** Token-cache counters (hits, misses, evictions, size). */
+    public Map<String, Long> tokenCacheStats() {
+        return Map.of(
+                "hits", verified.hits(),
+                "misses", verified.misses(),
+                "evictions", verified.evictions(),
+                "size", (long) verified.size());
+    }
+
+    /** True if the claims carry the full identity written by {@link #generateToken}. */
+    public boolean hasPrincipalClaims(Claims claims) {
+        return claims.containsKey(CLAIM_PRINCIPAL_VERSION) && claims.containsKey(CLAIM_ROLE);
+    }
+
+    /** Builds the request principal straight from signed claims (no password, no DB). */
+    public CurrentUser toPrincipal(Claims claims) {
+        return CurrentUser.builder()
+                .id(claims.get(CLAIM_UID, Long.class))
+                .username(claims.getSubject())
+                .role(Role.valueOf(claims.get(CLAIM_ROLE, String.class)))
+                .studentId(claims.get(CLAIM_STUDENT_ID, Long.class))
+                .instructorId(claims.get(CLAIM_INSTRUCTOR_ID, Long.class))
+                .build();
+    }
+
+    private static String digest(String token) {
+        byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+        return Base64.getEncoder().encodeToString(hash);
     }
 }
@@ -0,0 +1,135 @@
+package com.example.lms_back_end.security;
+
+import com.example.lms_back_end.cache.TtlCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Keeps BCrypt off the servlet threads: password checks run on a small bounded pool,
+ * and logins are shed (429 + Retry-After) when the queue is full or a per-username /
+ * per-IP token bucket is empty. The client IP is the address resolved from X-Forwarded-For
+ * (server.forward-headers-strategy), not the proxy's.
+ */
+@Slf4j
+@Component
+public class LoginAdmissionControl {
+
+    /** Thrown when a login is not admitted; carries the Retry-After value in seconds. */
+    public static class RejectedLoginException extends RuntimeException {
+        private final long retryAfterSeconds;
+        RejectedLoginException(String reason, long retryAfterSeconds) {
+            super(reason, null, false, false);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+        public long getRetryAfterSeconds() { return retryAfterSeconds; }
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final long queueFullRetryAfter;
+
+    private final int userBurst, ipBurst;
+    private final double userRefill, ipRefill;
+    private final TtlCache<String, TokenBucket> userBuckets;
+    private final TtlCache<String, TokenBucket> ipBuckets;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedQueueFull = new LongAdder();
+    private final LongAdder rejectedRateLimited = new LongAdder();
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final AtomicLong hashMaxNanos = new AtomicLong();
+
+    public LoginAdmissionControl(
+            @Value("${app.security.login.threads:0}") int threads,
+            @Value("${app.security.login.queue-capacity:256}") int queueCapacity,
+            @Value("${app.security.login.queue-full-retry-after:2}") long queueFullRetryAfter,
+            @Value("${app.security.login.user-burst:5}") int userBurst,
+            @Value("${app.security.login.user-refill-per-second:0.2}") double userRefill,
+            @Value("${app.security.login.ip-burst:100}") int ipBurst,
+            @Value("${app.security.login.ip-refill-per-second:20}") double ipRefill,
+            @Value("${app.security.login.bucket-max-keys:100000}") int bucketMaxKeys) {
+        int n = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        var counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(n, n, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "login-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.queueFullRetryAfter = queueFullRetryAfter;
+        this.userBurst = userBurst;
+        this.userRefill = userRefill;
+        this.ipBurst = ipBurst;
+        this.ipRefill = ipRefill;
+        // idle buckets are dropped after a while; a dropped bucket simply starts full again
+        this.userBuckets = new TtlCache<>(bucketMaxKeys, Duration.ofMinutes(15));
+        this.ipBuckets = new TtlCache<>(bucketMaxKeys, Duration.ofMinutes(15));
+    }
+
+    /**
+     * Admits the login (rate limits, then queue) and runs {@code check} on the hashing pool.
+     * Throws {@link RejectedLoginException} synchronously when the login is shed.
+     */
+    public <T> CompletableFuture<T> submit(String username, String clientIp, Supplier<T> check) {
+        String user = username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+        // IP first: a flood from one address must not also drain the buckets of the usernames it tries
+        rateLimit(ipBuckets.computeIfAbsent(clientIp, k -> new TokenBucket(ipBurst, ipRefill)));
+        rateLimit(userBuckets.computeIfAbsent(user, k -> new TokenBucket(userBurst, userRefill)));
+        try {
+            var future = CompletableFuture.supplyAsync(() -> timed(check), executor);
+            admitted.increment();
+            return future;
+        } catch (RejectedExecutionException ex) {
+            rejectedQueueFull.increment();
+            throw new RejectedLoginException("Login queue full", queueFullRetryAfter);
+        }
+    }
+
+    private void rateLimit(TokenBucket bucket) {
+        long wait = bucket.tryConsume();
+        if (wait > 0) {
+            rejectedRateLimited.increment();
+            throw new RejectedLoginException("Too many login attempts", wait);
+        }
+    }
+
+    private <T> T timed(Supplier<T> check) {
+        long start = System.nanoTime();
+        try {
+            return check.get();
+        } finally {
+            long took = System.nanoTime() - start;
+            hashCount.increment();
+            hashNanos.add(took);
+            hashMaxNanos.accumulateAndGet(took, Math::max);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        long count = hashCount.sum();
+        return Map.of(
+                "queueDepth", executor.getQueue().size(),
+                "activeHashes", executor.getActiveCount(),
+                "admitted", admitted.sum(),
+                "rejectedQueueFull", rejectedQueueFull.sum(),
+                "rejectedRateLimited", rejectedRateLimited.sum(),
+                "hashAvgMillis", count == 0 ? 0.0 : hashNanos.sum() / 1_000_000.0 / count,
+                "hashMaxMillis", hashMaxNanos.get() / 1_000_000.0);
+    }
+
+    @PreDestroy
+    void shutdown() { executor.shutdown(); }
+}
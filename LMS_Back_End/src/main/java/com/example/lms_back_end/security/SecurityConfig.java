@@ -1,9 +1,12 @@
 package com.example.lms_back_end.security;
 
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -14,6 +17,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.*;
 
@@ -27,8 +31,12 @@ public class SecurityConfig {
     private final JwtAuthFilter jwtFilter;
     private final CurrentUserDetailsService uds;
 
+    // BCrypt work factor (4..31); each +1 doubles hashing cost per login
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+
     @Bean
-    PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(); }
+    PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(bcryptStrength); }
 
     @Bean
     AuthenticationProvider authenticationProvider() {
@@ -50,7 +58,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:5173", "http://127.0.0.1:5173"));
         config.setAllowedMethods(List.of("GET","POST","PUT","DELETE","PATCH","OPTIONS"));
         config.setAllowedHeaders(List.of("Authorization","Content-Type","X-Requested-With","Accept","Origin"));
-        config.setExposedHeaders(List.of("Location"));
+        config.setExposedHeaders(List.of("Location", "Retry-After"));
         config.setAllowCredentials(false); // JWT in Authorization header (no cookies)
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -64,11 +72,15 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                // missing/expired/revoked token -> 401 so clients know to refresh (403 stays "not allowed")
+                .exceptionHandling(eh -> eh.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
                 .authorizeHttpRequests(auth -> auth
                         // Preflight
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Re-dispatch of an already-authorized async request (SSE streams completing/timing out)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 
                         // Public
                         .requestMatchers("/api/auth/**").permitAll()
@@ -81,11 +93,14 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/courses/**").authenticated()
                         .requestMatchers("/api/courses/**").hasRole("ADMIN")
 
-                        // Instructors, Students, Enrollments, Grades:
+                        // Instructors, Students, Enrollments, Grades, Grading scales, Exports, Waitlists:
                         // require authentication; method-level @PreAuthorize enforces finer rules
                         .requestMatchers("/api/instructors/**").authenticated()
                         .requestMatchers("/api/students/**").authenticated()
                         .requestMatchers("/api/enrollments/**", "/api/grades/**").authenticated()
+                        .requestMatchers("/api/grading-scales/**").authenticated()
+                        .requestMatchers("/api/exports/**").authenticated()
+                        .requestMatchers("/api/waitlists/**").authenticated()
 
                         // Everything else is denied
                         .anyRequest().denyAll()
@@ -0,0 +1,150 @@
+package com.example.lms_back_end.security;
+
+import com.example.lms_back_end.entity.RevokedToken;
+import com.example.lms_back_end.repository.RevokedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory revocation set keyed by JWT id (jti). {@link #isRevoked} runs on every
+ * request, so it never does I/O: a Bloom filter answers "definitely not revoked" for
+ * almost every token, and only possible hits consult the exact set. Revocations are
+ * written through to {@code revoked_tokens} and reloaded at startup.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    private final RevokedTokenRepository repo;
+
+    /** jti -> expiry (epoch millis); entries are dropped once the token could no longer be used */
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom = new BloomFilter();
+
+    @PostConstruct
+    void load() {
+        for (RevokedToken t : repo.findByExpiresAtAfter(Instant.now())) {
+            remember(t.getJti(), t.getExpiresAt().toEpochMilli());
+        }
+        log.info("Loaded {} active token revocations", revoked.size());
+    }
+
+    public boolean isRevoked(String jti) {
+        return jti != null && bloom.mightContain(jti) && revoked.containsKey(jti);
+    }
+
+    /**
+     * Revokes the token id until {@code expiresAt}. Returns true only for the call that
+     * revoked it, so a refresh token presented twice concurrently is honoured once.
+     */
+    @Transactional
+    public boolean revoke(String jti, Instant expiresAt) {
+        if (jti == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) return false;
+        if (!remember(jti, expiresAt.toEpochMilli())) return false;
+        repo.save(RevokedToken.builder().jti(jti).expiresAt(expiresAt).build());
+        return true;
+    }
+
+    /** Drops expired revocations (memory + table) and rebuilds the Bloom filter for what is left. */
+    @Scheduled(fixedDelayString = "${app.security.revocation.prune-interval:PT1H}")
+    @Transactional
+    public void prune() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(exp -> exp <= now);
+        rebuildBloom();
+        int deleted = repo.deleteExpired(Instant.ofEpochMilli(now));
+        if (deleted > 0) log.info("Pruned {} expired token revocations", deleted);
+    }
+
+    public int size() { return revoked.size(); }
+
+    int bloomBits() { return bloom.bits; }
+
+    private boolean remember(String jti, long expMillis) {
+        if (revoked.putIfAbsent(jti, expMillis) != null) return false;
+        bloom.add(jti);
+        // past its design load the false-positive rate climbs fast; resize now rather than at the next prune
+        if (bloom.isOverloaded(revoked.size())) {
+            synchronized (this) {
+                if (bloom.isOverloaded(revoked.size())) rebuildBloom();
+            }
+        }
+        return true;
+    }
+
+    private synchronized void rebuildBloom() {
+        var fresh = new BloomFilter(revoked.size());
+        revoked.keySet().forEach(fresh::add);
+        bloom = fresh;
+        revoked.keySet().forEach(fresh::add); // catch revocations that raced with the swap
+    }
+
+    /**
+     * Bloom filter with 5 probes sized for twice the entries it is built for (never below
+     * 2^20 bits, ~100k entries), ~1% false positives at its design load.
+     */
+    private static final class BloomFilter {
+        private static final int MIN_BITS = 1 << 20;
+        private static final int MAX_BITS = 1 << 30;
+        private static final int BITS_PER_ENTRY = 10;
+        private static final int PROBES = 5;
+        private final int bits;
+        private final int capacity;
+        private final AtomicLongArray words;
+
+        BloomFilter() { this(0); }
+
+        BloomFilter(int entries) {
+            long wanted = Math.max(MIN_BITS, 2L * entries * BITS_PER_ENTRY);
+            this.bits = (int) Math.min(MAX_BITS, Long.highestOneBit(wanted - 1) << 1);
+            this.capacity = bits / BITS_PER_ENTRY;
+            this.words = new AtomicLongArray(bits >>> 6);
+        }
+
+        boolean isOverloaded(int entries) { return entries > capacity && bits < MAX_BITS; }
+
+        void add(String key) {
+            long h = hash(key);
+            int h1 = (int) h, h2 = (int) (h >>> 32);
+            for (int i = 0; i < PROBES; i++) {
+                int bit = (h1 + i * h2) & (bits - 1);
+                long mask = 1L << bit;
+                words.getAndUpdate(bit >>> 6, w -> w | mask);
+            }
+        }
+
+        boolean mightContain(String key) {
+            long h = hash(key);
+            int h1 = (int) h, h2 = (int) (h >>> 32);
+            for (int i = 0; i < PROBES; i++) {
+                int bit = (h1 + i * h2) & (bits - 1);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        // 64-bit FNV-1a followed by a murmur3 finalizer
+        private static long hash(String key) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                h ^= key.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h | (1L << 32); // keep the second probe stride (upper half) odd
+        }
+    }
+}
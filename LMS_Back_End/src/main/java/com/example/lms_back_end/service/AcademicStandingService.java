@@ -0,0 +1,31 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.GradeSummaryDto;
+import com.example.lms_back_end.dto.grade.StandingRebuildReport;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AcademicStandingService {
+    /**
+     * Applies one grade change to the student's standing inside the caller's transaction.
+     * {@code oldScore == null} means a new grade, {@code newScore == null} a removed one (e.g. dropped enrollment);
+     * points come from the course's grading scale ({@code null} → default).
+     */
+    void recordGradeChange(Long studentId, Integer credits, Long gradingScaleId, Integer oldScore, Integer newScore);
+
+    /** One student's score change within a batch; same null conventions as {@link #recordGradeChange}. */
+    record GradeChange(Long studentId, Integer credits, Long gradingScaleId, Integer oldScore, Integer newScore) {}
+
+    /** Batched form of {@link #recordGradeChange} (one JDBC batch for all deltas). */
+    void recordGradeChanges(List<GradeChange> changes);
+
+    /** O(1) primary-key read; zero summary when the student has no graded active enrollments. */
+    GradeSummaryDto summary(Long studentId);
+
+    /** Recomputes the given students inside the caller's transaction (e.g. after a course's credits or scale change). */
+    void rebuildFor(Collection<Long> studentIds);
+
+    /** Recomputes every standing from the grades table in parallel chunks. */
+    StandingRebuildReport rebuildAll();
+}
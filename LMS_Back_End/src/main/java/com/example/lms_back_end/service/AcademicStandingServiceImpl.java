@@ -0,0 +1,267 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.CompiledGradingScale;
+import com.example.lms_back_end.dto.grade.GradeSummaryDto;
+import com.example.lms_back_end.dto.grade.StandingRebuildReport;
+import com.example.lms_back_end.entity.AcademicStanding;
+import com.example.lms_back_end.entity.SeedMarker;
+import com.example.lms_back_end.repository.AcademicStandingRepository;
+import com.example.lms_back_end.repository.GradeRepository;
+import com.example.lms_back_end.repository.SeedMarkerRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Service
+@Transactional
+public class AcademicStandingServiceImpl implements AcademicStandingService {
+
+    // Bump to force a full rebuild on next startup (e.g. after changing how standings are computed)
+    private static final String INITIAL_BUILD_MARKER = "academic-standings:v1";
+
+    // JDBC twin of AcademicStandingRepository.applyDelta, for batched deltas
+    private static final String APPLY_DELTA_SQL = """
+            update academic_standings set
+                graded_courses = graded_courses + ?,
+                point_sum = point_sum + ?,
+                graded_credits = graded_credits + ?,
+                credit_point_sum = credit_point_sum + ?,
+                gpa = case when graded_courses + ? > 0 then (point_sum + ?) / (graded_courses + ?) else 0 end,
+                weighted_gpa = case when graded_credits + ? > 0
+                               then (credit_point_sum + ?) / (graded_credits + ?) else 0 end
+            where student_id = ?
+            """;
+
+    // Joins the caller's transaction; a row created concurrently (and not yet committed) makes this wait, then skip.
+    // PostgreSQL-only syntax, the one supported database (see application.properties)
+    private static final String INSERT_EMPTY_SQL = """
+            insert into academic_standings
+                (student_id, graded_courses, point_sum, graded_credits, credit_point_sum, gpa, weighted_gpa)
+            values (?, 0, 0, 0, 0, 0, 0)
+            on conflict do nothing
+            """;
+
+    private final AcademicStandingRepository repo;
+    private final GradeRepository gradeRepo;
+    private final StudentRepository studentRepo;
+    private final SeedMarkerRepository markers;
+    private final GradingScaleCache scales;
+    private final ClassRankService ranks;
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final TransactionTemplate tx;
+    private final ExecutorService rebuilders;
+
+    public AcademicStandingServiceImpl(AcademicStandingRepository repo, GradeRepository gradeRepo,
+                                       StudentRepository studentRepo, SeedMarkerRepository markers,
+                                       GradingScaleCache scales, ClassRankService ranks,
+                                       JdbcTemplate jdbc, NamedParameterJdbcTemplate named,
+                                       PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.gradeRepo = gradeRepo;
+        this.studentRepo = studentRepo;
+        this.markers = markers;
+        this.scales = scales;
+        this.ranks = ranks;
+        this.jdbc = jdbc;
+        this.named = named;
+        this.tx = new TransactionTemplate(txManager);
+        this.rebuilders = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2), r -> {
+            Thread t = new Thread(r, "standing-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public void recordGradeChange(Long studentId, Integer credits, Long gradingScaleId, Integer oldScore, Integer newScore) {
+        if (Objects.equals(oldScore, newScore)) return;
+        var scale = scales.get(gradingScaleId);
+        int dCourses = (newScore != null ? 1 : 0) - (oldScore != null ? 1 : 0);
+        double dPoints = points(scale, newScore) - points(scale, oldScore);
+        int dCredits = credits == null ? 0 : dCourses * credits;
+        double dCreditPoints = credits == null ? 0 : credits * dPoints;
+
+        if (repo.applyDelta(studentId, dCourses, dPoints, dCredits, dCreditPoints) == 0) {
+            jdbc.update(INSERT_EMPTY_SQL, studentId);
+            repo.applyDelta(studentId, dCourses, dPoints, dCredits, dCreditPoints);
+        }
+        publishGpas(List.of(studentId));
+    }
+
+    @Override
+    public void recordGradeChanges(List<GradeChange> changes) {
+        // collapse to one delta per student, then a single JDBC batch; ascending ids so concurrent
+        // batches and rebuilds take the standings row locks in the same order
+        Map<Long, double[]> deltas = new TreeMap<>(); // courses, points, credits, creditPoints
+        for (GradeChange c : changes) {
+            if (Objects.equals(c.oldScore(), c.newScore())) continue;
+            int dCourses = (c.newScore() != null ? 1 : 0) - (c.oldScore() != null ? 1 : 0);
+            var scale = scales.get(c.gradingScaleId());
+            double dPoints = points(scale, c.newScore()) - points(scale, c.oldScore());
+            double[] d = deltas.computeIfAbsent(c.studentId(), id -> new double[4]);
+            d[0] += dCourses;
+            d[1] += dPoints;
+            if (c.credits() != null) {
+                d[2] += dCourses * c.credits();
+                d[3] += c.credits() * dPoints;
+            }
+        }
+        if (deltas.isEmpty()) return;
+        repo.flush();
+
+        var ids = new ArrayList<>(deltas.keySet());
+        int[] updated = jdbc.batchUpdate(APPLY_DELTA_SQL, ids.stream().map(id -> deltaArgs(id, deltas.get(id))).toList())
+                .clone();
+        var missing = new ArrayList<Long>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (updated[i] == 0) missing.add(ids.get(i));
+        }
+        if (!missing.isEmpty()) {
+            insertEmptyRows(missing);
+            jdbc.batchUpdate(APPLY_DELTA_SQL, missing.stream().map(id -> deltaArgs(id, deltas.get(id))).toList());
+        }
+        publishGpas(ids);
+    }
+
+    /** Pushes the post-update GPAs to the rank index (one read per IN-list chunk). */
+    private void publishGpas(Collection<Long> studentIds) {
+        for (var chunk : Chunks.of(studentIds, Chunks.IN_LIST)) {
+            for (var g : repo.findGpas(chunk)) {
+                ranks.recordGpa(g.getStudentId(), g.getGradedCourses() > 0 ? g.getGpa() : null);
+            }
+        }
+    }
+
+    private static Object[] deltaArgs(Long studentId, double[] d) {
+        int courses = (int) d[0], credits = (int) d[2];
+        return new Object[]{courses, d[1], credits, d[3], courses, d[1], courses, credits, d[3], credits, studentId};
+    }
+
+    private void insertEmptyRows(List<Long> studentIds) {
+        jdbc.batchUpdate(INSERT_EMPTY_SQL, studentIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GradeSummaryDto summary(Long studentId) {
+        var standing = repo.findById(studentId).orElse(null);
+        if (standing == null) {
+            if (!studentRepo.existsById(studentId)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+            }
+            return GradeSummaryDto.builder().studentId(studentId).gradedCourses(0).gpa(0.0).build();
+        }
+        return toSummary(standing);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public StandingRebuildReport rebuildAll() {
+        long start = System.nanoTime();
+        List<Long> ids = studentRepo.findAllIds();
+        var chunks = Chunks.of(ids, Chunks.IN_LIST);
+        var futures = chunks.stream()
+                .map(chunk -> CompletableFuture.supplyAsync(() -> tx.execute(s -> rebuild(chunk)), rebuilders))
+                .toList();
+        int written = futures.stream().mapToInt(CompletableFuture::join).sum();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        log.info("Rebuilt academic standings: {} students, {} rows, {} chunks in {} ms",
+                ids.size(), written, chunks.size(), elapsed);
+        return StandingRebuildReport.builder()
+                .students(ids.size()).standings(written).chunks(chunks.size()).elapsedMillis(elapsed)
+                .build();
+    }
+
+    @Override
+    public void rebuildFor(Collection<Long> studentIds) {
+        for (var chunk : Chunks.of(new ArrayList<>(new HashSet<>(studentIds)), Chunks.IN_LIST)) rebuild(chunk);
+    }
+
+    /** Standings start empty on an existing database; build them once. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void initialBuild() {
+        if (markers.existsById(INITIAL_BUILD_MARKER)) return;
+        rebuildAll();
+        markers.save(SeedMarker.builder().name(INITIAL_BUILD_MARKER).appliedAt(Instant.now()).build());
+    }
+
+    /**
+     * One grouped query per chunk, then absolute values written over the rows; returns rows written.
+     * The chunk's rows are created if missing and locked first, so a grade change either commits
+     * before the read (and is counted by it) or waits and applies its delta on top of the result.
+     */
+    private int rebuild(List<Long> studentIds) {
+        var ids = new ArrayList<>(new TreeSet<>(studentIds));
+        insertEmptyRows(ids);
+        named.queryForList("select student_id from academic_standings where student_id in (:ids) order by student_id for update",
+                Map.of("ids", ids), Long.class);
+
+        Map<Long, AcademicStanding> acc = new HashMap<>();
+        for (var b : gradeRepo.findScoreBuckets(studentIds)) {
+            var s = acc.computeIfAbsent(b.getStudentId(), id -> AcademicStanding.builder().studentId(id).build());
+            double p = scales.get(b.getGradingScaleId()).points(b.getScore());
+            s.setGradedCourses(s.getGradedCourses() + (int) b.getTotal());
+            s.setPointSum(s.getPointSum() + p * b.getTotal());
+            if (b.getCredits() != null) {
+                s.setGradedCredits(s.getGradedCredits() + b.getCredits() * (int) b.getTotal());
+                s.setCreditPointSum(s.getCreditPointSum() + p * b.getCredits() * b.getTotal());
+            }
+        }
+        var rows = ids.stream().map(id -> {
+            var s = acc.getOrDefault(id, AcademicStanding.builder().studentId(id).build());
+            return new Object[]{s.getGradedCourses(), s.getPointSum(), s.getGradedCredits(), s.getCreditPointSum(),
+                    s.getGradedCourses() > 0 ? s.getPointSum() / s.getGradedCourses() : 0.0,
+                    s.getGradedCredits() > 0 ? s.getCreditPointSum() / s.getGradedCredits() : 0.0,
+                    id};
+        }).toList();
+        jdbc.batchUpdate("""
+                update academic_standings set graded_courses = ?, point_sum = ?, graded_credits = ?,
+                    credit_point_sum = ?, gpa = ?, weighted_gpa = ?
+                where student_id = ?
+                """, rows);
+        for (Long id : ids) {
+            var s = acc.get(id);
+            ranks.recordGpa(id, s == null ? null : s.getPointSum() / s.getGradedCourses());
+        }
+        return rows.size();
+    }
+
+    private static GradeSummaryDto toSummary(AcademicStanding s) {
+        return GradeSummaryDto.builder()
+                .studentId(s.getStudentId())
+                .gradedCourses(s.getGradedCourses())
+                .gpa(round2(s.getGradedCourses() > 0 ? s.getGpa() : 0.0))
+                .gradedCredits(s.getGradedCredits())
+                .weightedGpa(s.getGradedCredits() > 0 ? round2(s.getWeightedGpa()) : null)
+                .build();
+    }
+
+    private static double points(CompiledGradingScale scale, Integer score) {
+        return score == null ? 0.0 : scale.points(score);
+    }
+
+    private static double round2(double v) { return Math.round(v * 100.0) / 100.0; } // round to 2 dp
+
+    @PreDestroy
+    void shutdown() { rebuilders.shutdown(); }
+}
@@ -0,0 +1,8 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.admin.AdminStatsDto;
+
+public interface AdminStatsService {
+    /** Dashboard counts; a cached snapshot, refreshed in the background once it is older than the TTL. */
+    AdminStatsDto stats();
+}
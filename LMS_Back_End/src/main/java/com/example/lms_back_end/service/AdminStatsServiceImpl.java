@@ -0,0 +1,100 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.admin.AdminStatsDto;
+import com.example.lms_back_end.security.Role;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the admin dashboard from one multi-aggregate statement. The result is kept as a
+ * snapshot: within the TTL it is returned as is; after that the stale snapshot is still
+ * returned while a single background refresh runs, so callers never wait on the query
+ * (except the very first one).
+ */
+@Slf4j
+@Service
+public class AdminStatsServiceImpl implements AdminStatsService {
+
+    private static final String STATS_SQL = """
+            select (select count(*) from students) as students,
+                   (select count(*) from instructors) as instructors,
+                   (select count(*) from courses) as courses,
+                   (select count(*) from enrollments where active = true) as enrollments,
+                   (select count(*) from grades g join enrollments e on e.id = g.enrollment_id
+                     where e.active = true) as graded,
+                   (select count(*) from users where role = 'ADMIN') as admins,
+                   (select count(*) from users where role = 'INSTRUCTOR') as instructor_users,
+                   (select count(*) from users where role = 'STUDENT') as student_users
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final Duration ttl;
+    private final ExecutorService refresher;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile AdminStatsDto snapshot;
+
+    public AdminStatsServiceImpl(JdbcTemplate jdbc,
+                                 @Value("${app.admin.stats-cache.ttl:PT30S}") Duration ttl) {
+        this.jdbc = jdbc;
+        this.ttl = ttl;
+        this.refresher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "admin-stats-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public AdminStatsDto stats() {
+        AdminStatsDto current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                if (snapshot == null) snapshot = compute();
+                return snapshot;
+            }
+        }
+        if (current.getComputedAt().plus(ttl).isBefore(Instant.now()) && refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    snapshot = compute();
+                } catch (RuntimeException ex) {
+                    log.warn("Admin stats refresh failed, serving the previous snapshot: {}", ex.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+        return current;
+    }
+
+    private AdminStatsDto compute() {
+        return jdbc.queryForObject(STATS_SQL, (rs, i) -> {
+            var byRole = new LinkedHashMap<String, Long>();
+            byRole.put(Role.ADMIN.name(), rs.getLong("admins"));
+            byRole.put(Role.INSTRUCTOR.name(), rs.getLong("instructor_users"));
+            byRole.put(Role.STUDENT.name(), rs.getLong("student_users"));
+            return AdminStatsDto.builder()
+                    .students(rs.getLong("students"))
+                    .instructors(rs.getLong("instructors"))
+                    .courses(rs.getLong("courses"))
+                    .enrollments(rs.getLong("enrollments"))
+                    .gradedEnrollments(rs.getLong("graded"))
+                    .usersByRole(byRole)
+                    .computedAt(Instant.now())
+                    .build();
+        });
+    }
+
+    @PreDestroy
+    void shutdown() { refresher.shutdown(); }
+}
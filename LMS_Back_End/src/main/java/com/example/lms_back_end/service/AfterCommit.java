@@ -0,0 +1,23 @@
+package com.example.lms_back_end.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/** Defers in-memory side effects (cache eviction, index updates) until the surrounding transaction commits. */
+final class AfterCommit {
+    private AfterCommit() {}
+
+    /** Runs after commit when a transaction is active (skipped on rollback), otherwise immediately. */
+    static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
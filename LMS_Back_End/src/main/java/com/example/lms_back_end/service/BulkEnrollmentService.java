@@ -0,0 +1,9 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.BulkEnrollReport;
+import com.example.lms_back_end.dto.enrollment.BulkEnrollRequest;
+
+public interface BulkEnrollmentService {
+    /** Applies the same rules as EnrollmentService.enroll to many pairs; commits in chunks. */
+    BulkEnrollReport bulkEnroll(BulkEnrollRequest req);
+}
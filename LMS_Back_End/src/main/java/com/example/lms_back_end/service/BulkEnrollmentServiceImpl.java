@@ -0,0 +1,211 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.BulkEnrollReport;
+import com.example.lms_back_end.dto.enrollment.BulkEnrollRequest;
+import com.example.lms_back_end.dto.enrollment.BulkEnrollResult;
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mass enrollment. Referenced students, courses, active pairs and per-course active counts are
+ * loaded up front with set queries; the open/duplicate/capacity rules are then applied in one
+ * pass, and accepted pairs are inserted with JDBC batches committed every {@code commitSize} rows.
+ */
+@Slf4j
+@Service
+public class BulkEnrollmentServiceImpl implements BulkEnrollmentService {
+
+    private final EnrollmentRepository repo;
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final WaitlistQueues queues;
+    private final TimetableIndex timetables;
+    private final SeatAvailabilityBroadcaster seatEvents;
+    private final int defaultCommitSize;
+    private final int maxPairs;
+
+    public BulkEnrollmentServiceImpl(EnrollmentRepository repo, StudentRepository studentRepo,
+                                     CourseRepository courseRepo, JdbcTemplate jdbc, TransactionTemplate tx,
+                                     WaitlistQueues queues, TimetableIndex timetables,
+                                     SeatAvailabilityBroadcaster seatEvents,
+                                     @Value("${app.enrollments.bulk.commit-size:500}") int defaultCommitSize,
+                                     @Value("${app.enrollments.bulk.max-pairs:100000}") int maxPairs) {
+        this.repo = repo;
+        this.studentRepo = studentRepo;
+        this.courseRepo = courseRepo;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.queues = queues;
+        this.timetables = timetables;
+        this.seatEvents = seatEvents;
+        this.defaultCommitSize = defaultCommitSize;
+        this.maxPairs = maxPairs;
+    }
+
+    @Override
+    public BulkEnrollReport bulkEnroll(BulkEnrollRequest req) {
+        long start = System.nanoTime();
+        // checked on the sizes: the studentIds x courseIds product could exhaust the heap if expanded first
+        if (requestedPairs(req) > maxPairs) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many pairs (max " + maxPairs + ")");
+        }
+        List<BulkEnrollResult> results = expand(req);
+
+        // ---- pre-load everything the rules need (set queries, IN-lists chunked) ----
+        Set<Long> studentIds = results.stream().map(BulkEnrollResult::getStudentId).collect(Collectors.toSet());
+        Set<Long> courseIds = results.stream().map(BulkEnrollResult::getCourseId).collect(Collectors.toSet());
+
+        Set<Long> students = new HashSet<>();
+        for (var ids : Chunks.of(studentIds, Chunks.IN_LIST)) students.addAll(studentRepo.findExistingIds(ids));
+
+        Map<Long, Course> courses = new HashMap<>();
+        for (var ids : Chunks.of(courseIds, Chunks.IN_LIST)) {
+            courseRepo.findAllById(ids).forEach(c -> courses.put(c.getId(), c));
+        }
+
+        Map<Long, Long> active = new HashMap<>();
+        courses.values().forEach(c -> active.put(c.getId(), (long) c.getEnrolledCount()));
+
+        Set<Long> pairKeys = new HashSet<>(); // existing + accepted-in-this-request (student, course)
+        for (var sids : Chunks.of(students, Chunks.IN_LIST)) {
+            for (var cids : Chunks.of(courses.keySet(), Chunks.IN_LIST)) {
+                repo.findActivePairs(sids, cids).forEach(p -> pairKeys.add(pairKey(p.getStudentId(), p.getCourseId())));
+            }
+        }
+
+        // ---- single pass over EnrollmentRules; admins may place a student over a timetable clash ----
+        var accepted = new ArrayList<BulkEnrollResult>();
+        for (var r : results) {
+            Course c = courses.get(r.getCourseId());
+            long key = pairKey(r.getStudentId(), r.getCourseId());
+            String refusal = EnrollmentRules.refusal(students.contains(r.getStudentId()), c,
+                    () -> pairKeys.contains(key), null);
+            if (refusal == null && !EnrollmentRules.hasFreeSeat(c, active.get(c.getId()))) {
+                refusal = EnrollmentRules.CAPACITY_REACHED;
+            }
+            if (refusal != null) { r.setMessage(refusal); continue; }
+            pairKeys.add(key);
+            active.merge(c.getId(), 1L, Long::sum);
+            accepted.add(r);
+        }
+
+        // ---- chunked JDBC batch inserts, one transaction per chunk ----
+        int commitSize = req.getCommitSize() != null ? req.getCommitSize() : defaultCommitSize;
+        for (var chunk : Chunks.of(accepted, commitSize)) {
+            try {
+                var written = tx.execute(status -> {
+                    var seated = claimSeats(chunk);
+                    jdbc.batchUpdate(
+                            "insert into enrollments (student_id, course_id, active) values (?, ?, true)",
+                            seated, seated.size(), (ps, r) -> {
+                                ps.setLong(1, r.getStudentId());
+                                ps.setLong(2, r.getCourseId());
+                            });
+                    // a seat granted here supersedes any waitlist place for the same course
+                    jdbc.batchUpdate(
+                            "delete from waitlist_entries where student_id = ? and course_id = ?",
+                            seated, seated.size(), (ps, r) -> {
+                                ps.setLong(1, r.getStudentId());
+                                ps.setLong(2, r.getCourseId());
+                            });
+                    return seated;
+                });
+                var writtenCourses = written.stream().map(BulkEnrollResult::getCourseId).distinct().toList();
+                queues.reload(writtenCourses);
+                seatEvents.coursesChanged(writtenCourses);
+                written.stream().map(BulkEnrollResult::getStudentId).distinct().forEach(timetables::evict);
+                written.forEach(r -> r.setSuccess(true));
+            } catch (RuntimeException ex) {
+                log.warn("Bulk enroll chunk of {} failed: {}", chunk.size(), ex.getMessage());
+                chunk.forEach(r -> r.setMessage("Write failed; chunk rolled back"));
+            }
+        }
+
+        int enrolled = (int) results.stream().filter(BulkEnrollResult::isSuccess).count();
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        log.info("Bulk enroll: {} pairs, {} enrolled, {} failed in {} ms",
+                results.size(), enrolled, results.size() - enrolled, elapsed);
+        return BulkEnrollReport.builder()
+                .requested(results.size())
+                .enrolled(enrolled)
+                .failed(results.size() - enrolled)
+                .elapsedMillis(elapsed)
+                .results(results)
+                .build();
+    }
+
+    /**
+     * Takes each course's seats for the chunk with one conditional UPDATE, so concurrent single
+     * enrollments can't push a course over capacity between the pre-check and the insert.
+     * Rows of a course that no longer has room for its share are refused. Courses are claimed in
+     * ascending id so two overlapping chunks take the course row locks in the same order.
+     */
+    private List<BulkEnrollResult> claimSeats(List<BulkEnrollResult> chunk) {
+        Map<Long, List<BulkEnrollResult>> byCourse = chunk.stream()
+                .collect(Collectors.groupingBy(BulkEnrollResult::getCourseId, TreeMap::new, Collectors.toList()));
+        var seated = new ArrayList<BulkEnrollResult>(chunk.size());
+        byCourse.forEach((courseId, rows) -> {
+            int n = rows.size();
+            int updated = jdbc.update("""
+                    update courses set enrolled_count = enrolled_count + ?
+                    where id = ? and enrollment_open = true
+                      and (capacity is null or capacity <= 0 or enrolled_count + ? <= capacity)
+                    """, n, courseId, n);
+            if (updated == 1) {
+                seated.addAll(rows);
+            } else {
+                rows.forEach(r -> r.setMessage(EnrollmentRules.CAPACITY_REACHED));
+            }
+        });
+        return seated;
+    }
+
+    /** Explicit pairs first, then the studentIds x courseIds cross product. */
+    private static long requestedPairs(BulkEnrollRequest req) {
+        long pairs = req.getPairs() == null ? 0 : req.getPairs().size();
+        long students = req.getStudentIds() == null ? 0 : req.getStudentIds().size();
+        long courses = req.getCourseIds() == null ? 0 : req.getCourseIds().size();
+        return pairs + students * courses;
+    }
+
+    private static List<BulkEnrollResult> expand(BulkEnrollRequest req) {
+        var out = new ArrayList<BulkEnrollResult>();
+        if (req.getPairs() != null) {
+            for (EnrollRequest p : req.getPairs()) {
+                out.add(BulkEnrollResult.builder().studentId(p.getStudentId()).courseId(p.getCourseId()).build());
+            }
+        }
+        var sids = req.getStudentIds() == null ? List.<Long>of() : req.getStudentIds();
+        var cids = req.getCourseIds() == null ? List.<Long>of() : req.getCourseIds();
+        for (Long c : cids) {
+            for (Long s : sids) {
+                if (s != null && c != null) out.add(BulkEnrollResult.builder().studentId(s).courseId(c).build());
+            }
+        }
+        if (out.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Provide pairs or studentIds and courseIds");
+        }
+        return out;
+    }
+
+    private static long pairKey(long studentId, long courseId) {
+        // ids are IDENTITY-generated and far below 2^32
+        return (studentId << 32) ^ courseId;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.lms_back_end.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/** Splits id sets for IN-list queries and batch writes (keeps bind-parameter counts bounded). */
+final class Chunks {
+    /** Max ids bound into a single IN (...) list. */
+    static final int IN_LIST = 1000;
+
+    private Chunks() {}
+
+    static <T> List<List<T>> of(Collection<T> items, int size) {
+        List<T> list = items instanceof List<T> l ? l : new ArrayList<>(items);
+        var out = new ArrayList<List<T>>();
+        for (int i = 0; i < list.size(); i += size) {
+            out.add(list.subList(i, Math.min(i + size, list.size())));
+        }
+        return out;
+    }
+}
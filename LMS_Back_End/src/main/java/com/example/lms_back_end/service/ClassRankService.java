@@ -0,0 +1,19 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.RankDto;
+import com.example.lms_back_end.dto.grade.StudentRanksDto;
+
+public interface ClassRankService {
+    /** Rank by score among the course's graded active enrollments; O(log 101) against the in-memory index. */
+    RankDto courseRank(Long courseId, Long studentId);
+
+    /** Every course rank of the student plus the overall GPA rank. */
+    StudentRanksDto ranksFor(Long studentId);
+
+    /** Index maintenance; applied once the caller's transaction commits ({@code null} score = none). */
+    void recordScoreChange(Long courseId, Integer oldScore, Integer newScore);
+    void recordGpa(Long studentId, Double gpa); // null removes the student from the overall ranking
+
+    /** Rebuilds the index from the grades and academic_standings tables. */
+    void warm();
+}
@@ -0,0 +1,136 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.RankDto;
+import com.example.lms_back_end.dto.grade.StudentRanksDto;
+import com.example.lms_back_end.repository.AcademicStandingRepository;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.GradeRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory order-statistics index: one Fenwick tree over the 101 score buckets per course,
+ * and one over GPA hundredths for the overall ranking. Kept current by grade writes and
+ * standings updates (after commit); periodically re-warmed from the database to shed any drift.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ClassRankServiceImpl implements ClassRankService {
+
+    private static final int SCORE_BUCKETS = 101;
+    private static final int GPA_BUCKETS = 1001; // 0.00 .. 10.00 in hundredths
+
+    private record Index(ConcurrentHashMap<Long, FenwickTree> courses, FenwickTree gpas,
+                         ConcurrentHashMap<Long, Integer> gpaByStudent) {
+        static Index empty() {
+            return new Index(new ConcurrentHashMap<>(), new FenwickTree(GPA_BUCKETS), new ConcurrentHashMap<>());
+        }
+
+        FenwickTree course(Long courseId) {
+            return courses.computeIfAbsent(courseId, id -> new FenwickTree(SCORE_BUCKETS));
+        }
+
+        void setGpa(Long studentId, Integer bucket) {
+            Integer old = bucket == null ? gpaByStudent.remove(studentId) : gpaByStudent.put(studentId, bucket);
+            if (old != null) gpas.add(old, -1);
+            if (bucket != null) gpas.add(bucket, 1);
+        }
+    }
+
+    private final GradeRepository gradeRepo;
+    private final CourseRepository courseRepo;
+    private final StudentRepository studentRepo;
+    private final AcademicStandingRepository standingRepo;
+
+    private volatile Index index = Index.empty();
+
+    @Override
+    public RankDto courseRank(Long courseId, Long studentId) {
+        if (!courseRepo.existsById(courseId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }
+        Integer score = gradeRepo.findActiveScore(studentId, courseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No active grade for this student"));
+        return rank(index.course(courseId), score, studentId, courseId, score);
+    }
+
+    @Override
+    public StudentRanksDto ranksFor(Long studentId) {
+        if (!studentRepo.existsById(studentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+        }
+        Index idx = index;
+        var courses = gradeRepo.findActiveScoresByStudentId(studentId).stream()
+                .map(g -> rank(idx.course(g.getCourseId()), g.getScore(), studentId, g.getCourseId(), g.getScore()))
+                .sorted(Comparator.comparing(RankDto::getCourseId))
+                .toList();
+        Integer gpaBucket = idx.gpaByStudent().get(studentId);
+        RankDto overall = gpaBucket == null ? null : rank(idx.gpas(), gpaBucket, studentId, null, gpaBucket / 100.0);
+        return StudentRanksDto.builder().studentId(studentId).overall(overall).courses(courses).build();
+    }
+
+    /** Ties share a rank; the student is counted even if the index has not caught up with their write yet. */
+    private static RankDto rank(FenwickTree tree, int bucket, Long studentId, Long courseId, double value) {
+        long below = tree.countAtMost(bucket - 1);
+        long equal = Math.max(1, tree.countAt(bucket));
+        long above = Math.max(0, tree.total() - below - tree.countAt(bucket));
+        long outOf = below + equal + above;
+        return RankDto.builder()
+                .studentId(studentId).courseId(courseId).value(value)
+                .rank(above + 1).outOf(outOf)
+                .percentile(Math.round((below + equal / 2.0) * 10000.0 / outOf) / 100.0)
+                .build();
+    }
+
+    @Override
+    public void recordScoreChange(Long courseId, Integer oldScore, Integer newScore) {
+        if (Objects.equals(oldScore, newScore)) return;
+        AfterCommit.run(() -> {
+            FenwickTree tree = index.course(courseId);
+            if (oldScore != null) tree.add(oldScore, -1);
+            if (newScore != null) tree.add(newScore, 1);
+        });
+    }
+
+    @Override
+    public void recordGpa(Long studentId, Double gpa) {
+        Integer bucket = gpa == null ? null : gpaBucket(gpa);
+        AfterCommit.run(() -> index.setGpa(studentId, bucket));
+    }
+
+    private static int gpaBucket(double gpa) {
+        return (int) Math.max(0, Math.min(GPA_BUCKETS - 1, Math.round(gpa * 100)));
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.grades.rank-index.rewarm-interval:PT30M}",
+               initialDelayString = "${app.grades.rank-index.rewarm-interval:PT30M}")
+    public void warm() {
+        long start = System.nanoTime();
+        Index fresh = Index.empty();
+        for (var row : gradeRepo.countScoresByCourse()) {
+            fresh.course(row.getCourseId()).add(row.getScore(), row.getTotal());
+        }
+        for (var s : standingRepo.findAllGpas()) {
+            if (s.getGradedCourses() > 0) fresh.setGpa(s.getStudentId(), gpaBucket(s.getGpa()));
+        }
+        index = fresh;
+        log.info("Rank index warmed: {} courses, {} ranked students in {} ms", fresh.courses().size(),
+                fresh.gpaByStudent().size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
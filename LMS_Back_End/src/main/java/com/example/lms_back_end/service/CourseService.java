@@ -2,12 +2,18 @@ package com.example.lms_back_end.service;
 
 import com.example.lms_back_end.dto.course.CourseCreateRequest;
 import com.example.lms_back_end.dto.course.CourseDto;
+import com.example.lms_back_end.dto.course.CourseSeatsDto;
 import com.example.lms_back_end.dto.course.CourseUpdateRequest;
 import org.springframework.data.domain.Page;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CourseService {
     Page<CourseDto> list(String query, int page, int size);
     CourseDto getById(Long id);
+    /** Enrollment counters for many courses with one query (unknown ids are skipped). */
+    List<CourseSeatsDto> seats(Collection<Long> ids);
     CourseDto create(CourseCreateRequest req);
     CourseDto update(Long id, CourseUpdateRequest req);
     void delete(Long id);
@@ -2,10 +2,15 @@ package com.example.lms_back_end.service;
 
 import com.example.lms_back_end.dto.course.CourseCreateRequest;
 import com.example.lms_back_end.dto.course.CourseDto;
+import com.example.lms_back_end.dto.course.CourseSeatsDto;
 import com.example.lms_back_end.dto.course.CourseMapper;
 import com.example.lms_back_end.dto.course.CourseUpdateRequest;
 import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.entity.GradingScale;
 import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.GradeRepository;
+import com.example.lms_back_end.repository.GradingScaleRepository;
+import com.example.lms_back_end.repository.WaitlistEntryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -14,12 +19,25 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CourseServiceImpl implements CourseService {
 
     private final CourseRepository repo;
+    private final GradeRepository gradeRepo;
+    private final AcademicStandingService standings;
+    private final GradeStatisticsService statistics;
+    private final GradingScaleRepository scaleRepo;
+    private final WaitlistService waitlists;
+    private final WaitlistEntryRepository waitlistRepo;
+    private final TimetableIndex timetables;
+    private final SeatAvailabilityBroadcaster seatEvents;
 
     @Override
     @Transactional(readOnly = true)
@@ -40,12 +58,27 @@ public class CourseServiceImpl implements CourseService {
         return CourseMapper.toDto(c);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CourseSeatsDto> seats(Collection<Long> ids) {
+        if (ids.size() > Chunks.IN_LIST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many course ids (max " + Chunks.IN_LIST + ")");
+        }
+        if (ids.isEmpty()) return List.of();
+        return repo.findSeatsByIds(new HashSet<>(ids)).stream()
+                .map(row -> CourseMapper.toSeatsDto(row.getId(), row.getCapacity(),
+                        row.getEnrolledCount(), row.isEnrollmentOpen()))
+                .toList();
+    }
+
     @Override
     public CourseDto create(CourseCreateRequest req) {
         if (repo.existsByCodeIgnoreCase(req.getCode())) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Course code already exists");
         }
-        Course saved = repo.save(CourseMapper.fromCreate(req));
+        Course course = CourseMapper.fromCreate(req);
+        course.setGradingScale(scaleOrNull(req.getGradingScaleId()));
+        Course saved = repo.save(course);
         return CourseMapper.toDto(saved);
     }
 
@@ -58,8 +91,52 @@ public class CourseServiceImpl implements CourseService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Course code already exists");
         }
 
+        Integer oldCredits = c.getCredits();
+        Long oldScaleId = c.gradingScaleId();
+        boolean wasOpen = c.isEnrollmentOpen();
+        Integer oldCapacity = c.getCapacity();
+        var oldDay = c.getLectureDay();
+        var oldTime = c.getLectureTime();
         CourseMapper.applyUpdate(c, req);
-        return CourseMapper.toDto(repo.save(c));
+        c.setGradingScale(scaleOrNull(req.getGradingScaleId()));
+        Course saved = repo.save(c);
+
+        // standings of everyone graded here depend on the credit value and the scale's points
+        boolean scaleChanged = !Objects.equals(oldScaleId, saved.gradingScaleId());
+        if (scaleChanged || !Objects.equals(oldCredits, saved.getCredits())) {
+            repo.flush();
+            standings.rebuildFor(gradeRepo.findGradedStudentIdsByCourseId(id));
+        }
+        if (scaleChanged) statistics.invalidate(id);
+        if (oldDay != saved.getLectureDay() || !Objects.equals(oldTime, saved.getLectureTime())) {
+            timetables.evictAll();
+        }
+
+        // more room (or enrollment reopened): hand the new seats to the waitlist, in this transaction
+        if (saved.isEnrollmentOpen() && (!wasOpen || capacityGrew(oldCapacity, saved.getCapacity()))) {
+            repo.flush();
+            if (waitlists.promote(id) > 0) saved.setEnrolledCount(repo.findEnrolledCountById(id));
+        }
+        if (wasOpen != saved.isEnrollmentOpen() || !Objects.equals(oldCapacity, saved.getCapacity())) {
+            seatEvents.courseChanged(id);
+        }
+        return CourseMapper.toDto(saved);
+    }
+
+    /** null or <= 0 means unlimited, as in CourseRepository.claimSeat */
+    private static boolean capacityGrew(Integer before, Integer after) {
+        boolean unlimitedBefore = before == null || before <= 0;
+        boolean unlimitedAfter = after == null || after <= 0;
+        if (unlimitedBefore) return false;
+        return unlimitedAfter || after > before;
+    }
+
+    private GradingScale scaleOrNull(Long scaleId) {
+        if (scaleId == null) return null;
+        if (!scaleRepo.existsById(scaleId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown grading scale: " + scaleId);
+        }
+        return scaleRepo.getReferenceById(scaleId);
     }
 
     @Override
@@ -67,6 +144,7 @@ public class CourseServiceImpl implements CourseService {
         if (!repo.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
         }
+        waitlistRepo.deleteByCourseId(id);
         repo.deleteById(id);
     }
 }
\ No newline at end of file
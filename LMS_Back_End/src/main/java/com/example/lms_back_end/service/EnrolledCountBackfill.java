@@ -0,0 +1,39 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.entity.SeedMarker;
+import com.example.lms_back_end.repository.SeedMarkerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/** courses.enrolled_count starts at 0 on an existing database; count the active enrollments once. */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EnrolledCountBackfill {
+
+    // Bump to recount on next startup (e.g. after enrollments were edited outside the application)
+    private static final String MARKER = "course-enrolled-count:v1";
+
+    private final JdbcTemplate jdbc;
+    private final SeedMarkerRepository markers;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (markers.existsById(MARKER)) return;
+        long start = System.nanoTime();
+        int courses = jdbc.update("""
+                update courses set enrolled_count =
+                    (select count(*) from enrollments e where e.course_id = courses.id and e.active = true)
+                """);
+        markers.save(SeedMarker.builder().name(MARKER).appliedAt(Instant.now()).build());
+        log.info("Backfilled enrolled_count for {} courses in {} ms", courses, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.lms_back_end.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Moves dropped (active = false) enrollments and their grades into enrollment_history in
+ * id-ordered batches, one transaction each, so the enrollments table and its indexes only
+ * hold current rows. Dropped rows are never reactivated (re-enrolling inserts a new row),
+ * which makes the move safe to run alongside normal traffic.
+ */
+@Slf4j
+@Component
+public class EnrollmentArchiver {
+
+    private static final String COPY = """
+            insert into enrollment_history (id, student_id, course_id, score, dropped_at, archived_at)
+            select e.id, e.student_id, e.course_id, g.score, e.dropped_at, ?
+            from enrollments e left join grades g on g.enrollment_id = e.id
+            where e.id = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public EnrollmentArchiver(JdbcTemplate jdbc, TransactionTemplate tx,
+                              @Value("${app.enrollments.archive.batch-size:1000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.batchSize = batchSize;
+    }
+
+    /** Archives every pending drop; returns the number of rows moved. */
+    @Scheduled(fixedDelayString = "${app.enrollments.archive.interval:PT5M}",
+               initialDelayString = "${app.enrollments.archive.interval:PT5M}")
+    public int archive() {
+        long start = System.nanoTime();
+        int moved = 0;
+        while (true) {
+            List<Long> ids;
+            try {
+                ids = tx.execute(status -> {
+                    var batch = jdbc.queryForList(
+                            "select id from enrollments where active = false order by id limit ?", Long.class, batchSize);
+                    move(batch);
+                    return batch;
+                });
+            } catch (RuntimeException ex) {
+                // e.g. a row moved concurrently by unenroll; the rest is picked up on the next run
+                log.warn("Enrollment archive batch failed after {} rows: {}", moved, ex.getMessage());
+                break;
+            }
+            moved += ids.size();
+            if (ids.size() < batchSize) break;
+        }
+        if (moved > 0) {
+            log.info("Archived {} dropped enrollments in {} ms", moved, (System.nanoTime() - start) / 1_000_000);
+        }
+        return moved;
+    }
+
+    /**
+     * Moves the pair's pending drop, if any, inside the caller's transaction; the unique key on
+     * (student_id, course_id, active) allows only one inactive row per pair, so a second drop
+     * of the same course needs the first one out of the way.
+     */
+    void archivePending(Long studentId, Long courseId) {
+        move(jdbc.queryForList(
+                "select id from enrollments where student_id = ? and course_id = ? and active = false",
+                Long.class, studentId, courseId));
+    }
+
+    private void move(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        var now = Timestamp.from(Instant.now());
+        jdbc.batchUpdate(COPY, ids, ids.size(), (ps, id) -> {
+            ps.setTimestamp(1, now);
+            ps.setLong(2, id);
+        });
+        jdbc.batchUpdate("delete from grades where enrollment_id = ?", ids, ids.size(),
+                (ps, id) -> ps.setLong(1, id));
+        jdbc.batchUpdate("delete from enrollments where id = ?", ids, ids.size(),
+                (ps, id) -> ps.setLong(1, id));
+    }
+}
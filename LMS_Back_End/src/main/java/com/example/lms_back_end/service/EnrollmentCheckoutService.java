@@ -0,0 +1,9 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.BulkEnrollReport;
+import com.example.lms_back_end.dto.enrollment.CheckoutRequest;
+
+public interface EnrollmentCheckoutService {
+    /** Enrolls one student in a cart of courses in a single transaction; per-course outcome report. */
+    BulkEnrollReport checkout(CheckoutRequest req);
+}
@@ -0,0 +1,130 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.BulkEnrollReport;
+import com.example.lms_back_end.dto.enrollment.BulkEnrollResult;
+import com.example.lms_back_end.dto.enrollment.CheckoutRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cart checkout: EnrollmentRules checked for the whole cart with set
+ * queries (courses, existing enrollments) and the timetable index, then seats claimed and enrollments inserted as JDBC
+ * batches. A constant number of statements per cart, independent of its size.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class EnrollmentCheckoutServiceImpl implements EnrollmentCheckoutService {
+
+    static final String NOT_ATTEMPTED = "Not enrolled: another course in the cart was refused";
+
+    private final EnrollmentRepository repo;
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final JdbcTemplate jdbc;
+    private final WaitlistQueues queues;
+    private final TimetableIndex timetables;
+    private final SeatAvailabilityBroadcaster seatEvents;
+
+    @Override
+    public BulkEnrollReport checkout(CheckoutRequest req) {
+        long start = System.nanoTime();
+        Long studentId = req.getStudentId();
+        if (!studentRepo.existsById(studentId)) {
+            throw EnrollmentRules.refused(EnrollmentRules.STUDENT_NOT_FOUND);
+        }
+
+        List<BulkEnrollResult> results = req.getCourseIds().stream()
+                .map(id -> BulkEnrollResult.builder().studentId(studentId).courseId(id).build())
+                .toList();
+        Set<Long> courseIds = new HashSet<>(req.getCourseIds());
+        Map<Long, Course> courses = courseRepo.findAllById(courseIds).stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        Set<Long> enrolled = repo.findActivePairs(List.of(studentId), courseIds).stream()
+                .map(EnrollmentRepository.StudentCourse::getCourseId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        // ---- EnrollmentRules per course (the student was checked above); the seat check is the claim below ----
+        var accepted = new ArrayList<BulkEnrollResult>();
+        var seen = new HashSet<Long>();
+        var week = timetables.week(studentId); // grows with each accepted course, so the cart is checked against itself
+        for (var r : results) {
+            if (!seen.add(r.getCourseId())) { r.setMessage("Duplicate course in cart"); continue; }
+            Course c = courses.get(r.getCourseId());
+            var lecture = c == null ? null : TimetableIndex.Lecture.of(c);
+            var cartWeek = week;
+            String refusal = EnrollmentRules.refusal(true, c, () -> enrolled.contains(c.getId()),
+                    () -> timetables.clash(cartWeek, lecture));
+            if (refusal != null) { r.setMessage(refusal); continue; }
+            week = timetables.plus(week, lecture);
+            accepted.add(r);
+        }
+        if (req.isAllOrNothing() && accepted.size() < results.size()) {
+            return report(results, start, true);
+        }
+
+        if (accepted.isEmpty()) return report(results, start, false);
+
+        // ---- conditional seat claims in course-id order (concurrent carts lock rows in the same order) ----
+        accepted.sort(Comparator.comparing(BulkEnrollResult::getCourseId));
+        int[] claimed = jdbc.batchUpdate("""
+                update courses set enrolled_count = enrolled_count + 1
+                where id = ? and enrollment_open = true
+                  and (capacity is null or capacity <= 0 or enrolled_count < capacity)
+                """, accepted, accepted.size(), (ps, r) -> ps.setLong(1, r.getCourseId()))[0];
+        var seated = new ArrayList<BulkEnrollResult>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            if (claimed[i] == 0) accepted.get(i).setMessage(EnrollmentRules.CAPACITY_REACHED);
+            else seated.add(accepted.get(i));
+        }
+        if (req.isAllOrNothing() && seated.size() < accepted.size()) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return report(results, start, true);
+        }
+        if (seated.isEmpty()) return report(results, start, false);
+
+        jdbc.batchUpdate("insert into enrollments (student_id, course_id, active) values (?, ?, true)",
+                seated, seated.size(), (ps, r) -> {
+                    ps.setLong(1, studentId);
+                    ps.setLong(2, r.getCourseId());
+                });
+        // a seat granted here supersedes any waitlist place for the same course
+        jdbc.batchUpdate("delete from waitlist_entries where student_id = ? and course_id = ?",
+                seated, seated.size(), (ps, r) -> {
+                    ps.setLong(1, studentId);
+                    ps.setLong(2, r.getCourseId());
+                });
+        List<Long> seatedCourses = seated.stream().map(BulkEnrollResult::getCourseId).toList();
+        AfterCommit.run(() -> queues.reload(seatedCourses));
+        seatEvents.coursesChanged(seatedCourses);
+        timetables.evict(studentId);
+        seated.forEach(r -> r.setSuccess(true));
+        return report(results, start, false);
+    }
+
+    /** When the cart was refused as a whole, courses that passed their own checks say why they were not taken. */
+    private static BulkEnrollReport report(List<BulkEnrollResult> results, long start, boolean refused) {
+        if (refused) {
+            results.stream().filter(r -> r.getMessage() == null).forEach(r -> r.setMessage(NOT_ATTEMPTED));
+        }
+        int enrolled = (int) results.stream().filter(BulkEnrollResult::isSuccess).count();
+        return BulkEnrollReport.builder()
+                .requested(results.size())
+                .enrolled(enrolled)
+                .failed(results.size() - enrolled)
+                .elapsedMillis((System.nanoTime() - start) / 1_000_000)
+                .results(results)
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.entity.Course;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * The enroll rules and their refusal messages, shared by enroll, cart checkout, admin bulk enroll
+ * and the surge writer so all four refuse the same request for the same reason. The order is
+ * fixed: student, course, open, not already enrolled, no timetable clash, then a free seat.
+ * Each path loads the inputs its own way (one row, a cart, a batch) and claims the seat its own way.
+ */
+final class EnrollmentRules {
+
+    static final String STUDENT_NOT_FOUND = "Student not found";
+    static final String COURSE_NOT_FOUND = "Course not found";
+    static final String CLOSED = "Enrollment is closed for this course";
+    static final String ALREADY_ENROLLED = "Already enrolled";
+    static final String CAPACITY_REACHED = "Course capacity reached";
+
+    private EnrollmentRules() {}
+
+    /**
+     * The first rule short of capacity that refuses the student a seat in {@code course} (null
+     * when not found), or null when none does. {@code alreadyEnrolled} and {@code clash} are only
+     * asked once the rules before them pass; a null {@code clash} skips the timetable check.
+     */
+    static String refusal(boolean studentExists, Course course, BooleanSupplier alreadyEnrolled,
+                          Supplier<Optional<TimetableIndex.Lecture>> clash) {
+        if (!studentExists) return STUDENT_NOT_FOUND;
+        if (course == null) return COURSE_NOT_FOUND;
+        if (!course.isEnrollmentOpen()) return CLOSED;
+        if (alreadyEnrolled.getAsBoolean()) return ALREADY_ENROLLED;
+        if (clash != null) {
+            var taken = clash.get();
+            if (taken.isPresent()) return TimetableIndex.clashMessage(taken.get());
+        }
+        return null;
+    }
+
+    /** Capacity null or non-positive means unlimited. */
+    static boolean hasFreeSeat(Course course, long enrolled) {
+        Integer cap = course.getCapacity();
+        return cap == null || cap <= 0 || enrolled < cap;
+    }
+
+    /** For the single-request paths: a missing student or course is a 404, any other refusal a 409. */
+    static ResponseStatusException refused(String reason) {
+        boolean missing = STUDENT_NOT_FOUND.equals(reason) || COURSE_NOT_FOUND.equals(reason);
+        return new ResponseStatusException(missing ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT, reason);
+    }
+}
@@ -3,13 +3,21 @@ package com.example.lms_back_end.service;
 import com.example.lms_back_end.dto.course.CourseDto;
 import com.example.lms_back_end.dto.enrollment.EnrollRequest;
 import com.example.lms_back_end.dto.enrollment.EnrollmentDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentHistoryDto;
 import com.example.lms_back_end.dto.student.StudentDto;
+import com.example.lms_back_end.dto.student.TimetableDto;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface EnrollmentService {
     EnrollmentDto enroll(EnrollRequest req);
     void unenroll(Long studentId, Long courseId);
     Page<EnrollmentDto> listByStudent(Long studentId, int page, int size);
+    /** Dropped enrollments (pending and archived), newest first. */
+    List<EnrollmentHistoryDto> listHistoryByStudent(Long studentId);
+    /** The student's weekly lectures, served from the timetable index. */
+    TimetableDto timetableForStudent(Long studentId);
     Page<EnrollmentDto> listByCourse(Long courseId, int page, int size);
     Page<CourseDto> listCoursesForStudent(Long studentId, int page, int size);
     Page<StudentDto> listStudentsForCourse(Long courseId, int page, int size);
@@ -4,24 +4,32 @@ import com.example.lms_back_end.dto.course.CourseDto;
 import com.example.lms_back_end.dto.course.CourseMapper;
 import com.example.lms_back_end.dto.enrollment.EnrollRequest;
 import com.example.lms_back_end.dto.enrollment.EnrollmentDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentHistoryDto;
 import com.example.lms_back_end.dto.enrollment.EnrollmentMapper;
 import com.example.lms_back_end.dto.student.StudentMapper;
 import com.example.lms_back_end.dto.student.StudentDto;
+import com.example.lms_back_end.dto.student.TimetableDto;
 import com.example.lms_back_end.entity.Course;
 import com.example.lms_back_end.entity.Enrollment;
 import com.example.lms_back_end.entity.Student;
 import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentHistoryRepository;
 import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.GradeRepository;
 import com.example.lms_back_end.repository.StudentRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -30,30 +38,29 @@ public class EnrollmentServiceImpl implements EnrollmentService {
     private final EnrollmentRepository repo;
     private final StudentRepository studentRepo;
     private final CourseRepository courseRepo;
+    private final GradeRepository gradeRepo;
+    private final AcademicStandingService standings;
+    private final GradeStatisticsService statistics;
+    private final ClassRankService ranks;
+    private final WaitlistService waitlists;
+    private final EnrollmentHistoryRepository historyRepo;
+    private final EnrollmentArchiver archiver;
+    private final GradingScaleCache scales;
+    private final TimetableIndex timetables;
+    private final SeatAvailabilityBroadcaster seatEvents;
 
     @Override
     public EnrollmentDto enroll(EnrollRequest req) {
-        Student student = studentRepo.findById(req.getStudentId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
-        Course course = courseRepo.findById(req.getCourseId())
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
-
-        if (!course.isEnrollmentOpen()) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Enrollment is closed for this course");
-        }
-
-        // prevent duplicates of active enrollment
-        if (repo.existsByStudent_IdAndCourse_IdAndActive(student.getId(), course.getId(), true)) {
-            throw new ResponseStatusException(HttpStatus.CONFLICT, "Already enrolled");
-        }
-
-        // capacity check counts only active enrollments
-        Integer cap = course.getCapacity();
-        if (cap != null && cap > 0) {
-            long current = repo.countByCourse_IdAndActive(course.getId(), true);
-            if (current >= cap) {
-                throw new ResponseStatusException(HttpStatus.CONFLICT, "Course capacity reached");
-            }
+        Student student = studentRepo.findById(req.getStudentId()).orElse(null);
+        Course course = courseRepo.findById(req.getCourseId()).orElse(null);
+        String refusal = EnrollmentRules.refusal(student != null, course,
+                () -> repo.existsByStudent_IdAndCourse_IdAndActive(student.getId(), course.getId(), true),
+                () -> timetables.clash(student.getId(), course));
+        if (refusal != null) throw EnrollmentRules.refused(refusal);
+
+        // atomic check-and-take on courses.enrolled_count; rolled back with the insert if that fails
+        if (courseRepo.claimSeat(course.getId()) == 0) {
+            throw EnrollmentRules.refused(EnrollmentRules.CAPACITY_REACHED);
         }
 
         Enrollment saved = repo.save(Enrollment.builder()
@@ -61,6 +68,9 @@ public class EnrollmentServiceImpl implements EnrollmentService {
                 .course(course)
                 .active(true)
                 .build());
+        waitlists.removeIfQueued(student.getId(), course.getId());
+        timetables.evict(student.getId());
+        seatEvents.courseChanged(course.getId());
 
         return EnrollmentMapper.toDto(saved);
     }
@@ -70,8 +80,24 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         Enrollment e = repo.findByStudent_IdAndCourse_IdAndActive(studentId, courseId, true)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Active enrollment not found"));
 
-        e.setActive(false); // soft “drop”
+        // an earlier drop of this course still waiting for the archiver would collide on the unique key
+        archiver.archivePending(studentId, courseId);
+        e.setActive(false); // soft “drop”; EnrollmentArchiver moves it out of the table later
+        e.setDroppedAt(Instant.now());
         repo.save(e);
+        timetables.evict(studentId);
+        courseRepo.releaseSeat(courseId);
+        // the freed seat goes to the head of the waitlist; the releaseSeat row lock serializes this
+        waitlists.promote(courseId);
+        seatEvents.courseChanged(courseId);
+
+        // a dropped course no longer counts towards GPA
+        gradeRepo.findByEnrollment_Id(e.getId()).ifPresent(g -> {
+            standings.recordGradeChange(studentId, e.getCourse().getCredits(),
+                    e.getCourse().gradingScaleId(), g.getScore(), null);
+            statistics.invalidate(courseId);
+            ranks.recordScoreChange(courseId, g.getScore(), null);
+        });
     }
 
     @Override
@@ -80,8 +106,49 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         if (!studentRepo.existsById(studentId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
         }
-        return repo.findByStudent_IdAndActive(studentId, true, PageRequest.of(page, size))
-                .map(EnrollmentMapper::toDto);
+        return repo.findActiveDtosByStudentId(studentId, PageRequest.of(page, size));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EnrollmentHistoryDto> listHistoryByStudent(Long studentId) {
+        if (!studentRepo.existsById(studentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+        }
+        // drops not yet archived are newer than anything in the archive
+        return Stream.concat(repo.findDroppedByStudentId(studentId).stream(),
+                        historyRepo.findByStudentId(studentId).stream())
+                .map(r -> EnrollmentHistoryDto.builder()
+                        .enrollmentId(r.getEnrollmentId())
+                        .courseId(r.getCourseId())
+                        .courseCode(r.getCourseCode())
+                        .courseTitle(r.getCourseTitle())
+                        .score(r.getScore())
+                        .letter(r.getScore() == null ? null : scales.get(r.getGradingScaleId()).letter(r.getScore()))
+                        .droppedAt(r.getDroppedAt())
+                        .build())
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimetableDto timetableForStudent(Long studentId) {
+        if (!studentRepo.existsById(studentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+        }
+        var lectures = timetables.week(studentId).lectures().stream()
+                .sorted(Comparator.comparing(TimetableIndex.Lecture::day).thenComparing(TimetableIndex.Lecture::start))
+                .map(l -> TimetableDto.Entry.builder()
+                        .courseId(l.courseId())
+                        .courseCode(l.code())
+                        .courseTitle(l.title())
+                        .lectureHall(l.lectureHall())
+                        .day(l.day())
+                        .start(l.start())
+                        .end(l.start().plusMinutes(timetables.lectureMinutes()))
+                        .build())
+                .toList();
+        return TimetableDto.builder().studentId(studentId).lectures(lectures).build();
     }
 
     @Override
@@ -90,8 +157,7 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         if (!courseRepo.existsById(courseId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
         }
-        return repo.findByCourse_IdAndActive(courseId, true, PageRequest.of(page, size))
-                .map(EnrollmentMapper::toDto);
+        return repo.findActiveDtosByCourseId(courseId, PageRequest.of(page, size));
     }
 
     @Override
@@ -100,12 +166,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         if (!studentRepo.existsById(studentId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
         }
-        var pageable = PageRequest.of(page, size);
-        var enrollments = repo.findByStudent_IdAndActive(studentId, true, pageable);
-        var content = enrollments.getContent().stream()
-                .map(e -> CourseMapper.toDto(e.getCourse()))
-                .toList();
-        return new PageImpl<>(content, pageable, enrollments.getTotalElements());
+        return repo.findActiveCoursesByStudentId(studentId, PageRequest.of(page, size))
+                .map(CourseMapper::toDto);
     }
 
     @Override
@@ -114,12 +176,8 @@ public class EnrollmentServiceImpl implements EnrollmentService {
         if (!courseRepo.existsById(courseId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
         }
-        var pageable = PageRequest.of(page, size);
-        var enrollments = repo.findByCourse_IdAndActive(courseId, true, pageable);
-        var content = enrollments.getContent().stream()
-                .map(e -> StudentMapper.toDto(e.getStudent()))
-                .toList();
-        return new PageImpl<>(content, pageable, enrollments.getTotalElements());
+        return repo.findActiveStudentsByCourseId(courseId, PageRequest.of(page, size))
+                .map(StudentMapper::toDto);
     }
 
 
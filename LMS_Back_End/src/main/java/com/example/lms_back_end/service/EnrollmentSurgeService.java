@@ -0,0 +1,23 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public interface EnrollmentSurgeService {
+    /** While enabled, POST /api/enrollments queues the request and answers 202 with a ticket. */
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /** Queues the request behind its course's writer; the ticket starts out QUEUED. */
+    EnrollmentTicketDto submit(EnrollRequest req);
+
+    /** Current state of a student's ticket. */
+    EnrollmentTicketDto ticket(String ticketId, Long studentId);
+
+    /** Completes once the ticket is decided, or with its current (QUEUED) state after {@code wait}. */
+    CompletableFuture<EnrollmentTicketDto> awaitTicket(String ticketId, Long studentId, Duration wait);
+}
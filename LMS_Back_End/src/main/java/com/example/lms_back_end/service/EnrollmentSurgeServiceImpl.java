@@ -0,0 +1,301 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto.Status;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Registration-surge intake. Instead of one transaction per request all updating the same hot
+ * course row, requests are queued per course and a single writer per course (at most one drain
+ * of a lane runs at a time, on a shared pool) takes them in batches: the students' timetables in
+ * one query, one locked read of the course, set queries for the rules, capacity decided in
+ * memory, then the inserts, waitlist deletes and the enrolled_count bump committed together.
+ * Tickets are kept in memory and dropped {@code ticket-ttl} after they are decided.
+ */
+@Slf4j
+@Service
+public class EnrollmentSurgeServiceImpl implements EnrollmentSurgeService {
+
+    static final String WRITE_FAILED = "Enrollment could not be saved; please try again";
+
+    private final CourseRepository courseRepo;
+    private final StudentRepository studentRepo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final WaitlistQueues queues;
+    private final TimetableIndex timetables;
+    private final SeatAvailabilityBroadcaster seatEvents;
+    private final int batchSize;
+    private final int maxQueued;
+    private final Duration ticketTtl;
+    private final ExecutorService writers;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Ticket> tickets = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private volatile boolean enabled;
+
+    public EnrollmentSurgeServiceImpl(CourseRepository courseRepo, StudentRepository studentRepo,
+                                      EnrollmentRepository enrollmentRepo, JdbcTemplate jdbc, TransactionTemplate tx,
+                                      WaitlistQueues queues, TimetableIndex timetables,
+                                      SeatAvailabilityBroadcaster seatEvents,
+                                      @Value("${app.enrollments.surge.enabled:false}") boolean enabled,
+                                      @Value("${app.enrollments.surge.batch-size:200}") int batchSize,
+                                      @Value("${app.enrollments.surge.max-queued:50000}") int maxQueued,
+                                      @Value("${app.enrollments.surge.writer-threads:4}") int writerThreads,
+                                      @Value("${app.enrollments.surge.ticket-ttl:PT10M}") Duration ticketTtl) {
+        this.courseRepo = courseRepo;
+        this.studentRepo = studentRepo;
+        this.enrollmentRepo = enrollmentRepo;
+        this.jdbc = jdbc;
+        this.tx = tx;
+        this.queues = queues;
+        this.timetables = timetables;
+        this.seatEvents = seatEvents;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxQueued = maxQueued;
+        this.ticketTtl = ticketTtl;
+        AtomicInteger n = new AtomicInteger();
+        this.writers = Executors.newFixedThreadPool(Math.max(1, writerThreads), r -> {
+            Thread t = new Thread(r, "enroll-surge-writer-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public boolean isEnabled() { return enabled; }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        log.info("Enrollment surge mode {}", enabled ? "enabled" : "disabled");
+    }
+
+    @Override
+    public EnrollmentTicketDto submit(EnrollRequest req) {
+        // a bad course id would otherwise leave a lane behind for it
+        if (!courseRepo.existsById(req.getCourseId())) {
+            throw EnrollmentRules.refused(EnrollmentRules.COURSE_NOT_FOUND);
+        }
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Enrollment queue is full, please retry");
+        }
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), req.getStudentId(), req.getCourseId());
+        tickets.put(ticket.id, ticket);
+        Lane lane = lanes.computeIfAbsent(req.getCourseId(), Lane::new);
+        lane.queue.add(ticket);
+        lane.schedule();
+        return ticket.toDto();
+    }
+
+    @Override
+    public EnrollmentTicketDto ticket(String ticketId, Long studentId) {
+        return find(ticketId, studentId).toDto();
+    }
+
+    @Override
+    public CompletableFuture<EnrollmentTicketDto> awaitTicket(String ticketId, Long studentId, Duration wait) {
+        Ticket ticket = find(ticketId, studentId);
+        return ticket.decided.copy()
+                .completeOnTimeout(null, wait.toMillis(), TimeUnit.MILLISECONDS)
+                .thenApply(done -> ticket.toDto());
+    }
+
+    private Ticket find(String ticketId, Long studentId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null || !ticket.studentId.equals(studentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Ticket not found");
+        }
+        return ticket;
+    }
+
+    /** Drops decided tickets once clients have had {@code ticket-ttl} to read them. */
+    @Scheduled(fixedDelayString = "${app.enrollments.surge.ticket-ttl:PT10M}")
+    void pruneTickets() {
+        Instant cutoff = Instant.now().minus(ticketTtl);
+        tickets.values().removeIf(t -> t.decidedAt != null && t.decidedAt.isBefore(cutoff));
+    }
+
+    /**
+     * Decides and commits one batch of a course's queue; every ticket of the batch is decided on
+     * return. A batch that fails is split in half and each half retried on its own, so one bad
+     * ticket (or a transient error) fails only itself.
+     */
+    private void write(Long courseId, List<Ticket> batch) {
+        String[] outcome;
+        try {
+            outcome = tx.execute(status -> decideAndInsert(courseId, batch));
+        } catch (RuntimeException ex) {
+            if (batch.size() > 1) {
+                log.debug("Surge enrollment batch of {} for course {} failed, retrying as halves: {}",
+                        batch.size(), courseId, ex.getMessage());
+                int half = batch.size() / 2;
+                write(courseId, batch.subList(0, half));
+                write(courseId, batch.subList(half, batch.size()));
+                return;
+            }
+            log.warn("Surge enrollment of student {} in course {} failed: {}", batch.get(0).studentId, courseId, ex.getMessage());
+            outcome = new String[] {WRITE_FAILED};
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket t = batch.get(i);
+            if (outcome[i] == null) timetables.evict(t.studentId);
+            t.decide(outcome[i]);
+        }
+    }
+
+    /** Applies EnrollmentRules to each ticket in queue order; returns null for each ticket that got a seat. */
+    private String[] decideAndInsert(Long courseId, List<Ticket> batch) {
+        String[] outcome = new String[batch.size()];
+        List<Long> studentIds = batch.stream().map(t -> t.studentId).distinct().toList();
+        // read before the lock, so the course row is held only for in-memory checks and the writes
+        var weeks = timetables.weeks(studentIds);
+        Course course = courseRepo.lockById(courseId).orElse(null);
+        if (course == null) {
+            Arrays.fill(outcome, EnrollmentRules.COURSE_NOT_FOUND);
+            return outcome;
+        }
+        var lecture = TimetableIndex.Lecture.of(course);
+        Set<Long> students = new HashSet<>(studentRepo.findExistingIds(studentIds));
+        Set<Long> enrolled = enrollmentRepo.findActivePairs(studentIds, List.of(courseId)).stream()
+                .map(EnrollmentRepository.StudentCourse::getStudentId)
+                .collect(Collectors.toCollection(HashSet::new));
+        long enrolledCount = course.getEnrolledCount();
+
+        var seated = new ArrayList<Long>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long studentId = batch.get(i).studentId;
+            String refusal = EnrollmentRules.refusal(students.contains(studentId), course,
+                    () -> enrolled.contains(studentId), () -> timetables.clash(weeks.get(studentId), lecture));
+            if (refusal == null && !EnrollmentRules.hasFreeSeat(course, enrolledCount)) {
+                refusal = EnrollmentRules.CAPACITY_REACHED;
+            }
+            outcome[i] = refusal;
+            if (refusal != null) continue;
+            enrolled.add(studentId);
+            enrolledCount++;
+            seated.add(studentId);
+        }
+        if (seated.isEmpty()) return outcome;
+
+        jdbc.batchUpdate("insert into enrollments (student_id, course_id, active) values (?, ?, true)",
+                seated, seated.size(), (ps, studentId) -> {
+                    ps.setLong(1, studentId);
+                    ps.setLong(2, courseId);
+                });
+        // a seat granted here supersedes any waitlist place for the same course
+        jdbc.batchUpdate("delete from waitlist_entries where student_id = ? and course_id = ?",
+                seated, seated.size(), (ps, studentId) -> {
+                    ps.setLong(1, studentId);
+                    ps.setLong(2, courseId);
+                });
+        // capacity was decided above under the row lock, so this is a plain increment
+        jdbc.update("update courses set enrolled_count = enrolled_count + ? where id = ?", seated.size(), courseId);
+        AfterCommit.run(() -> queues.reload(List.of(courseId)));
+        seatEvents.courseChanged(courseId);
+        return outcome;
+    }
+
+    @PreDestroy
+    void shutdown() { writers.shutdown(); }
+
+    /** One course's queue; {@code draining} makes its writer single-threaded. */
+    private final class Lane {
+        final Long courseId;
+        final ConcurrentLinkedQueue<Ticket> queue = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+
+        Lane(Long courseId) { this.courseId = courseId; }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) writers.execute(this::drain);
+        }
+
+        private void drain() {
+            while (true) {
+                var batch = new ArrayList<Ticket>(batchSize);
+                for (Ticket t; batch.size() < batchSize && (t = queue.poll()) != null; ) batch.add(t);
+                if (batch.isEmpty()) {
+                    draining.set(false);
+                    // a submit between the poll and the reset would otherwise sit until the next one
+                    if (queue.isEmpty() || !draining.compareAndSet(false, true)) return;
+                    continue;
+                }
+                queued.addAndGet(-batch.size());
+                write(courseId, batch);
+            }
+        }
+    }
+
+    private static final class Ticket {
+        final String id;
+        final Long studentId;
+        final Long courseId;
+        final Instant queuedAt = Instant.now();
+        final CompletableFuture<Void> decided = new CompletableFuture<>();
+        volatile Status status = Status.QUEUED;
+        volatile String message;
+        volatile Instant decidedAt;
+
+        Ticket(String id, Long studentId, Long courseId) {
+            this.id = id;
+            this.studentId = studentId;
+            this.courseId = courseId;
+        }
+
+        /** null reason => enrolled */
+        void decide(String reason) {
+            message = reason;
+            decidedAt = Instant.now();
+            status = reason == null ? Status.ENROLLED : Status.REJECTED;
+            decided.complete(null);
+        }
+
+        EnrollmentTicketDto toDto() {
+            return EnrollmentTicketDto.builder()
+                    .ticketId(id)
+                    .studentId(studentId)
+                    .courseId(courseId)
+                    .status(status)
+                    .message(message)
+                    .queuedAt(queuedAt)
+                    .decidedAt(decidedAt)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.lms_back_end.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts per integer bucket {@code 0..buckets-1} with O(log n) updates and prefix sums
+ * (binary indexed tree). Updates are lock-free; a read racing a write may see it partially.
+ */
+final class FenwickTree {
+
+    private final AtomicLongArray tree; // 1-based
+
+    FenwickTree(int buckets) {
+        this.tree = new AtomicLongArray(buckets + 1);
+    }
+
+    int buckets() { return tree.length() - 1; }
+
+    void add(int bucket, long delta) {
+        for (int i = bucket + 1; i < tree.length(); i += i & -i) tree.addAndGet(i, delta);
+    }
+
+    /** Entries in buckets {@code 0..bucket}; 0 when bucket < 0. */
+    long countAtMost(int bucket) {
+        long sum = 0;
+        for (int i = Math.min(bucket + 1, tree.length() - 1); i > 0; i -= i & -i) sum += tree.get(i);
+        return sum;
+    }
+
+    long countAt(int bucket) { return countAtMost(bucket) - countAtMost(bucket - 1); }
+
+    long total() { return countAtMost(buckets() - 1); }
+}
@@ -3,9 +3,12 @@ package com.example.lms_back_end.service;
 import com.example.lms_back_end.dto.grade.*;
 import org.springframework.data.domain.Page;
 
+import java.util.List;
+
 public interface GradeService {
     GradeDto upsert(GradeUpsertRequest req); // create or update
-    Page<GradeDto> listByStudent(Long studentId, int page, int size);
-    Page<GradeDto> listByCourse(Long courseId, int page, int size);
+    List<GradeDto> upsertCourseGrades(Long courseId, CourseGradesBatchRequest req); // all-or-nothing, returns the gradebook
+    Page<GradeDto> listByStudent(Long studentId, int page, int size, String sort);
+    Page<GradeDto> listByCourse(Long courseId, int page, int size, String sort, boolean withCount);
     GradeSummaryDto summaryByStudent(Long studentId);
 }
@@ -10,12 +10,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -27,6 +30,11 @@ public class GradeServiceImpl implements GradeService {
     private final StudentRepository studentRepo;
     private final CourseRepository courseRepo;
     private final InstructorRepository instructorRepo;
+    private final AcademicStandingService standings;
+    private final GradeStatisticsService statistics;
+    private final GradingScaleCache scales;
+    private final ClassRankService ranks;
+    private final JdbcTemplate jdbc;
 
     @Override
     public GradeDto upsert(GradeUpsertRequest req) {
@@ -40,70 +48,146 @@ public class GradeServiceImpl implements GradeService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Instructor not assigned to this course");
         }
 
-        // Must have an active enrollment to grade
-        Enrollment enrollment = enrollmentRepo.findByStudent_IdAndCourse_IdAndActive(student.getId(), course.getId(), true)
+        // Must have an active enrollment to grade; locked so concurrent upserts read the old score one at a time
+        Enrollment enrollment = enrollmentRepo.lockActive(student.getId(), course.getId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "Student is not actively enrolled"));
 
         // Upsert single grade per enrollment
-        Grade grade = repo.findByEnrollment_Student_IdAndEnrollment_Course_Id(student.getId(), course.getId())
+        Grade grade = repo.findByEnrollment_Id(enrollment.getId())
                 .orElse(Grade.builder().enrollment(enrollment).build());
 
+        Integer oldScore = grade.getScore();
         grade.setScore(req.getScore());
         Grade saved = repo.save(grade);
-        return GradeMapper.toDto(saved);
+        Long scaleId = course.gradingScaleId();
+        standings.recordGradeChange(student.getId(), course.getCredits(), scaleId, oldScore, req.getScore());
+        statistics.invalidate(course.getId());
+        ranks.recordScoreChange(course.getId(), oldScore, req.getScore());
+        return GradeMapper.toDto(saved, scales.get(scaleId));
+    }
+
+    @Override
+    public List<GradeDto> upsertCourseGrades(Long courseId, CourseGradesBatchRequest req) {
+        Course course = courseRepo.findById(courseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
+        if (!instructorRepo.existsByIdAndCourses_Id(req.getInstructorId(), courseId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Instructor not assigned to this course");
+        }
+
+        Map<Long, Integer> scores = new LinkedHashMap<>();
+        for (var entry : req.getGrades()) {
+            if (scores.put(entry.getStudentId(), entry.getScore()) != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Duplicate student " + entry.getStudentId());
+            }
+        }
+
+        // Set-based lookups: active enrollments, then any existing grades on them
+        Map<Long, Long> enrollmentByStudent = new HashMap<>();
+        for (var ids : Chunks.of(scores.keySet(), Chunks.IN_LIST)) {
+            enrollmentRepo.findActiveByCourseIdAndStudentIds(courseId, ids)
+                    .forEach(e -> enrollmentByStudent.put(e.getStudentId(), e.getEnrollmentId()));
+        }
+        var notEnrolled = scores.keySet().stream().filter(id -> !enrollmentByStudent.containsKey(id)).toList();
+        if (!notEnrolled.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Students not actively enrolled: " + notEnrolled);
+        }
+        // Lock the enrollments before reading their grades (as upsert does), so a concurrent upsert or
+        // batch for the same students cannot slip in between the read and the writes below; ascending
+        // ids across chunks keep two overlapping batches from deadlocking
+        Map<Long, GradeRepository.GradeScore> existing = new HashMap<>();
+        for (var ids : Chunks.of(new TreeSet<>(enrollmentByStudent.values()), Chunks.IN_LIST)) {
+            if (enrollmentRepo.lockActiveByIds(ids).size() < ids.size()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Enrollments changed while grading; please retry");
+            }
+            repo.findScoresByEnrollmentIds(ids).forEach(g -> existing.put(g.getEnrollmentId(), g));
+        }
+
+        var updates = new ArrayList<Object[]>();
+        var inserts = new ArrayList<Object[]>();
+        var changes = new ArrayList<AcademicStandingService.GradeChange>();
+        scores.forEach((studentId, score) -> {
+            Long enrollmentId = enrollmentByStudent.get(studentId);
+            var old = existing.get(enrollmentId);
+            if (old == null) {
+                inserts.add(new Object[]{enrollmentId, score});
+            } else if (!old.getScore().equals(score)) {
+                updates.add(new Object[]{score, old.getId()});
+            }
+            changes.add(new AcademicStandingService.GradeChange(studentId, course.getCredits(),
+                    course.gradingScaleId(), old == null ? null : old.getScore(), score));
+        });
+
+        // IDENTITY ids keep Hibernate from batching inserts, so write through JDBC batches
+        repo.flush();
+        if (!updates.isEmpty()) jdbc.batchUpdate("update grades set score = ? where id = ?", updates);
+        if (!inserts.isEmpty()) jdbc.batchUpdate("insert into grades (enrollment_id, score) values (?, ?)", inserts);
+        standings.recordGradeChanges(changes);
+        statistics.invalidate(courseId);
+        changes.forEach(c -> ranks.recordScoreChange(courseId, c.oldScore(), c.newScore()));
+
+        return scales.applyTo(repo.findGradebookByCourseId(courseId, sortOf("enrollment", GRADEBOOK_SORT, "enrollment")));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<GradeDto> listByStudent(Long studentId, int page, int size) {
+    public Page<GradeDto> listByStudent(Long studentId, int page, int size, String sort) {
         if (!studentRepo.existsById(studentId)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
         }
-        var pageable = PageRequest.of(page, size);
-        // Simple manual pagination since repo returns List for student
-        List<Grade> all = repo.findByEnrollment_Student_Id(studentId);
-        int from = Math.min((int) pageable.getOffset(), all.size());
-        int to = Math.min(from + pageable.getPageSize(), all.size());
-        List<GradeDto> slice = all.subList(from, to).stream().map(GradeMapper::toDto).toList();
-        return new PageImpl<>(slice, pageable, all.size());
+        var rows = repo.findHistoryByStudentId(studentId, PageRequest.of(page, size, sortOf(sort, HISTORY_SORT, "grade")));
+        scales.applyTo(rows.getContent());
+        return rows;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<GradeDto> listByCourse(Long courseId, int page, int size) {
-        var pageable = PageRequest.of(page, size);
-        // If you want paging from DB, add a paging query; here we reuse student-based approach
-        courseRepo.findById(courseId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
-        // Quick fetch-all by course via enrollmentRepo -> join in memory
-        var enrollments = enrollmentRepo.findByCourse_IdAndActive(courseId, true, PageRequest.of(0, Integer.MAX_VALUE)).getContent();
-        var grades = enrollments.stream().map(e ->
-                        repo.findByEnrollment_Student_IdAndEnrollment_Course_Id(e.getStudent().getId(), courseId).orElse(null))
-                .filter(g -> g != null).toList();
-        int from = Math.min((int) pageable.getOffset(), grades.size());
-        int to = Math.min(from + pageable.getPageSize(), grades.size());
-        var slice = grades.subList(from, to).stream().map(GradeMapper::toDto).toList();
-        return new PageImpl<>(slice, pageable, grades.size());
+    public Page<GradeDto> listByCourse(Long courseId, int page, int size, String sort, boolean withCount) {
+        if (!courseRepo.existsById(courseId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }
+        var pageable = PageRequest.of(page, size, sortOf(sort, GRADEBOOK_SORT, "enrollment"));
+        // One joined, DB-paged query (plus COUNT when asked); constant statements regardless of class size
+        if (withCount) {
+            var rows = repo.findGradebookByCourseId(courseId, pageable);
+            scales.applyTo(rows.getContent());
+            return rows;
+        }
+        // Without COUNT, totalElements is a lower bound (offset + rows, +1 when another page exists)
+        var slice = repo.findGradebookSliceByCourseId(courseId, pageable);
+        scales.applyTo(slice.getContent());
+        long lowerBound = pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+        return new PageImpl<>(slice.getContent(), pageable, lowerBound);
+    }
+
+    private static final Map<String, String> GRADEBOOK_SORT = Map.of(
+            "enrollment", "e.id",
+            "studentId", "s.id",
+            "studentNo", "s.studentNo",
+            "lastName", "s.lastName",
+            "score", "g.score");
+
+    private static final Map<String, String> HISTORY_SORT = Map.of(
+            "grade", "e.id",
+            "courseCode", "c.code",
+            "courseTitle", "c.title",
+            "score", "g.score");
+
+    /** "key" or "key,desc" over a fixed whitelist; enrollment id breaks ties so pages are stable. */
+    private static Sort sortOf(String sort, Map<String, String> allowed, String defaultKey) {
+        String[] parts = (sort == null || sort.isBlank() ? defaultKey : sort).split(",");
+        String path = allowed.get(parts[0].trim());
+        if (path == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + parts[0]);
+        }
+        var dir = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort s = JpaSort.unsafe(dir, path);
+        return path.equals("e.id") ? s : s.and(JpaSort.unsafe(Sort.Direction.ASC, "e.id"));
     }
 
     @Override
     @Transactional(readOnly = true)
     public GradeSummaryDto summaryByStudent(Long studentId) {
-        if (!studentRepo.existsById(studentId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
-        }
-        List<Grade> grades = repo.findByEnrollment_Student_Id(studentId);
-        if (grades.isEmpty()) {
-            return GradeSummaryDto.builder().studentId(studentId).gradedCourses(0).gpa(0.0).build();
-        }
-        double gpa = grades.stream()
-                .mapToDouble(g -> GradeMapper.gradePoint(g.getScore()))
-                .average()
-                .orElse(0.0);
-        return GradeSummaryDto.builder()
-                .studentId(studentId)
-                .gradedCourses(grades.size())
-                .gpa(Math.round(gpa * 100.0) / 100.0) // round to 2 dp
-                .build();
+        // maintained incrementally by upsert/unenroll; a single primary-key read
+        return standings.summary(studentId);
     }
 }
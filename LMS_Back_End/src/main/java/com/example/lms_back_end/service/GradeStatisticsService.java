@@ -0,0 +1,8 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.GradeDistributionDto;
+
+public interface GradeStatisticsService {
+    GradeDistributionDto forCourse(Long courseId); // cached per course
+    void invalidate(Long courseId);                // call whenever a course's grades or active roster change
+}
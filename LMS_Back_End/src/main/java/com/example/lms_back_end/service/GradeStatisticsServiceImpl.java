@@ -0,0 +1,112 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.cache.TtlCache;
+import com.example.lms_back_end.dto.grade.CompiledGradingScale;
+import com.example.lms_back_end.dto.grade.GradeDistributionDto;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.GradeRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Transactional(readOnly = true)
+public class GradeStatisticsServiceImpl implements GradeStatisticsService {
+
+    private static final int[] PERCENTILES = {10, 25, 50, 75, 90};
+
+    private final GradeRepository gradeRepo;
+    private final CourseRepository courseRepo;
+    private final GradingScaleCache scales;
+    private final TtlCache<Long, GradeDistributionDto> cache;
+
+    public GradeStatisticsServiceImpl(GradeRepository gradeRepo, CourseRepository courseRepo, GradingScaleCache scales,
+                                      @Value("${app.grades.stats-cache.max-size:2000}") int maxSize,
+                                      @Value("${app.grades.stats-cache.ttl:PT10M}") Duration ttl) {
+        this.gradeRepo = gradeRepo;
+        this.courseRepo = courseRepo;
+        this.scales = scales;
+        this.cache = new TtlCache<>(maxSize, ttl);
+    }
+
+    @Override
+    public GradeDistributionDto forCourse(Long courseId) {
+        return cache.get(courseId, this::compute);
+    }
+
+    @Override
+    public void invalidate(Long courseId) {
+        cache.invalidate(courseId);
+        // a read racing the writer could re-cache pre-commit numbers, so drop again once committed
+        AfterCommit.run(() -> cache.invalidate(courseId));
+    }
+
+    private GradeDistributionDto compute(Long courseId) {
+        var course = courseRepo.findGradingById(courseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
+        // Scores are 0..100, so one GROUP BY yields an exact histogram of at most 101 rows
+        long[] histogram = new long[101];
+        for (var row : gradeRepo.countScoresByCourseId(courseId)) {
+            histogram[row.getScore()] = row.getTotal();
+        }
+        return fromHistogram(courseId, histogram, scales.get(course.getGradingScaleId()));
+    }
+
+    static GradeDistributionDto fromHistogram(Long courseId, long[] histogram, CompiledGradingScale scale) {
+        Map<String, Long> letters = new LinkedHashMap<>();
+        scale.letterOrder().forEach(l -> letters.put(l, 0L));
+        long count = 0, passed = 0;
+        double sum = 0, sumSq = 0;
+        Integer min = null, max = null;
+        for (int s = 100; s >= 0; s--) {
+            long n = histogram[s];
+            letters.merge(scale.letter(s), n, Long::sum);
+            if (n == 0) continue;
+            if (max == null) max = s;
+            min = s;
+            count += n;
+            sum += (double) s * n;
+            sumSq += (double) s * s * n;
+            if (scale.passed(s)) passed += n;
+        }
+
+        var dto = GradeDistributionDto.builder().courseId(courseId).count(count).letters(letters).build();
+        if (count == 0) return dto;
+
+        double mean = sum / count;
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (int p : PERCENTILES) {
+            percentiles.put("p" + p, scoreAtRank(histogram, (long) Math.ceil(p / 100.0 * count)));
+        }
+        double median = count % 2 == 1
+                ? scoreAtRank(histogram, count / 2 + 1)
+                : (scoreAtRank(histogram, count / 2) + scoreAtRank(histogram, count / 2 + 1)) / 2.0;
+
+        dto.setMean(round2(mean));
+        dto.setMedian(median);
+        dto.setStdDev(round2(Math.sqrt(Math.max(0, sumSq / count - mean * mean))));
+        dto.setMin(min);
+        dto.setMax(max);
+        dto.setPercentiles(percentiles);
+        dto.setPassRate(round2((double) passed / count));
+        return dto;
+    }
+
+    /** Score of the rank-th lowest grade (1-based). */
+    private static int scoreAtRank(long[] histogram, long rank) {
+        long seen = 0;
+        for (int s = 0; s < histogram.length; s++) {
+            seen += histogram[s];
+            if (seen >= Math.max(1, rank)) return s;
+        }
+        return histogram.length - 1;
+    }
+
+    private static double round2(double v) { return Math.round(v * 100.0) / 100.0; } // round to 2 dp
+}
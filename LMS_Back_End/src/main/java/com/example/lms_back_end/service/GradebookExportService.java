@@ -0,0 +1,13 @@
+package com.example.lms_back_end.service;
+
+import java.io.OutputStream;
+
+public interface GradebookExportService {
+    enum Format { CSV, NDJSON }
+
+    /**
+     * Streams active enrollments (student + grade, if any) of one course, or of every course when
+     * {@code courseId} is null, straight to {@code out}; returns the number of rows written.
+     */
+    long exportGradebook(Long courseId, Format format, OutputStream out);
+}
@@ -0,0 +1,199 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.CompiledGradingScale;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Forward-only JDBC cursor over enrollment/student/grade rows, written as they arrive.
+ * Memory stays constant regardless of export size: no entities, no result list.
+ * Runs in a read-only transaction so drivers that need one (PostgreSQL) honour the fetch size.
+ */
+@Service
+public class GradebookExportServiceImpl implements GradebookExportService {
+
+    private static final String SQL = """
+            select c.id, c.code, c.grading_scale_id, s.id, s.student_no, s.first_name, s.last_name, s.email,
+                   e.id, g.score
+            from enrollments e
+            join courses c on c.id = e.course_id
+            join students s on s.id = e.student_id
+            left join grades g on g.enrollment_id = e.id
+            where e.active = true
+            """;
+
+    private static final String[] COLUMNS = {"courseId", "courseCode", "studentId", "studentNo", "firstName",
+            "lastName", "email", "enrollmentId", "score", "letter", "gradePoint"};
+
+    private final JdbcTemplate jdbc;
+    private final CourseRepository courseRepo;
+    private final GradingScaleCache scales;
+    private final ObjectMapper json;
+    private final int fetchSize;
+
+    public GradebookExportServiceImpl(JdbcTemplate jdbc, CourseRepository courseRepo, GradingScaleCache scales,
+                                      ObjectMapper json, @Value("${app.exports.fetch-size:1000}") int fetchSize) {
+        this.jdbc = jdbc;
+        this.courseRepo = courseRepo;
+        this.scales = scales;
+        this.json = json;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportGradebook(Long courseId, Format format, OutputStream out) {
+        if (courseId != null && !courseRepo.existsById(courseId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }
+        String sql = SQL + (courseId != null ? " and e.course_id = ?" : "") + " order by c.id, e.id";
+        try {
+            var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            var rows = format == Format.CSV ? new CsvRows(writer) : new NdjsonRows(json, writer);
+            jdbc.query(con -> {
+                var ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                if (courseId != null) ps.setLong(1, courseId);
+                return ps;
+            }, rows);
+            rows.finish();
+            writer.flush();
+            return rows.count;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /** Decodes one row and hands the values to the format; rows arrive grouped by course, so the scale is reused. */
+    private abstract class Rows implements RowCallbackHandler {
+        long count;
+        private Long scaleId;
+        private CompiledGradingScale scale = CompiledGradingScale.DEFAULT;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowScaleId = rs.getLong(3);
+            Long sid = rs.wasNull() ? null : rowScaleId;
+            if (!Objects.equals(sid, scaleId)) {
+                scaleId = sid;
+                scale = scales.get(sid);
+            }
+            int score = rs.getInt(10);
+            boolean graded = !rs.wasNull();
+            try {
+                write(rs.getLong(1), rs.getString(2), rs.getLong(4), rs.getString(5), rs.getString(6),
+                        rs.getString(7), rs.getString(8), rs.getLong(9),
+                        graded ? score : null, graded ? scale.letter(score) : null, graded ? scale.points(score) : null);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex); // client went away
+            }
+            count++;
+        }
+
+        abstract void write(long courseId, String courseCode, long studentId, String studentNo, String firstName,
+                            String lastName, String email, long enrollmentId,
+                            Integer score, String letter, Double gradePoint) throws IOException;
+
+        void finish() throws IOException {}
+    }
+
+    private final class CsvRows extends Rows {
+        private final Writer w;
+
+        CsvRows(Writer w) throws IOException {
+            this.w = w;
+            w.write(String.join(",", COLUMNS));
+            w.write("\r\n");
+        }
+
+        @Override
+        void write(long courseId, String courseCode, long studentId, String studentNo, String firstName,
+                   String lastName, String email, long enrollmentId,
+                   Integer score, String letter, Double gradePoint) throws IOException {
+            w.write(Long.toString(courseId));
+            field(courseCode);
+            w.write(',');
+            w.write(Long.toString(studentId));
+            field(studentNo);
+            field(firstName);
+            field(lastName);
+            field(email);
+            w.write(',');
+            w.write(Long.toString(enrollmentId));
+            w.write(',');
+            if (score != null) w.write(score.toString());
+            field(letter);
+            w.write(',');
+            if (gradePoint != null) w.write(gradePoint.toString());
+            w.write("\r\n");
+        }
+
+        /** Leading comma plus the value, quoted only when it contains a delimiter, quote or line break. */
+        private void field(String v) throws IOException {
+            w.write(',');
+            if (v == null) return;
+            if (v.indexOf(',') < 0 && v.indexOf('"') < 0 && v.indexOf('\n') < 0 && v.indexOf('\r') < 0) {
+                w.write(v);
+                return;
+            }
+            w.write('"');
+            w.write(v.replace("\"", "\"\""));
+            w.write('"');
+        }
+    }
+
+    private final class NdjsonRows extends Rows {
+        private final JsonGenerator g;
+
+        NdjsonRows(ObjectMapper json, Writer w) throws IOException {
+            this.g = json.getFactory().createGenerator(w);
+            g.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        void write(long courseId, String courseCode, long studentId, String studentNo, String firstName,
+                   String lastName, String email, long enrollmentId,
+                   Integer score, String letter, Double gradePoint) throws IOException {
+            g.writeStartObject();
+            g.writeNumberField(COLUMNS[0], courseId);
+            g.writeStringField(COLUMNS[1], courseCode);
+            g.writeNumberField(COLUMNS[2], studentId);
+            g.writeStringField(COLUMNS[3], studentNo);
+            g.writeStringField(COLUMNS[4], firstName);
+            g.writeStringField(COLUMNS[5], lastName);
+            g.writeStringField(COLUMNS[6], email);
+            g.writeNumberField(COLUMNS[7], enrollmentId);
+            if (score != null) {
+                g.writeNumberField(COLUMNS[8], score);
+                g.writeStringField(COLUMNS[9], letter);
+                g.writeNumberField(COLUMNS[10], gradePoint);
+            } else {
+                g.writeNullField(COLUMNS[8]);
+                g.writeNullField(COLUMNS[9]);
+                g.writeNullField(COLUMNS[10]);
+            }
+            g.writeEndObject();
+        }
+
+        @Override
+        void finish() throws IOException {
+            if (count > 0) g.writeRaw('\n');
+            g.flush();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.cache.TtlCache;
+import com.example.lms_back_end.dto.grade.CompiledGradingScale;
+import com.example.lms_back_end.dto.grade.GradeDto;
+import com.example.lms_back_end.dto.grade.GradingScaleMapper;
+import com.example.lms_back_end.repository.GradingScaleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * Compiled grading scales keyed by scale id ({@code null} → {@link CompiledGradingScale#DEFAULT}).
+ * Scales change rarely; GradingScaleService evicts on update and the TTL bounds staleness across instances.
+ */
+@Component
+public class GradingScaleCache {
+
+    private final GradingScaleRepository repo;
+    private final TtlCache<Long, CompiledGradingScale> cache;
+
+    public GradingScaleCache(GradingScaleRepository repo,
+                             @Value("${app.grades.scale-cache.max-size:1000}") int maxSize,
+                             @Value("${app.grades.scale-cache.ttl:PT10M}") Duration ttl) {
+        this.repo = repo;
+        this.cache = new TtlCache<>(maxSize, ttl);
+    }
+
+    public CompiledGradingScale get(Long scaleId) {
+        if (scaleId == null) return CompiledGradingScale.DEFAULT;
+        return cache.get(scaleId, id -> repo.findById(id).map(GradingScaleMapper::compile)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Grading scale not found")));
+    }
+
+    /** Re-derives letter/points for projection rows whose course has its own scale. */
+    public <T extends Collection<GradeDto>> T applyTo(T rows) {
+        for (var row : rows) {
+            if (row.getGradingScaleId() != null) row.applyScale(get(row.getGradingScaleId()));
+        }
+        return rows;
+    }
+
+    public void evict(Long scaleId) { cache.invalidate(scaleId); }
+}
@@ -0,0 +1,14 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.GradingScaleDto;
+import com.example.lms_back_end.dto.grade.GradingScaleRequest;
+
+import java.util.List;
+
+public interface GradingScaleService {
+    List<GradingScaleDto> list();
+    GradingScaleDto getById(Long id);
+    GradingScaleDto create(GradingScaleRequest req);
+    GradingScaleDto update(Long id, GradingScaleRequest req); // re-grades standings of courses on this scale
+    void delete(Long id);                                     // 409 while a course still uses it
+}
@@ -0,0 +1,100 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.CompiledGradingScale;
+import com.example.lms_back_end.dto.grade.GradingScaleDto;
+import com.example.lms_back_end.dto.grade.GradingScaleMapper;
+import com.example.lms_back_end.dto.grade.GradingScaleRequest;
+import com.example.lms_back_end.entity.GradingScale;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.GradeRepository;
+import com.example.lms_back_end.repository.GradingScaleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class GradingScaleServiceImpl implements GradingScaleService {
+
+    private final GradingScaleRepository repo;
+    private final CourseRepository courseRepo;
+    private final GradeRepository gradeRepo;
+    private final GradingScaleCache cache;
+    private final AcademicStandingService standings;
+    private final GradeStatisticsService statistics;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GradingScaleDto> list() {
+        return repo.findAll(Sort.by("code")).stream().map(GradingScaleMapper::toDto).toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GradingScaleDto getById(Long id) {
+        return GradingScaleMapper.toDto(find(id));
+    }
+
+    @Override
+    public GradingScaleDto create(GradingScaleRequest req) {
+        if (repo.existsByCodeIgnoreCase(req.getCode())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Grading scale code already exists");
+        }
+        validate(req);
+        var scale = new GradingScale();
+        GradingScaleMapper.apply(scale, req);
+        return GradingScaleMapper.toDto(repo.save(scale));
+    }
+
+    @Override
+    public GradingScaleDto update(Long id, GradingScaleRequest req) {
+        GradingScale scale = find(id);
+        if (!scale.getCode().equalsIgnoreCase(req.getCode()) && repo.existsByCodeIgnoreCase(req.getCode())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Grading scale code already exists");
+        }
+        validate(req);
+        GradingScaleMapper.apply(scale, req);
+        GradingScale saved = repo.saveAndFlush(scale);
+
+        // letters/points of every course on this scale changed
+        evictNowAndAfterCommit(id);
+        courseRepo.findIdsByGradingScaleId(id).forEach(statistics::invalidate);
+        standings.rebuildFor(gradeRepo.findGradedStudentIdsByGradingScaleId(id));
+        return GradingScaleMapper.toDto(saved);
+    }
+
+    @Override
+    public void delete(Long id) {
+        GradingScale scale = find(id);
+        if (courseRepo.existsByGradingScale_Id(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Grading scale is assigned to courses");
+        }
+        repo.delete(scale);
+        evictNowAndAfterCommit(id);
+    }
+
+    private GradingScale find(Long id) {
+        return repo.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Grading scale not found"));
+    }
+
+    /** Compiling checks what bean validation can't: distinct minimums and a band starting at 0. */
+    private static void validate(GradingScaleRequest req) {
+        try {
+            CompiledGradingScale.compile(null, req.getPassMark(), GradingScaleMapper.bands(req));
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private void evictNowAndAfterCommit(Long id) {
+        cache.evict(id);
+        AfterCommit.run(() -> cache.evict(id));
+    }
+}
@@ -6,6 +6,7 @@ import com.example.lms_back_end.dto.instructor.*;
 import com.example.lms_back_end.entity.Course;
 import com.example.lms_back_end.entity.Instructor;
 import com.example.lms_back_end.entity.AppUser;
+import com.example.lms_back_end.security.CurrentUserCache;
 import com.example.lms_back_end.security.Role;
 import com.example.lms_back_end.repository.CourseRepository;
 import com.example.lms_back_end.repository.InstructorRepository;
@@ -30,6 +31,7 @@ public class InstructorServiceImpl implements InstructorService {
     // NEW: inject user repo + encoder
     private final AppUserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserCache userCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -75,7 +77,10 @@ public class InstructorServiceImpl implements InstructorService {
                 existing.setRole(Role.INSTRUCTOR);
                 dirty = true;
             }
-            if (dirty) userRepo.save(existing);
+            if (dirty) {
+                userRepo.save(existing);
+                userCache.evict(existing.getUsername()); // role/link changed
+            }
         }, () -> {
             // create new AppUser for the instructor
             String initialPassword = "ChangeMe123!"; // TODO: replace with your policy / reset flow
@@ -0,0 +1,287 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.course.CourseMapper;
+import com.example.lms_back_end.dto.course.CourseSeatsDto;
+import com.example.lms_back_end.repository.CourseRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes seat counts and open/closed changes to Server-Sent Events subscribers.
+ * <p>
+ * Writers only mark a course dirty (after commit); a timer drains the dirty set once per
+ * coalesce window, loads all changed courses with one query and hands each subscriber the
+ * rows it asked for. Sends run on a small pool, one drain at a time per subscriber, and rows
+ * that arrive while a subscriber is still being written to replace older ones for the same
+ * course, so a slow client gets the latest state later instead of a backlog.
+ * <p>
+ * A write itself blocks: a client that stops reading holds its send thread until the container's
+ * write timeout fails the write. A client whose write has been stuck longer than
+ * {@code send-timeout} is dropped from the subscribers, and its emitter is completed as soon as
+ * that write returns. While {@code send-threads} clients are stuck at once, everyone else waits,
+ * so the pool should be larger than the number of stuck clients expected.
+ */
+@Slf4j
+@Component
+public class SeatAvailabilityBroadcaster {
+
+    static final String EVENT_NAME = "seats";
+
+    private final CourseRepository courseRepo;
+    private final long timeoutMillis;
+    private final long sendTimeoutNanos;
+    private final int maxSubscribers;
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService senders;
+
+    public SeatAvailabilityBroadcaster(CourseRepository courseRepo,
+                                       @Value("${app.seats.events.coalesce-window:PT0.5S}") Duration window,
+                                       @Value("${app.seats.events.heartbeat:PT25S}") Duration heartbeat,
+                                       @Value("${app.seats.events.timeout:PT30M}") Duration timeout,
+                                       @Value("${app.seats.events.max-subscribers:2000}") int maxSubscribers,
+                                       @Value("${app.seats.events.send-threads:4}") int sendThreads,
+                                       @Value("${app.seats.events.send-timeout:PT10S}") Duration sendTimeout) {
+        this.courseRepo = courseRepo;
+        this.timeoutMillis = timeout.toMillis();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxSubscribers = maxSubscribers;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("seat-events-flush"));
+        this.senders = Executors.newFixedThreadPool(Math.max(1, sendThreads), daemon("seat-events-send"));
+        timer.scheduleWithFixedDelay(this::flushQuietly, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+        timer.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        timer.scheduleWithFixedDelay(this::dropStalled, window.toMillis(), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** Marks a course's seats/open flag as changed; published with the next flush, once the transaction commits. */
+    public void courseChanged(Long courseId) {
+        AfterCommit.run(() -> dirty.add(courseId));
+    }
+
+    public void coursesChanged(Collection<Long> courseIds) {
+        AfterCommit.run(() -> dirty.addAll(courseIds));
+    }
+
+    /**
+     * Opens a stream of "seats" events (each a list of CourseSeatsDto) for the given courses,
+     * or for the whole catalog when {@code courseIds} is null or empty. A course-set subscription
+     * starts with the current state of those courses.
+     */
+    public SseEmitter subscribe(Collection<Long> courseIds) {
+        if (courseIds != null && courseIds.size() > Chunks.IN_LIST) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many course ids (max " + Chunks.IN_LIST + ")");
+        }
+        Set<Long> filter = courseIds == null || courseIds.isEmpty() ? null : Set.copyOf(courseIds);
+        Subscriber sub = register(new SseEmitter(timeoutMillis), filter);
+        if (filter != null) sub.offer(load(filter));
+        return sub.emitter;
+    }
+
+    Subscriber register(SseEmitter emitter, Set<Long> courseIds) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many live seat subscriptions");
+        }
+        Subscriber sub = new Subscriber(emitter, courseIds);
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(ex -> remove(sub));
+        subscribers.add(sub);
+        return sub;
+    }
+
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /** Publishes every course marked dirty since the previous flush. */
+    void flush() {
+        if (dirty.isEmpty()) return;
+        Set<Long> changed = new HashSet<>();
+        for (var it = dirty.iterator(); it.hasNext(); ) {
+            changed.add(it.next());
+            it.remove();
+        }
+        if (subscribers.isEmpty()) return;
+
+        List<CourseSeatsDto> rows = load(changed);
+        if (rows.isEmpty()) return; // deleted courses
+        for (Subscriber sub : subscribers) {
+            sub.offer(rows);
+        }
+    }
+
+    private List<CourseSeatsDto> load(Collection<Long> ids) {
+        var rows = new ArrayList<CourseSeatsDto>(ids.size());
+        for (List<Long> chunk : Chunks.of(ids, Chunks.IN_LIST)) {
+            for (var row : courseRepo.findSeatsByIds(chunk)) {
+                rows.add(CourseMapper.toSeatsDto(row.getId(), row.getCapacity(),
+                        row.getEnrolledCount(), row.isEnrollmentOpen()));
+            }
+        }
+        return rows;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            // courses stay published by the next change; a scheduled task that throws is never run again
+            log.warn("Seat availability flush failed: {}", ex.getMessage());
+        }
+    }
+
+    /** Comment lines keep idle connections from being cut by proxies and surface dead clients. */
+    private void heartbeat() {
+        for (Subscriber sub : subscribers) {
+            sub.ping();
+        }
+    }
+
+    /** Stops feeding clients whose current write has been blocked longer than {@code send-timeout}. */
+    void dropStalled() {
+        long now = System.nanoTime();
+        for (Subscriber sub : subscribers) {
+            if (sub.stalledFor(now) > sendTimeoutNanos) {
+                log.debug("Dropping seat subscriber stuck in a write for over {} ms", sendTimeoutNanos / 1_000_000);
+                remove(sub);
+            }
+        }
+    }
+
+    private void remove(Subscriber sub) {
+        if (subscribers.remove(sub)) subscriberCount.decrementAndGet();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber sub : subscribers) {
+            sub.emitter.complete();
+        }
+    }
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    final class Subscriber {
+        final SseEmitter emitter;
+        final Set<Long> courseIds; // null => whole catalog
+        // latest row per course not yet written to this client
+        private final Map<Long, CourseSeatsDto> pending = new LinkedHashMap<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean pingDue;
+        private volatile long writeStarted = IDLE; // System.nanoTime() of the write in progress
+
+        Subscriber(SseEmitter emitter, Set<Long> courseIds) {
+            this.emitter = emitter;
+            this.courseIds = courseIds;
+        }
+
+        void offer(List<CourseSeatsDto> rows) {
+            boolean any = false;
+            synchronized (pending) {
+                for (CourseSeatsDto row : rows) {
+                    if (courseIds == null || courseIds.contains(row.getCourseId())) {
+                        pending.put(row.getCourseId(), row);
+                        any = true;
+                    }
+                }
+            }
+            if (any) schedule();
+        }
+
+        /** How long the write in progress has been blocked, 0 when not writing. */
+        long stalledFor(long now) {
+            long started = writeStarted;
+            return started == IDLE ? 0 : now - started;
+        }
+
+        void ping() {
+            pingDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) senders.execute(this::drain);
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<CourseSeatsDto> batch;
+                    synchronized (pending) {
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                    }
+                    if (!subscribers.contains(this)) {
+                        // dropped by dropStalled (or completed) while a write was blocked; draining stays set
+                        emitter.complete();
+                        return;
+                    }
+                    if (!batch.isEmpty()) {
+                        pingDue = false;
+                        send(SseEmitter.event().name(EVENT_NAME).data(batch, MediaType.APPLICATION_JSON));
+                    } else if (pingDue) {
+                        pingDue = false;
+                        send(SseEmitter.event().comment("keep-alive"));
+                    } else {
+                        draining.set(false);
+                        // an offer between the emptiness check and the reset would otherwise wait for the next one
+                        synchronized (pending) {
+                            if (pending.isEmpty() || !draining.compareAndSet(false, true)) return;
+                        }
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // client went away (or the emitter already completed)
+                remove(this);
+                emitter.completeWithError(ex);
+            }
+        }
+
+        private void send(SseEmitter.SseEventBuilder event) throws IOException {
+            writeStarted = System.nanoTime();
+            try {
+                emitter.send(event);
+            } finally {
+                writeStarted = IDLE;
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.student.StudentImportReport;
+
+import java.io.InputStream;
+
+public interface StudentImportService {
+    enum Format { CSV, NDJSON }
+
+    /** Streams the body, validating and writing students (and their users) chunk by chunk. */
+    StudentImportReport importStudents(InputStream body, Format format);
+}
@@ -0,0 +1,385 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.student.StudentCreateRequest;
+import com.example.lms_back_end.dto.student.StudentImportReport;
+import com.example.lms_back_end.dto.student.StudentImportRowResult;
+import com.example.lms_back_end.entity.AppUser;
+import com.example.lms_back_end.repository.AppUserRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import com.example.lms_back_end.security.CurrentUserCache;
+import com.example.lms_back_end.security.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk student import. The body is read line by line and handled in chunks: each chunk is
+ * validated, checked for clashes with one query (plus one for existing users), and written
+ * with JDBC batches in its own transaction. Earlier chunks are committed by then, so the
+ * clash query also catches rows repeating an earlier part of the file; nothing is kept per
+ * file beyond counts and the first {@code max-reported-errors} failed rows, so memory stays
+ * bounded by the chunk size.
+ */
+@Slf4j
+@Service
+public class StudentImportServiceImpl implements StudentImportService {
+
+    // Same dev default as StudentServiceImpl.create
+    private static final String INITIAL_PASSWORD = "ChangeMe123!";
+    private static final List<String> CSV_COLUMNS =
+            List.of("studentNo", "firstName", "lastName", "email", "phone", "address");
+
+    private final StudentRepository studentRepo;
+    private final AppUserRepository userRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final CurrentUserCache userCache;
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final TransactionTemplate tx;
+    private final Validator validator;
+    private final ObjectMapper json;
+
+    private final int chunkSize;
+    private final int hashPoolSize;
+    private final int maxReportedErrors;
+    private final ExecutorService hashers;
+
+    public StudentImportServiceImpl(StudentRepository studentRepo, AppUserRepository userRepo,
+                                    PasswordEncoder passwordEncoder, CurrentUserCache userCache,
+                                    JdbcTemplate jdbc, NamedParameterJdbcTemplate named,
+                                    TransactionTemplate tx, Validator validator, ObjectMapper json,
+                                    @Value("${app.students.import.chunk-size:1000}") int chunkSize,
+                                    @Value("${app.students.import.hash-pool-size:32}") int hashPoolSize,
+                                    @Value("${app.students.import.max-reported-errors:100}") int maxReportedErrors) {
+        this.studentRepo = studentRepo;
+        this.userRepo = userRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.userCache = userCache;
+        this.jdbc = jdbc;
+        this.named = named;
+        this.tx = tx;
+        this.validator = validator;
+        this.json = json;
+        this.chunkSize = chunkSize;
+        this.hashPoolSize = hashPoolSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.hashers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+            Thread t = new Thread(r, "student-import-hash");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** One parsed input row; {@code error} is set when the line could not be parsed. */
+    private record Row(int line, StudentCreateRequest req, String error) {}
+
+    /** Running totals of one import; only the first failed rows are kept. */
+    private final class Tally {
+        int total;
+        int created;
+        int failed;
+        final List<StudentImportRowResult> errors = new ArrayList<>();
+
+        void fail(StudentImportRowResult result) {
+            failed++;
+            if (errors.size() < maxReportedErrors) errors.add(result);
+        }
+    }
+
+    @Override
+    public StudentImportReport importStudents(InputStream body, Format format) {
+        long start = System.nanoTime();
+        var tally = new Tally();
+
+        // Everyone starts with the same placeholder password, so instead of one BCrypt per row
+        // (minutes for a large roster) a small set of independently salted hashes is computed
+        // in parallel up front and handed out round-robin.
+        List<String> hashes = initialPasswordHashes();
+
+        try (var reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            var chunk = new ArrayList<Row>(chunkSize);
+            var rows = format == Format.CSV ? csvRows(reader) : ndjsonRows(reader);
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == chunkSize) {
+                    processChunk(chunk, hashes, tally);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) processChunk(chunk, hashes, tally);
+        } catch (IOException | UncheckedIOException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Could not read import body");
+        }
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        log.info("Student import: {} rows, {} created, {} failed in {} ms",
+                tally.total, tally.created, tally.failed, elapsed);
+        return StudentImportReport.builder()
+                .total(tally.total)
+                .created(tally.created)
+                .failed(tally.failed)
+                .elapsedMillis(elapsed)
+                .errors(tally.errors)
+                .errorsOmitted(tally.failed - tally.errors.size())
+                .build();
+    }
+
+    private void processChunk(List<Row> chunk, List<String> hashes, Tally tally) {
+        tally.total += chunk.size();
+        // 1) validate + duplicates within the chunk (earlier chunks are caught by the clash query)
+        var candidates = new ArrayList<Row>();
+        var chunkNos = new HashSet<String>();
+        var chunkEmails = new HashSet<String>();
+        for (Row row : chunk) {
+            if (row.error() != null) {
+                tally.fail(failure(row, row.error()));
+                continue;
+            }
+            var req = row.req();
+            var violations = validator.validate(req);
+            if (!violations.isEmpty()) {
+                tally.fail(failure(row, violations.stream()
+                        .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                        .sorted().collect(Collectors.joining("; "))));
+                continue;
+            }
+            if (!chunkNos.add(key(req.getStudentNo()))) {
+                tally.fail(failure(row, "Duplicate student number in file"));
+                continue;
+            }
+            if (!chunkEmails.add(key(req.getEmail()))) {
+                tally.fail(failure(row, "Duplicate email in file"));
+                continue;
+            }
+            candidates.add(row);
+        }
+
+        // 2) one query for clashes with existing students
+        if (!candidates.isEmpty()) {
+            var existingNos = new HashSet<String>();
+            var existingEmails = new HashSet<String>();
+            for (var k : studentRepo.findClashingKeys(chunkNos, chunkEmails)) {
+                existingNos.add(k.getStudentNo());
+                existingEmails.add(k.getEmail());
+            }
+            candidates.removeIf(r -> {
+                if (existingNos.contains(key(r.req().getStudentNo()))) {
+                    tally.fail(failure(r, "Student number already exists"));
+                    return true;
+                }
+                if (existingEmails.contains(key(r.req().getEmail()))) {
+                    tally.fail(failure(r, "Email already exists"));
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        // 3) write the chunk (students, then new/linked users) in one transaction
+        if (!candidates.isEmpty()) {
+            try {
+                tx.executeWithoutResult(status -> writeChunk(candidates, hashes));
+                tally.created += candidates.size();
+            } catch (RuntimeException ex) {
+                log.warn("Student import chunk starting at line {} failed: {}", chunk.get(0).line(), ex.getMessage());
+                candidates.forEach(r -> tally.fail(failure(r, "Chunk write failed: " + rootMessage(ex))));
+            }
+        }
+    }
+
+    private static StudentImportRowResult failure(Row row, String message) {
+        return StudentImportRowResult.builder()
+                .line(row.line())
+                .studentNo(row.req() == null ? null : row.req().getStudentNo())
+                .email(row.req() == null ? null : row.req().getEmail())
+                .message(message)
+                .build();
+    }
+
+    private void writeChunk(List<Row> rows, List<String> hashes) {
+        jdbc.batchUpdate(
+                "insert into students (student_no, first_name, last_name, email, phone, address) values (?, ?, ?, ?, ?, ?)",
+                rows, rows.size(), (ps, r) -> {
+                    var q = r.req();
+                    ps.setString(1, q.getStudentNo());
+                    ps.setString(2, q.getFirstName());
+                    ps.setString(3, q.getLastName());
+                    ps.setString(4, q.getEmail());
+                    ps.setString(5, q.getPhone());
+                    ps.setString(6, q.getAddress());
+                });
+
+        Map<String, Long> ids = new HashMap<>();
+        named.query("select id, student_no from students where student_no in (:nos)",
+                Map.of("nos", rows.stream().map(r -> r.req().getStudentNo()).toList()),
+                rs -> { ids.put(rs.getString("student_no"), rs.getLong("id")); });
+
+        // users: link existing accounts (as StudentServiceImpl.create does), create the rest
+        var usernames = rows.stream().map(r -> key(r.req().getEmail())).toList();
+        Map<String, AppUser> existing = userRepo.findByLowerUsernameIn(usernames).stream()
+                .collect(Collectors.toMap(u -> key(u.getUsername()), u -> u, (a, b) -> a));
+
+        var links = new ArrayList<Object[]>();
+        var inserts = new ArrayList<Object[]>();
+        int i = 0;
+        for (Row r : rows) {
+            String username = key(r.req().getEmail());
+            Long studentId = ids.get(r.req().getStudentNo());
+            AppUser u = existing.get(username);
+            if (u != null) {
+                links.add(new Object[]{studentId, Role.STUDENT.name(), u.getId()});
+                userCache.evict(u.getUsername());
+            } else {
+                inserts.add(new Object[]{username, hashes.get(i++ % hashes.size()), Role.STUDENT.name(), studentId});
+            }
+        }
+        jdbc.batchUpdate("insert into users (username, password, role, student_id) values (?, ?, ?, ?)", inserts);
+        jdbc.batchUpdate("update users set student_id = ?, role = ? where id = ?", links);
+    }
+
+    private List<String> initialPasswordHashes() {
+        var futures = IntStream.range(0, Math.max(1, hashPoolSize))
+                .mapToObj(n -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(INITIAL_PASSWORD), hashers))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    // -------- parsing --------
+
+    private Iterator<Row> ndjsonRows(BufferedReader reader) {
+        return new LineIterator(reader) {
+            @Override Row parse(int line, String text) {
+                try {
+                    return new Row(line, json.readValue(text, StudentCreateRequest.class), null);
+                } catch (IOException ex) {
+                    return new Row(line, null, "Invalid JSON");
+                }
+            }
+        };
+    }
+
+    /** CSV with a header row naming (any order of) studentNo, firstName, lastName, email, phone, address. */
+    private Iterator<Row> csvRows(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) return Collections.emptyIterator();
+        List<String> names = splitCsv(header.replace("\uFEFF", ""));
+        int[] idx = CSV_COLUMNS.stream().mapToInt(c -> indexOfIgnoreCase(names, c)).toArray();
+        for (int k = 0; k < 4; k++) { // the first four columns are required
+            if (idx[k] < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "CSV header is missing column " + CSV_COLUMNS.get(k));
+            }
+        }
+        return new LineIterator(reader, 2) {
+            @Override Row parse(int line, String text) {
+                List<String> f = splitCsv(text);
+                return new Row(line, StudentCreateRequest.builder()
+                        .studentNo(field(f, idx[0])).firstName(field(f, idx[1])).lastName(field(f, idx[2]))
+                        .email(field(f, idx[3])).phone(field(f, idx[4])).address(field(f, idx[5]))
+                        .build(), null);
+            }
+        };
+    }
+
+    /** Lazily reads non-blank lines; never holds more than one line. */
+    private abstract static class LineIterator implements Iterator<Row> {
+        private final BufferedReader reader;
+        private int lineNo;
+        private String next;
+
+        LineIterator(BufferedReader reader) { this(reader, 1); }
+        LineIterator(BufferedReader reader, int firstLine) {
+            this.reader = reader;
+            this.lineNo = firstLine - 1;
+        }
+
+        abstract Row parse(int line, String text);
+
+        @Override public boolean hasNext() {
+            try {
+                while (next == null) {
+                    String l = reader.readLine();
+                    if (l == null) return false;
+                    lineNo++;
+                    if (!l.isBlank()) next = l;
+                }
+                return true;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override public Row next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            String l = next;
+            next = null;
+            return parse(lineNo, l);
+        }
+    }
+
+    /** Splits one CSV line; supports double-quoted fields with "" escapes (no embedded newlines). */
+    private static List<String> splitCsv(String line) {
+        var out = new ArrayList<String>();
+        var cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { cur.append('"'); i++; }
+                else if (c == '"') quoted = false;
+                else cur.append(c);
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                out.add(cur.toString());
+                cur.setLength(0);
+            } else {
+                cur.append(c);
+            }
+        }
+        out.add(cur.toString());
+        return out;
+    }
+
+    private static String field(List<String> fields, int idx) {
+        if (idx < 0 || idx >= fields.size()) return null;
+        String v = fields.get(idx).trim();
+        return v.isEmpty() ? null : v;
+    }
+
+    private static int indexOfIgnoreCase(List<String> names, String name) {
+        for (int i = 0; i < names.size(); i++) if (names.get(i).trim().equalsIgnoreCase(name)) return i;
+        return -1;
+    }
+
+    private static String key(String v) { return v.trim().toLowerCase(Locale.ROOT); }
+
+    private static String rootMessage(Throwable ex) {
+        while (ex.getCause() != null) ex = ex.getCause();
+        return ex.getMessage();
+    }
+
+    @PreDestroy
+    void shutdown() { hashers.shutdown(); }
+}
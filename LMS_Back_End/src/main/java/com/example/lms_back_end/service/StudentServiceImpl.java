@@ -8,6 +8,7 @@ import com.example.lms_back_end.entity.AppUser;
 import com.example.lms_back_end.entity.Student;
 import com.example.lms_back_end.repository.AppUserRepository;
 import com.example.lms_back_end.repository.StudentRepository;
+import com.example.lms_back_end.security.CurrentUserCache;
 import com.example.lms_back_end.security.Role;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -26,6 +27,7 @@ public class StudentServiceImpl implements StudentService {
     private final StudentRepository repo;
     private final AppUserRepository userRepo;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserCache userCache;
 
     @Override
     @Transactional(readOnly = true)
@@ -73,7 +75,10 @@ public class StudentServiceImpl implements StudentService {
                 existing.setRole(Role.STUDENT);
                 dirty = true;
             }
-            if (dirty) userRepo.save(existing);
+            if (dirty) {
+                userRepo.save(existing);
+                userCache.evict(existing.getUsername()); // role/link changed
+            }
         }, () -> {
             // Create new AppUser with a dev password (replace with reset flow for prod)
             String initialPassword = "ChangeMe123!"; // TODO: replace with your policy / reset flow
@@ -0,0 +1,197 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.cache.TtlCache;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-student weekly timetable as one 64-bit word per day (bit i = the i-th slot of
+ * {@code slot-minutes}), so a clash check is an AND instead of loading every enrolled course.
+ * Slots only rule clashes out; on a hit the lectures are compared minute by minute. Courses only
+ * store a start time, so each lecture is taken to last {@code lecture-minutes}.
+ * Built lazily from one projection query and evicted after commit on enroll, drop and reschedule.
+ */
+@Component
+public class TimetableIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int STRIPES = 256;
+
+    public record Lecture(Long courseId, String code, String title, String lectureHall,
+                          DayOfWeek day, LocalTime start) {
+        /** null when the course has no scheduled lecture (such courses never clash). */
+        public static Lecture of(Course c) {
+            if (c.getLectureDay() == null || c.getLectureTime() == null) return null;
+            return new Lecture(c.getId(), c.getCode(), c.getTitle(), c.getLectureHall(),
+                    c.getLectureDay(), c.getLectureTime());
+        }
+    }
+
+    /** Occupied slots (index = DayOfWeek ordinal) plus the lectures that set them. */
+    public record Week(long[] days, List<Lecture> lectures) {}
+
+    private final EnrollmentRepository enrollments;
+    private final TtlCache<Long, Week> weeks;
+    // bumped on every eviction, so a load that raced one does not stay cached (index = student id stripe)
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final int slotMinutes;
+    private final int lectureMinutes;
+
+    public TimetableIndex(EnrollmentRepository enrollments,
+                          @Value("${app.timetable.slot-minutes:30}") int slotMinutes,
+                          @Value("${app.timetable.lecture-minutes:60}") int lectureMinutes,
+                          @Value("${app.timetable.cache.max-size:20000}") int maxSize,
+                          @Value("${app.timetable.cache.ttl:PT30M}") Duration ttl) {
+        if (slotMinutes <= 0 || (MINUTES_PER_DAY + slotMinutes - 1) / slotMinutes > Long.SIZE) {
+            throw new IllegalArgumentException("app.timetable.slot-minutes must give at most 64 slots per day");
+        }
+        this.enrollments = enrollments;
+        this.slotMinutes = slotMinutes;
+        this.lectureMinutes = lectureMinutes;
+        this.weeks = new TtlCache<>(maxSize, ttl);
+    }
+
+    public int lectureMinutes() { return lectureMinutes; }
+
+    /**
+     * The student's week, loaded on a miss. A load that overlaps an eviction of the same stripe is
+     * returned but not kept: the generation is read before the query and checked again after the put.
+     */
+    public Week week(Long studentId) {
+        Week cached = weeks.get(studentId);
+        if (cached != null) return cached;
+        int stripe = stripe(studentId);
+        long generation = generations.get(stripe);
+        Week loaded = build(enrollments.findLecturesByStudentId(studentId));
+        keep(studentId, loaded, stripe, generation);
+        return loaded;
+    }
+
+    /** Weeks of many students; the misses are loaded with one query per IN-list chunk. */
+    public Map<Long, Week> weeks(Collection<Long> studentIds) {
+        var result = new HashMap<Long, Week>(studentIds.size() * 2);
+        var missing = new ArrayList<Long>();
+        for (Long id : studentIds) {
+            Week cached = weeks.get(id);
+            if (cached != null) result.put(id, cached);
+            else missing.add(id);
+        }
+        for (List<Long> chunk : Chunks.of(missing, Chunks.IN_LIST)) {
+            var generation = new long[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) generation[i] = generations.get(stripe(chunk.get(i)));
+            var rows = new HashMap<Long, List<EnrollmentRepository.ScheduledLecture>>();
+            for (var row : enrollments.findLecturesByStudentIds(chunk)) {
+                rows.computeIfAbsent(row.getStudentId(), k -> new ArrayList<>()).add(row);
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                Long id = chunk.get(i);
+                Week loaded = build(rows.getOrDefault(id, List.of()));
+                keep(id, loaded, stripe(id), generation[i]);
+                result.put(id, loaded);
+            }
+        }
+        return result;
+    }
+
+    /** The already-taken lecture that overlaps {@code candidate}, if any; lectures that only meet at an end do not. */
+    public Optional<Lecture> clash(Week week, Lecture candidate) {
+        if (candidate == null) return Optional.empty();
+        if ((week.days()[candidate.day().ordinal()] & mask(candidate.start())) == 0) return Optional.empty();
+        int from = minuteOfDay(candidate.start());
+        int to = end(from);
+        return week.lectures().stream()
+                .filter(l -> l.day() == candidate.day() && !l.courseId().equals(candidate.courseId()))
+                .filter(l -> {
+                    int start = minuteOfDay(l.start());
+                    return start < to && from < end(start);
+                })
+                .findFirst();
+    }
+
+    public Optional<Lecture> clash(Long studentId, Course course) {
+        return clash(week(studentId), Lecture.of(course));
+    }
+
+    /** Refusal message shared by enroll, checkout and the waitlist. */
+    static String clashMessage(Lecture taken) {
+        return "Schedule clash with " + taken.code() + " (" + taken.day() + " " + taken.start() + ")";
+    }
+
+    /** A copy of {@code week} with one more lecture (for checking a cart against itself). */
+    public Week plus(Week week, Lecture lecture) {
+        if (lecture == null) return week;
+        long[] days = week.days().clone();
+        days[lecture.day().ordinal()] |= mask(lecture.start());
+        var lectures = new ArrayList<>(week.lectures());
+        lectures.add(lecture);
+        return new Week(days, lectures);
+    }
+
+    void evict(Long studentId) {
+        AfterCommit.run(() -> {
+            generations.incrementAndGet(stripe(studentId));
+            weeks.invalidate(studentId);
+        });
+    }
+
+    /** After a course is rescheduled: its students are not known here and reschedules are rare. */
+    void evictAll() {
+        AfterCommit.run(() -> {
+            for (int i = 0; i < STRIPES; i++) generations.incrementAndGet(i);
+            weeks.invalidateAll();
+        });
+    }
+
+    /** Bits of the slots covered by a lecture starting at {@code start}, clipped at midnight. */
+    long mask(LocalTime start) {
+        int from = minuteOfDay(start);
+        int first = from / slotMinutes;
+        int last = (end(from) + slotMinutes - 1) / slotMinutes; // exclusive
+        if (last <= first) return 0;
+        long width = last - first;
+        return (width >= Long.SIZE ? -1L : (1L << width) - 1) << first;
+    }
+
+    private static int minuteOfDay(LocalTime t) {
+        return t.getHour() * 60 + t.getMinute();
+    }
+
+    /** Exclusive end minute of a lecture starting at {@code from}, clipped at midnight. */
+    private int end(int from) {
+        return Math.min(MINUTES_PER_DAY, from + lectureMinutes);
+    }
+
+    private static int stripe(Long studentId) {
+        return Long.hashCode(studentId) & (STRIPES - 1);
+    }
+
+    private void keep(Long studentId, Week loaded, int stripe, long generation) {
+        weeks.put(studentId, loaded);
+        if (generations.get(stripe) != generation) weeks.invalidate(studentId);
+    }
+
+    private Week build(List<? extends EnrollmentRepository.ScheduledLecture> rows) {
+        long[] days = new long[DayOfWeek.values().length];
+        var lectures = new ArrayList<Lecture>();
+        for (var row : rows) {
+            var l = new Lecture(row.getCourseId(), row.getCode(), row.getTitle(), row.getLectureHall(),
+                    row.getLectureDay(), row.getLectureTime());
+            days[l.day().ordinal()] |= mask(l.start());
+            lectures.add(l);
+        }
+        return new Week(days, lectures);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.cache.TtlCache;
+import com.example.lms_back_end.repository.WaitlistEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * In-memory queue order of recently viewed (hot) courses, so a position is a binary search rather
+ * than a COUNT per entry. Loaded from the table on first use, kept current after each commit,
+ * and expired by TTL so another instance's writes are picked up.
+ */
+@Component
+public class WaitlistQueues {
+
+    /** Entry ids in ascending (FIFO) order. */
+    private static final class Queue {
+        private long[] ids;
+        private int size;
+
+        Queue(long[] ids) {
+            this.ids = ids;
+            this.size = ids.length;
+        }
+
+        synchronized int position(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            return i < 0 ? -1 : i + 1;
+        }
+
+        synchronized void add(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i >= 0) return;
+            i = -i - 1;
+            if (size == ids.length) ids = Arrays.copyOf(ids, Math.max(8, size * 2));
+            System.arraycopy(ids, i, ids, i + 1, size - i);
+            ids[i] = id;
+            size++;
+        }
+
+        synchronized void remove(long id) {
+            int i = Arrays.binarySearch(ids, 0, size, id);
+            if (i < 0) return;
+            System.arraycopy(ids, i + 1, ids, i, size - i - 1);
+            size--;
+        }
+
+        synchronized int size() { return size; }
+    }
+
+    private final WaitlistEntryRepository repo;
+    private final TtlCache<Long, Queue> queues;
+
+    public WaitlistQueues(WaitlistEntryRepository repo,
+                          @Value("${app.waitlist.queue-cache.max-size:2000}") int maxSize,
+                          @Value("${app.waitlist.queue-cache.ttl:PT1M}") Duration ttl) {
+        this.repo = repo;
+        this.queues = new TtlCache<>(maxSize, ttl);
+    }
+
+    /** 1-based position of the entry, falling back to a COUNT if the view has not seen it yet. */
+    public int position(Long courseId, Long entryId) {
+        int p = queue(courseId).position(entryId);
+        return p > 0 ? p : (int) repo.countByCourse_IdAndIdLessThan(courseId, entryId) + 1;
+    }
+
+    public int size(Long courseId) { return queue(courseId).size(); }
+
+    void added(Long courseId, Long entryId) {
+        AfterCommit.run(() -> {
+            Queue q = queues.get(courseId);
+            if (q != null) q.add(entryId);
+        });
+    }
+
+    void removed(Long courseId, Long entryId) {
+        AfterCommit.run(() -> {
+            Queue q = queues.get(courseId);
+            if (q != null) q.remove(entryId);
+        });
+    }
+
+    /** Drops the views of courses whose queues were changed in bulk (SQL), so they reload on next use. */
+    void reload(Collection<Long> courseIds) {
+        courseIds.forEach(queues::invalidate);
+    }
+
+    private Queue queue(Long courseId) {
+        return queues.get(courseId,
+                id -> new Queue(repo.findIdsByCourseId(id).stream().mapToLong(Long::longValue).toArray()));
+    }
+}
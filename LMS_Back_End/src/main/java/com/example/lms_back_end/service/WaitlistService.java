@@ -0,0 +1,23 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.WaitlistEntryDto;
+import com.example.lms_back_end.dto.enrollment.WaitlistRequest;
+
+import java.util.List;
+
+public interface WaitlistService {
+    WaitlistEntryDto join(WaitlistRequest req);
+    void leave(Long studentId, Long courseId);
+    List<WaitlistEntryDto> listByStudent(Long studentId);
+    List<WaitlistEntryDto> listByCourse(Long courseId);
+
+    /**
+     * Enrolls students from the head of the course's queue while seats can be claimed. Runs inside
+     * the caller's transaction, which must already hold the course row lock (a releaseSeat or a
+     * course update), so promotions for one course are serialized. Returns the number promoted.
+     */
+    int promote(Long courseId);
+
+    /** Drops the student's entry once they hold a seat by other means (direct or bulk enroll). */
+    void removeIfQueued(Long studentId, Long courseId);
+}
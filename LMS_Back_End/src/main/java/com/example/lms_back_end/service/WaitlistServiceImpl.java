@@ -0,0 +1,159 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.WaitlistEntryDto;
+import com.example.lms_back_end.dto.enrollment.WaitlistRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.entity.Enrollment;
+import com.example.lms_back_end.entity.Student;
+import com.example.lms_back_end.entity.WaitlistEntry;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import com.example.lms_back_end.repository.WaitlistEntryRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class WaitlistServiceImpl implements WaitlistService {
+
+    private final WaitlistEntryRepository repo;
+    private final EnrollmentRepository enrollmentRepo;
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final WaitlistQueues queues;
+    private final TimetableIndex timetables;
+
+    @Override
+    public WaitlistEntryDto join(WaitlistRequest req) {
+        Student student = studentRepo.findById(req.getStudentId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found"));
+        Course course = courseRepo.findById(req.getCourseId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found"));
+
+        if (!course.isEnrollmentOpen()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Enrollment is closed for this course");
+        }
+        if (enrollmentRepo.existsByStudent_IdAndCourse_IdAndActive(student.getId(), course.getId(), true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Already enrolled");
+        }
+        if (repo.existsByStudent_IdAndCourse_Id(student.getId(), course.getId())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Already on the waitlist");
+        }
+        timetables.clash(student.getId(), course).ifPresent(taken -> {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, TimetableIndex.clashMessage(taken));
+        });
+        if (!isFull(course)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Course has open seats; enroll directly");
+        }
+
+        WaitlistEntry saved = repo.save(WaitlistEntry.builder()
+                .student(student)
+                .course(course)
+                .joinedAt(Instant.now())
+                .build());
+        queues.added(course.getId(), saved.getId());
+
+        return WaitlistEntryDto.builder()
+                .id(saved.getId())
+                .studentId(student.getId())
+                .courseId(course.getId())
+                .courseCode(course.getCode())
+                .courseTitle(course.getTitle())
+                .position((int) repo.countByCourse_IdAndIdLessThan(course.getId(), saved.getId()) + 1)
+                .joinedAt(saved.getJoinedAt())
+                .build();
+    }
+
+    @Override
+    public void leave(Long studentId, Long courseId) {
+        WaitlistEntry e = repo.findByStudent_IdAndCourse_Id(studentId, courseId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Waitlist entry not found"));
+        repo.delete(e);
+        queues.removed(courseId, e.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> listByStudent(Long studentId) {
+        if (!studentRepo.existsById(studentId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Student not found");
+        }
+        return repo.findRowsByStudentId(studentId).stream()
+                .map(r -> toDto(r, queues.position(r.getCourseId(), r.getId())))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> listByCourse(Long courseId) {
+        if (!courseRepo.existsById(courseId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Course not found");
+        }
+        var rows = repo.findRowsByCourseId(courseId);
+        return IntStream.range(0, rows.size())
+                .mapToObj(i -> toDto(rows.get(i), i + 1))
+                .toList();
+    }
+
+    @Override
+    public int promote(Long courseId) {
+        int promoted = 0;
+        while (true) {
+            WaitlistEntry head = repo.findFirstByCourse_IdOrderByIdAsc(courseId).orElse(null);
+            if (head == null) return promoted;
+
+            Long studentId = head.getStudent().getId();
+            // heads that are already enrolled, or have since taken a clashing course, just leave the queue
+            if (!enrollmentRepo.existsByStudent_IdAndCourse_IdAndActive(studentId, courseId, true)
+                    && timetables.clash(studentId, head.getCourse()).isEmpty()) {
+                // same check-and-take as a direct enroll; stop at the first seat we cannot get
+                if (courseRepo.claimSeat(courseId) == 0) return promoted;
+                enrollmentRepo.save(Enrollment.builder()
+                        .student(head.getStudent())
+                        .course(head.getCourse())
+                        .active(true)
+                        .build());
+                timetables.evict(studentId);
+                promoted++;
+            }
+            repo.delete(head);
+            repo.flush();
+            queues.removed(courseId, head.getId());
+        }
+    }
+
+    @Override
+    public void removeIfQueued(Long studentId, Long courseId) {
+        repo.findByStudent_IdAndCourse_Id(studentId, courseId).ifPresent(e -> {
+            repo.delete(e);
+            queues.removed(courseId, e.getId());
+        });
+    }
+
+    /** Same rule as CourseRepository.claimSeat: no capacity (null or <= 0) means unlimited. */
+    private static boolean isFull(Course c) {
+        Integer cap = c.getCapacity();
+        return cap != null && cap > 0 && c.getEnrolledCount() >= cap;
+    }
+
+    private static WaitlistEntryDto toDto(WaitlistEntryRepository.EntryRow r, int position) {
+        return WaitlistEntryDto.builder()
+                .id(r.getId())
+                .studentId(r.getStudentId())
+                .courseId(r.getCourseId())
+                .courseCode(r.getCourseCode())
+                .courseTitle(r.getCourseTitle())
+                .position(position)
+                .joinedAt(r.getJoinedAt())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.lms_back_end.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    @Test
+    void overflowEvictsDownToNinetyPercentInOneSweep() {
+        var cache = new TtlCache<Integer, Integer>(100, Duration.ofMinutes(1));
+        for (int i = 0; i < 100; i++) cache.put(i, i);
+        assertEquals(0, cache.evictions());
+
+        cache.put(100, 100);
+        assertEquals(90, cache.size());
+        assertEquals(11, cache.evictions());
+
+        // the next inserts fit without another sweep
+        for (int i = 101; i < 111; i++) cache.put(i, i);
+        assertEquals(100, cache.size());
+        assertEquals(11, cache.evictions());
+    }
+
+    @Test
+    void computeIfAbsentHandsEveryCallerTheSameInstance() throws Exception {
+        var cache = new TtlCache<String, Object>(10, Duration.ofMinutes(1));
+        var pool = Executors.newFixedThreadPool(16);
+        var go = new CountDownLatch(1);
+        Set<Object> seen = ConcurrentHashMap.newKeySet();
+        var futures = new ArrayList<Future<?>>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(pool.submit(() -> {
+                go.await();
+                seen.add(cache.computeIfAbsent("k", k -> new Object()));
+                return null;
+            }));
+        }
+        go.countDown();
+        for (var f : futures) f.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(1, seen.size());
+    }
+}
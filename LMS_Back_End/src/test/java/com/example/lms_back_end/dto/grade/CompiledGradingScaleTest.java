@@ -0,0 +1,71 @@
+package com.example.lms_back_end.dto.grade;
+
+import com.example.lms_back_end.entity.GradingBand;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledGradingScaleTest {
+
+    @Test
+    void defaultTableMatchesTheOriginalLadderForEveryScore() {
+        for (int s = 0; s <= 100; s++) {
+            assertEquals(ladderPoints(s), CompiledGradingScale.DEFAULT.points(s), "points at " + s);
+            assertEquals(ladderLetter(s), CompiledGradingScale.DEFAULT.letter(s), "letter at " + s);
+        }
+        assertEquals(List.of("A", "A-", "B+", "B", "B-", "C+", "C", "C-", "D", "F"),
+                CompiledGradingScale.DEFAULT.letterOrder());
+    }
+
+    @Test
+    void customBandsCoverTheirRangesInAnyInputOrder() {
+        var scale = CompiledGradingScale.compile(7L, 40, List.of(
+                new GradingBand(0, "FAIL", 0.0), new GradingBand(70, "DIST", 4.0), new GradingBand(40, "PASS", 2.0)));
+        assertEquals("FAIL", scale.letter(39));
+        assertEquals("PASS", scale.letter(40));
+        assertEquals(2.0, scale.points(69));
+        assertEquals("DIST", scale.letter(100));
+        assertTrue(scale.passed(40));
+        assertFalse(scale.passed(39));
+        assertEquals(List.of("DIST", "PASS", "FAIL"), scale.letterOrder());
+    }
+
+    @Test
+    void rejectsScalesThatLeaveScoresUnmapped() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledGradingScale.compile(null, 50,
+                List.of(new GradingBand(50, "P", 1.0))));
+        assertThrows(IllegalArgumentException.class, () -> CompiledGradingScale.compile(null, 50,
+                List.of(new GradingBand(0, "F", 0.0), new GradingBand(0, "G", 0.0))));
+        assertThrows(IllegalArgumentException.class, () -> CompiledGradingScale.compile(null, 50,
+                List.of(new GradingBand(0, "F", 0.0), new GradingBand(101, "X", 5.0))));
+    }
+
+    // The if-ladder GradeMapper used before scales were table-driven
+    private static double ladderPoints(int s) {
+        if (s >= 90) return 4.0;
+        if (s >= 85) return 3.7;
+        if (s >= 80) return 3.3;
+        if (s >= 75) return 3.0;
+        if (s >= 70) return 2.7;
+        if (s >= 65) return 2.3;
+        if (s >= 60) return 2.0;
+        if (s >= 55) return 1.7;
+        if (s >= 50) return 1.0;
+        return 0.0;
+    }
+
+    private static String ladderLetter(int s) {
+        if (s >= 90) return "A";
+        if (s >= 85) return "A-";
+        if (s >= 80) return "B+";
+        if (s >= 75) return "B";
+        if (s >= 70) return "B-";
+        if (s >= 65) return "C+";
+        if (s >= 60) return "C";
+        if (s >= 55) return "C-";
+        if (s >= 50) return "D";
+        return "F";
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.lms_back_end.dto.grade;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Letter + points lookup per score: the compiled 0..100 table against the if-ladder GradeMapper
+ * used before scales were table-driven. Scores are random so the ladder's branches are not all
+ * predicted. Run with {@code mvn -Pbench test-compile exec:exec -Dbench=GradingScaleLookupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GradingScaleLookupBenchmark {
+
+    private static final int SCORES = 4096;
+
+    private final int[] scores = new int[SCORES];
+    private final CompiledGradingScale scale = CompiledGradingScale.DEFAULT;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SCORES; i++) scores[i] = random.nextInt(101);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void compiledTable(Blackhole bh) {
+        for (int s : scores) {
+            bh.consume(scale.letter(s));
+            bh.consume(scale.points(s));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SCORES)
+    public void ifLadder(Blackhole bh) {
+        for (int s : scores) {
+            bh.consume(ladderLetter(s));
+            bh.consume(ladderPoints(s));
+        }
+    }
+
+    // Same ladder as CompiledGradingScaleTest checks the default table against
+    private static double ladderPoints(int s) {
+        if (s >= 90) return 4.0;
+        if (s >= 85) return 3.7;
+        if (s >= 80) return 3.3;
+        if (s >= 75) return 3.0;
+        if (s >= 70) return 2.7;
+        if (s >= 65) return 2.3;
+        if (s >= 60) return 2.0;
+        if (s >= 55) return 1.7;
+        if (s >= 50) return 1.0;
+        return 0.0;
+    }
+
+    private static String ladderLetter(int s) {
+        if (s >= 90) return "A";
+        if (s >= 85) return "A-";
+        if (s >= 80) return "B+";
+        if (s >= 75) return "B";
+        if (s >= 70) return "B-";
+        if (s >= 65) return "C+";
+        if (s >= 60) return "C";
+        if (s >= 55) return "C-";
+        if (s >= 50) return "D";
+        return "F";
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.lms_back_end.security;
+
+import com.example.lms_back_end.dto.security.AuthRequest;
+import com.example.lms_back_end.dto.security.AuthResponse;
+import com.example.lms_back_end.dto.security.RefreshRequest;
+import com.example.lms_back_end.repository.AppUserRepository;
+import com.example.lms_back_end.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthControllerTest {
+
+    private final AuthenticationManager authManager = mock(AuthenticationManager.class);
+    private final JwtService jwt = new JwtService();
+    private final CurrentUserDetailsService userDetails = mock(CurrentUserDetailsService.class);
+    private final TokenRevocationService revocations = new TokenRevocationService(mock(RevokedTokenRepository.class));
+    // two logins per client IP, none refilled during the test
+    private final LoginAdmissionControl admission = new LoginAdmissionControl(1, 16, 2, 100, 0.001, 2, 0.001, 1000);
+    private final AuthController controller = new AuthController(authManager, jwt, mock(AppUserRepository.class),
+            admission, userDetails, revocations);
+
+    @AfterEach
+    void stop() { admission.shutdown(); }
+
+    @Test
+    void shedLoginsGet429WithRetryAfter() throws Exception {
+        when(authManager.authenticate(any())).thenThrow(new BadCredentialsException("bad"));
+        var http = new MockHttpServletRequest();
+        http.setRemoteAddr("203.0.113.5");
+
+        assertEquals(401, controller.login(login("a@example.com"), http).get().getStatusCode().value());
+        assertEquals(401, controller.login(login("b@example.com"), http).get().getStatusCode().value());
+        var shed = controller.login(login("c@example.com"), http).get();
+
+        assertEquals(429, shed.getStatusCode().value());
+        assertTrue(Long.parseLong(shed.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)) > 0);
+        verify(authManager, times(2)).authenticate(any());
+
+        // another client is not affected by that address's bucket
+        var other = new MockHttpServletRequest();
+        other.setRemoteAddr("203.0.113.6");
+        assertEquals(401, controller.login(login("c@example.com"), other).get().getStatusCode().value());
+    }
+
+    @Test
+    void refreshRotatesThePairAndTheOldRefreshTokenStopsWorking() {
+        when(userDetails.loadUserByUsername("s1@example.com")).thenReturn(student());
+        String refresh = jwt.generateRefreshToken("s1@example.com", 7L);
+
+        var first = controller.refresh(refresh(refresh));
+        assertEquals(200, first.getStatusCode().value());
+        AuthResponse pair = first.getBody();
+        assertEquals(42L, jwt.verify(pair.getToken()).get("sid", Long.class));
+        assertNotEquals(refresh, pair.getRefreshToken());
+
+        assertEquals(401, controller.refresh(refresh(refresh)).getStatusCode().value());
+        assertEquals(200, controller.refresh(refresh(pair.getRefreshToken())).getStatusCode().value());
+    }
+
+    @Test
+    void concurrentReplaysOfOneRefreshTokenGetOnePair() throws Exception {
+        when(userDetails.loadUserByUsername("s1@example.com")).thenReturn(student());
+        String refresh = jwt.generateRefreshToken("s1@example.com", 7L);
+
+        var pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<ResponseEntity<AuthResponse>>> calls = Collections.nCopies(32,
+                    () -> controller.refresh(refresh(refresh)));
+            long ok = 0;
+            for (var f : pool.invokeAll(calls)) {
+                if (f.get().getStatusCode().value() == 200) ok++;
+            }
+            assertEquals(1, ok);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void accessTokensAreRejectedByRefreshAndLogoutRevokesBothTokens() {
+        String access = jwt.generateToken("s1@example.com", Role.STUDENT, 7L, 42L, null);
+        String refresh = jwt.generateRefreshToken("s1@example.com", 7L);
+        assertEquals(401, controller.refresh(refresh(access)).getStatusCode().value());
+
+        assertEquals(204, controller.logout("Bearer " + access, refresh(refresh)).getStatusCode().value());
+
+        assertTrue(revocations.isRevoked(jwt.parse(access).getPayload().getId()));
+        assertTrue(revocations.isRevoked(jwt.parse(refresh).getPayload().getId()));
+        assertEquals(401, controller.refresh(refresh(refresh)).getStatusCode().value());
+        verifyNoInteractions(userDetails);
+    }
+
+    private static CurrentUser student() {
+        return CurrentUser.builder().id(7L).username("s1@example.com").role(Role.STUDENT).studentId(42L).build();
+    }
+
+    private static RefreshRequest refresh(String token) {
+        return RefreshRequest.builder().refreshToken(token).build();
+    }
+
+    private static AuthRequest login(String username) {
+        return AuthRequest.builder().username(username).password("secret").build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.lms_back_end.security;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.catalina.connector.Request;
+import org.apache.catalina.connector.Response;
+import org.apache.catalina.valves.RemoteIpValve;
+import org.apache.catalina.valves.ValveBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.web.embedded.TomcatWebServerFactoryCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.support.ResourcePropertySource;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** The RemoteIpValve Boot builds from application.properties, fed the way the login limit sees it. */
+class ForwardedClientAddressTest {
+
+    private static final String PROXY = "10.12.0.3";
+
+    private LoginAdmissionControl admission;
+
+    @AfterEach
+    void stop() { if (admission != null) admission.shutdown(); }
+
+    private static RemoteIpValve configuredValve() throws Exception {
+        var env = new StandardEnvironment();
+        env.getPropertySources().addFirst(new ResourcePropertySource("classpath:application.properties"));
+        var server = Binder.get(env).bind("server", ServerProperties.class).get();
+        var factory = new TomcatServletWebServerFactory();
+        new TomcatWebServerFactoryCustomizer(env, server).customize(factory);
+        return factory.getEngineValves().stream()
+                .filter(RemoteIpValve.class::isInstance).map(RemoteIpValve.class::cast)
+                .findFirst().orElseThrow(() -> new AssertionError("no RemoteIpValve configured"));
+    }
+
+    /** The address the app sees for a request from {@code peer} carrying {@code forwardedFor}. */
+    private static String remoteAddr(RemoteIpValve valve, String peer, String forwardedFor) throws Exception {
+        var request = new Request(new Connector());
+        request.setCoyoteRequest(new org.apache.coyote.Request());
+        request.setRemoteAddr(peer);
+        request.getCoyoteRequest().getMimeHeaders().addValue("X-Forwarded-For").setString(forwardedFor);
+        var seen = new AtomicReference<String>();
+        valve.setNext(new ValveBase() {
+            @Override
+            public void invoke(Request r, Response response) {
+                seen.set(r.getRemoteAddr());
+            }
+        });
+        valve.invoke(request, new Response());
+        return seen.get();
+    }
+
+    @Test
+    void spoofedForwardedForEntriesDoNotYieldANewIpBucket() throws Exception {
+        var valve = configuredValve();
+        // the proxy appends the real peer; everything left of it came from the client
+        assertEquals("203.0.113.7", remoteAddr(valve, PROXY, "203.0.113.7"));
+        assertEquals("203.0.113.7", remoteAddr(valve, PROXY, "198.51.100.1, 203.0.113.7"));
+        assertEquals("198.51.100.99", remoteAddr(valve, "198.51.100.99", "1.2.3.4"), "untrusted peers cannot forward");
+
+        // one login per IP burst: every spoofed variant lands in the same, already spent bucket
+        admission = new LoginAdmissionControl(1, 16, 2, 100, 0.001, 1, 0.001, 1000);
+        admission.submit("u0", remoteAddr(valve, PROXY, "203.0.113.7"), () -> "ok").get();
+        for (int i = 1; i <= 20; i++) {
+            String ip = remoteAddr(valve, PROXY, "192.0.2." + i + ", 203.0.113.7");
+            String user = "u" + i;
+            assertThrows(LoginAdmissionControl.RejectedLoginException.class,
+                    () -> admission.submit(user, ip, () -> "ok"));
+        }
+    }
+}
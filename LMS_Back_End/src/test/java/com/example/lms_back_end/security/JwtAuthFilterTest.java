@@ -0,0 +1,43 @@
+package com.example.lms_back_end.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwtAuthFilterTest {
+
+    private final JwtService jwt = new JwtService();
+    private final UserDetailsService uds = mock(UserDetailsService.class);
+    private final TokenRevocationService revocations = mock(TokenRevocationService.class);
+    private final JwtAuthFilter filter = new JwtAuthFilter(jwt, uds, revocations);
+
+    @AfterEach
+    void clear() { SecurityContextHolder.clearContext(); }
+
+    @Test
+    void principalComesFromClaimsWithoutUserLookup() throws Exception {
+        String token = jwt.generateToken("s1@example.com", Role.STUDENT, 7L, 42L, null);
+
+        int requests = 1_000;
+        for (int i = 0; i < requests; i++) {
+            var req = new MockHttpServletRequest();
+            req.addHeader("Authorization", "Bearer " + token);
+            filter.doFilter(req, new MockHttpServletResponse(), new MockFilterChain());
+        }
+
+        // previously one users-table query per request; now none
+        verifyNoInteractions(uds);
+        var principal = (CurrentUser) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals(42L, principal.getStudentId());
+        assertNull(principal.getInstructorId());
+        assertEquals(Role.STUDENT, principal.getRole());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.lms_back_end.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request: full signature verification ({@code parse}, every
+ * request before the claims cache) against a cache hit ({@code verify} on a token already seen).
+ * Run with {@code mvn -Pbench test-compile exec:exec -Dbench=JwtVerifyBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerifyBenchmark {
+
+    private JwtService jwt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwt = new JwtService();
+        token = jwt.generateToken("s1@example.com", Role.STUDENT, 7L, 42L, null);
+        jwt.verify(token);
+    }
+
+    @Benchmark
+    public Claims coldParse() {
+        return jwt.parse(token).getPayload();
+    }
+
+    @Benchmark
+    public Claims cachedVerify() {
+        return jwt.verify(token);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.lms_back_end.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginAdmissionControlTest {
+
+    private LoginAdmissionControl admission;
+
+    @AfterEach
+    void stop() { admission.shutdown(); }
+
+    @Test
+    void ipRejectionLeavesTheUsernameBucketUntouched() throws Exception {
+        // one login per IP burst, five per username; the refill rates are too slow to matter here
+        admission = new LoginAdmissionControl(1, 16, 2, 5, 0.001, 1, 0.001, 1000);
+        admission.submit("alice", "10.0.0.1", () -> "ok").get();
+
+        for (int i = 0; i < 20; i++) {
+            var ex = assertThrows(LoginAdmissionControl.RejectedLoginException.class,
+                    () -> admission.submit("Alice", "10.0.0.1", () -> "ok"));
+            assertTrue(ex.getRetryAfterSeconds() > 0);
+        }
+        // alice spent one of her five on the admitted login; the shed ones cost her nothing
+        for (int i = 0; i < 4; i++) {
+            assertEquals("ok", admission.submit("alice", "10.0.0." + (i + 2), () -> "ok").get());
+        }
+        assertThrows(LoginAdmissionControl.RejectedLoginException.class,
+                () -> admission.submit("alice", "10.0.0.9", () -> "ok"));
+        assertEquals(21L, admission.stats().get("rejectedRateLimited"));
+    }
+
+    @Test
+    void fullQueueShedsWithTheConfiguredRetryAfter() throws Exception {
+        admission = new LoginAdmissionControl(1, 1, 7, 100, 100, 100, 100, 1000);
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var first = admission.submit("a", "ip", () -> {
+            running.countDown();
+            try { release.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            return "a";
+        });
+        running.await();
+        var queued = admission.submit("b", "ip", () -> "b");
+
+        var ex = assertThrows(LoginAdmissionControl.RejectedLoginException.class,
+                () -> admission.submit("c", "ip", () -> "c"));
+        assertEquals(7, ex.getRetryAfterSeconds());
+        assertEquals(1L, admission.stats().get("rejectedQueueFull"));
+
+        release.countDown();
+        assertEquals("a", first.get());
+        assertEquals("b", queued.get());
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.lms_back_end.security;
+
+import com.example.lms_back_end.controller.ExportController;
+import com.example.lms_back_end.controller.GradingScaleController;
+import com.example.lms_back_end.controller.WaitlistController;
+import com.example.lms_back_end.service.GradebookExportService;
+import com.example.lms_back_end.service.GradingScaleService;
+import com.example.lms_back_end.service.WaitlistService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** URL rules of SecurityConfig: every controller prefix must be reachable, not swallowed by denyAll. */
+@WebMvcTest(controllers = {GradingScaleController.class, ExportController.class, WaitlistController.class})
+@Import({SecurityConfig.class, JwtService.class})
+class SecurityRulesTest {
+
+    @Autowired MockMvc mvc;
+    @Autowired JwtService jwt;
+
+    @MockitoBean CurrentUserDetailsService uds;
+    @MockitoBean TokenRevocationService revocations;
+    @MockitoBean GradingScaleService scales;
+    @MockitoBean GradebookExportService exports;
+    @MockitoBean WaitlistService waitlists;
+
+    private String bearer(Role role, Long studentId, Long instructorId) {
+        return "Bearer " + jwt.generateToken("user@example.com", role, 1L, studentId, instructorId);
+    }
+
+    @Test
+    void gradingScalesAreReadableByAnyAuthenticatedUser() throws Exception {
+        mvc.perform(get("/api/grading-scales").header("Authorization", bearer(Role.STUDENT, 7L, null)))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/grading-scales"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void gradebookExportsReachTheControllerRoleChecks() throws Exception {
+        mvc.perform(get("/api/exports/courses/3/gradebook").header("Authorization", bearer(Role.INSTRUCTOR, null, 5L)))
+                .andExpect(status().isOk());
+        // a student is refused by @PreAuthorize, not by the URL rules
+        mvc.perform(get("/api/exports/gradebook").header("Authorization", bearer(Role.STUDENT, 7L, null)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void studentsCanReachTheirOwnWaitlists() throws Exception {
+        mvc.perform(get("/api/waitlists/students/7").header("Authorization", bearer(Role.STUDENT, 7L, null)))
+                .andExpect(status().isOk());
+    }
+}
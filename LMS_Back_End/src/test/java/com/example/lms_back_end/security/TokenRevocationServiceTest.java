@@ -0,0 +1,55 @@
+package com.example.lms_back_end.security;
+
+import com.example.lms_back_end.entity.RevokedToken;
+import com.example.lms_back_end.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    private final RevokedTokenRepository repo = mock(RevokedTokenRepository.class);
+    private final TokenRevocationService revocations = new TokenRevocationService(repo);
+
+    @Test
+    void onlyTheFirstRevocationOfATokenIdCounts() {
+        Instant exp = Instant.now().plus(Duration.ofHours(1));
+        assertFalse(revocations.isRevoked("jti-1"));
+
+        assertTrue(revocations.revoke("jti-1", exp));
+        assertFalse(revocations.revoke("jti-1", exp));
+
+        assertTrue(revocations.isRevoked("jti-1"));
+        assertFalse(revocations.isRevoked("jti-2"));
+        verify(repo, times(1)).save(any());
+        // already expired: nothing left to protect
+        assertFalse(revocations.revoke("jti-3", Instant.now().minusSeconds(1)));
+    }
+
+    @Test
+    void bloomFilterGrowsWithTheLiveSetAndShrinksBackOnPrune() throws Exception {
+        int baseline = revocations.bloomBits();
+        Instant soon = Instant.now().plusMillis(500);
+        int n = 150_000; // past the ~100k design load of the initial filter
+        var rows = new ArrayList<RevokedToken>(n);
+        for (int i = 0; i < n; i++) rows.add(RevokedToken.builder().jti("jti-" + i).expiresAt(soon).build());
+        when(repo.findByExpiresAtAfter(any())).thenReturn(rows);
+
+        revocations.load();
+        assertEquals(n, revocations.size());
+        assertTrue(revocations.bloomBits() > baseline);
+        for (int i = 0; i < n; i += 97) assertTrue(revocations.isRevoked("jti-" + i));
+
+        Thread.sleep(Math.max(0, Duration.between(Instant.now(), soon).toMillis() + 50));
+        revocations.prune();
+        assertEquals(0, revocations.size());
+        assertEquals(baseline, revocations.bloomBits());
+        assertFalse(revocations.isRevoked("jti-0"));
+    }
+}
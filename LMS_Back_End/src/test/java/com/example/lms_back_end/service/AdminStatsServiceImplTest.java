@@ -0,0 +1,49 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.entity.*;
+import com.example.lms_back_end.security.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "app.admin.stats-cache.ttl=PT1H"
+})
+@Import(AdminStatsServiceImpl.class)
+class AdminStatsServiceImplTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired AdminStatsService service;
+
+    @Test
+    void countsComeFromOneStatementAndAreServedFromTheSnapshot() {
+        Student s1 = em.persist(Fixtures.student("ST-1"));
+        Student s2 = em.persist(Fixtures.student("ST-2"));
+        Course c = em.persist(Course.builder().code("ST-C").title("Stats").build());
+        Enrollment graded = em.persist(Enrollment.builder().student(s1).course(c).build());
+        em.persist(Enrollment.builder().student(s2).course(c).build());
+        em.persist(Enrollment.builder().student(s2).course(c).active(false).build());
+        em.persist(Grade.builder().enrollment(graded).score(80).build());
+        em.persist(AppUser.builder().username("admin").password("x").role(Role.ADMIN).build());
+        em.persist(AppUser.builder().username("st1").password("x").role(Role.STUDENT).studentId(s1.getId()).build());
+        em.flush();
+
+        var stats = service.stats();
+        assertEquals(2, stats.getStudents());
+        assertEquals(1, stats.getCourses());
+        assertEquals(2, stats.getEnrollments(), "dropped enrollments are not counted");
+        assertEquals(1, stats.getGradedEnrollments());
+        assertEquals(1L, stats.getUsersByRole().get("ADMIN"));
+        assertEquals(1L, stats.getUsersByRole().get("STUDENT"));
+        assertEquals(0L, stats.getUsersByRole().get("INSTRUCTOR"));
+
+        em.persist(Course.builder().code("ST-D").title("Later").build());
+        em.flush();
+        assertSame(stats, service.stats(), "within the TTL the snapshot is reused");
+    }
+}
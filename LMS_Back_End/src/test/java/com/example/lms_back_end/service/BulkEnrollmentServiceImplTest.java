@@ -0,0 +1,45 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.BulkEnrollRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkEnrollmentServiceImplTest {
+
+    private final StudentRepository students = mock(StudentRepository.class);
+    private final BulkEnrollmentServiceImpl bulk = new BulkEnrollmentServiceImpl(mock(EnrollmentRepository.class),
+            students, mock(CourseRepository.class), mock(JdbcTemplate.class), mock(TransactionTemplate.class),
+            mock(WaitlistQueues.class), mock(TimetableIndex.class), mock(SeatAvailabilityBroadcaster.class), 500, 100_000);
+
+    @Test
+    void oversizedCrossProductIsRefusedBeforeItIsExpanded() {
+        // 400M pairs: expanding them first would run out of heap long before the check
+        var ids = LongStream.rangeClosed(1, 20_000).boxed().toList();
+        var ex = assertThrows(ResponseStatusException.class,
+                () -> bulk.bulkEnroll(BulkEnrollRequest.builder().studentIds(ids).courseIds(ids).build()));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        verifyNoInteractions(students);
+    }
+
+    @Test
+    void explicitPairsCountTowardsTheLimit() {
+        var pairs = LongStream.rangeClosed(1, 10).mapToObj(i -> new EnrollRequest(i, 1L)).toList();
+        var ids = LongStream.rangeClosed(1, 10_000).boxed().toList();
+        var ex = assertThrows(ResponseStatusException.class, () -> bulk.bulkEnroll(BulkEnrollRequest.builder()
+                .pairs(pairs).studentIds(ids).courseIds(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L)).build()));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.course.CourseUpdateRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.dto.enrollment.WaitlistRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Real commits, so the seat counts are read back the way another request would see them. */
+@EnrollmentDataJpaTest
+@Import(CourseServiceImpl.class)
+class CourseServiceImplTest {
+
+    @Autowired CourseService courseService;
+    @Autowired EnrollmentService service;
+    @Autowired WaitlistService waitlists;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired EnrollmentRepository enrollments;
+
+    @Test
+    void raisingCapacityPromotesWaitlistAndReportsFreshCounts() {
+        Course course = courses.save(Course.builder().code("GROW-1").title("Growing").capacity(1).build());
+        var ids = new ArrayList<Long>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(students.save(Fixtures.student("GROW-" + i)).getId());
+        }
+        service.enroll(new EnrollRequest(ids.get(0), course.getId()));
+        waitlists.join(new WaitlistRequest(ids.get(1), course.getId()));
+        waitlists.join(new WaitlistRequest(ids.get(2), course.getId()));
+
+        var updated = courseService.update(course.getId(), CourseUpdateRequest.builder()
+                .code("GROW-1").title("Growing").capacity(2).enrollmentOpen(true).build());
+
+        assertEquals(2, updated.getEnrolledCount());
+        assertEquals(0, updated.getSeatsRemaining());
+        assertTrue(enrollments.existsByStudent_IdAndCourse_IdAndActive(ids.get(1), course.getId(), true));
+        assertEquals(1, waitlists.listByStudent(ids.get(2)).get(0).getPosition());
+
+        var counts = courseService.seats(List.of(course.getId(), -1L));
+        assertEquals(1, counts.size(), "unknown ids are skipped");
+        assertEquals(2, counts.get(0).getEnrolledCount());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.entity.Grade;
+import com.example.lms_back_end.entity.Student;
+import com.example.lms_back_end.repository.*;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Real commits (the archiver runs its own transactions) on a dedicated H2 database. */
+@TestPropertySource(properties = "app.enrollments.archive.batch-size=2")
+@EnrollmentDataJpaTest
+class EnrollmentArchiverTest {
+
+    @Autowired EnrollmentService service;
+    @Autowired EnrollmentArchiver archiver;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired EnrollmentHistoryRepository history;
+    @Autowired GradeRepository grades;
+
+    @Test
+    void dropsMoveToHistoryWithTheirGradeAndTheSameCourseCanBeDroppedTwice() {
+        Student s = students.save(Fixtures.student("ARC-1"));
+        Course graded = courses.save(Course.builder().code("ARC-G").title("Graded").build());
+        Course[] others = new Course[3];
+        for (int i = 0; i < others.length; i++) {
+            others[i] = courses.save(Course.builder().code("ARC-" + i).title("Other " + i).build());
+        }
+
+        var e = service.enroll(new EnrollRequest(s.getId(), graded.getId()));
+        grades.save(Grade.builder().enrollment(enrollments.getReferenceById(e.getId())).score(72).build());
+        service.unenroll(s.getId(), graded.getId());
+        for (Course c : others) {
+            service.enroll(new EnrollRequest(s.getId(), c.getId()));
+            service.unenroll(s.getId(), c.getId());
+        }
+        assertEquals(4, service.listHistoryByStudent(s.getId()).size(), "pending drops are listed too");
+
+        // two batches of two, then an empty one
+        assertEquals(4, archiver.archive());
+        assertEquals(0, enrollments.count());
+        assertEquals(0, grades.count());
+        var rows = service.listHistoryByStudent(s.getId());
+        assertEquals(4, rows.size());
+        var gradedRow = rows.stream().filter(r -> r.getCourseId().equals(graded.getId())).findFirst().orElseThrow();
+        assertEquals(72, gradedRow.getScore());
+        assertNotNull(gradedRow.getDroppedAt());
+
+        // a second drop of the same course while the previous one is still pending
+        service.enroll(new EnrollRequest(s.getId(), others[0].getId()));
+        service.unenroll(s.getId(), others[0].getId());
+        service.enroll(new EnrollRequest(s.getId(), others[0].getId()));
+        service.unenroll(s.getId(), others[0].getId());
+        assertEquals(6, history.count() + enrollments.count());
+        assertEquals(0, courses.findById(others[0].getId()).orElseThrow().getEnrolledCount());
+    }
+}
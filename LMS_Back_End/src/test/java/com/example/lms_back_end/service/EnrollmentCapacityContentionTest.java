@@ -0,0 +1,122 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.dto.enrollment.WaitlistRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Real commits from many threads against one hot course; a dedicated H2 database keeps other tests clean. */
+@Slf4j
+@EnrollmentDataJpaTest
+class EnrollmentCapacityContentionTest {
+
+    @Autowired EnrollmentService service;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired EnrollmentRepository enrollments;
+    @Autowired WaitlistService waitlists;
+
+    @Test
+    void concurrentEnrollmentsNeverOversubscribe() throws Exception {
+        Long courseId = courses.save(Course.builder().code("HOT-1").title("Hot").capacity(10).build()).getId();
+        var ids = contend(courseId, "HOT", 32);
+
+        // dropping frees exactly one seat
+        var holder = service.listStudentsForCourse(courseId, 0, 1).getContent().get(0).getId();
+        service.unenroll(holder, courseId);
+        service.enroll(new EnrollRequest(ids.get(ids.size() - 1), courseId));
+        assertEquals(10, courses.findById(courseId).orElseThrow().getEnrolledCount());
+    }
+
+    /** Load run (mvn -Pbench test): the same race from 1,000 threads, with the elapsed time logged. */
+    @Test
+    @Tag("bench")
+    void thousandConcurrentEnrollmentsNeverOversubscribe() throws Exception {
+        Long courseId = courses.save(Course.builder().code("RUSH-1").title("Rush").capacity(50).build()).getId();
+        long start = System.nanoTime();
+        contend(courseId, "RUSH", 1000);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Enrollment contention: {} attempts on {} seats in {} s ({} attempts/s)",
+                1000, 50, String.format("%.2f", seconds), Math.round(1000 / seconds));
+    }
+
+    /**
+     * Races {@code threads} new students for the course's seats and checks that exactly its capacity
+     * got in; returns the student ids plus one spare that did not try.
+     */
+    private List<Long> contend(Long courseId, String prefix, int threads) throws Exception {
+        int capacity = courses.findById(courseId).orElseThrow().getCapacity();
+        var ids = new ArrayList<Long>();
+        for (int i = 0; i < threads + 1; i++) {
+            ids.add(students.save(Fixtures.student(prefix + "-" + i)).getId());
+        }
+
+        var pool = Executors.newFixedThreadPool(threads);
+        var go = new CountDownLatch(1);
+        var enrolled = new AtomicInteger();
+        var full = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Long studentId = ids.get(i);
+            futures.add(pool.submit(() -> {
+                go.await();
+                try {
+                    service.enroll(new EnrollRequest(studentId, courseId));
+                    enrolled.incrementAndGet();
+                } catch (ResponseStatusException ex) {
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+                    full.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        go.countDown();
+        for (var f : futures) f.get(2, TimeUnit.MINUTES);
+        pool.shutdown();
+
+        assertEquals(capacity, enrolled.get());
+        assertEquals(threads - capacity, full.get());
+        assertEquals(capacity, enrollments.countByCourse_IdAndActive(courseId, true));
+        assertEquals(capacity, courses.findById(courseId).orElseThrow().getEnrolledCount());
+        return ids;
+    }
+
+    @Test
+    void droppingPromotesTheHeadOfTheWaitlist() {
+        Course course = courses.save(Course.builder().code("WAIT-1").title("Waitlisted").capacity(1).build());
+        var ids = new ArrayList<Long>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(students.save(Fixtures.student("WAIT-" + i)).getId());
+        }
+        service.enroll(new EnrollRequest(ids.get(0), course.getId()));
+
+        // open seats must be taken directly; a full course queues in arrival order
+        var full = assertThrows(ResponseStatusException.class,
+                () -> service.enroll(new EnrollRequest(ids.get(1), course.getId())));
+        assertEquals(HttpStatus.CONFLICT, full.getStatusCode());
+        assertEquals(1, waitlists.join(new WaitlistRequest(ids.get(1), course.getId())).getPosition());
+        assertEquals(2, waitlists.join(new WaitlistRequest(ids.get(2), course.getId())).getPosition());
+
+        service.unenroll(ids.get(0), course.getId());
+
+        assertTrue(enrollments.existsByStudent_IdAndCourse_IdAndActive(ids.get(1), course.getId(), true));
+        assertEquals(1, courses.findById(course.getId()).orElseThrow().getEnrolledCount());
+        assertTrue(waitlists.listByStudent(ids.get(1)).isEmpty());
+        assertEquals(1, waitlists.listByStudent(ids.get(2)).get(0).getPosition());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.CheckoutRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Real commits, so a refused all-or-nothing cart is seen to roll back its seat claims. */
+@EnrollmentDataJpaTest
+@Import(EnrollmentCheckoutServiceImpl.class)
+class EnrollmentCheckoutServiceImplTest {
+
+    @Autowired EnrollmentService service;
+    @Autowired EnrollmentCheckoutService checkout;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired EnrollmentRepository enrollments;
+
+    @Test
+    void cartCheckoutIsAllOrNothingUnlessAskedOtherwise() {
+        Course open = courses.save(Course.builder().code("CART-1").title("Open").capacity(10).build());
+        Course other = courses.save(Course.builder().code("CART-2").title("Other").build());
+        Course full = courses.save(Course.builder().code("CART-3").title("Full").capacity(1).build());
+        Long first = students.save(Fixtures.student("CART-0")).getId();
+        Long student = students.save(Fixtures.student("CART-1")).getId();
+        service.enroll(new EnrollRequest(first, full.getId()));
+
+        var cart = List.of(open.getId(), other.getId(), full.getId());
+        var refused = checkout.checkout(new CheckoutRequest(student, cart, true));
+        assertEquals(0, refused.getEnrolled());
+        assertEquals(EnrollmentRules.CAPACITY_REACHED, refused.getResults().get(2).getMessage());
+        assertEquals(EnrollmentCheckoutServiceImpl.NOT_ATTEMPTED, refused.getResults().get(0).getMessage());
+        assertFalse(enrollments.existsByStudent_IdAndCourse_IdAndActive(student, open.getId(), true));
+        assertEquals(0, courses.findById(open.getId()).orElseThrow().getEnrolledCount(), "seat claim rolled back");
+
+        var partial = checkout.checkout(new CheckoutRequest(student, cart, false));
+        assertEquals(2, partial.getEnrolled());
+        assertTrue(enrollments.existsByStudent_IdAndCourse_IdAndActive(student, other.getId(), true));
+        assertEquals(1, courses.findById(open.getId()).orElseThrow().getEnrolledCount());
+
+        var again = checkout.checkout(new CheckoutRequest(student, List.of(open.getId(), open.getId(), -1L), false));
+        assertEquals(EnrollmentRules.ALREADY_ENROLLED, again.getResults().get(0).getMessage());
+        assertEquals("Duplicate course in cart", again.getResults().get(1).getMessage());
+        assertEquals(EnrollmentRules.COURSE_NOT_FOUND, again.getResults().get(2).getMessage());
+    }
+
+    @Test
+    void closedIsReportedBeforeAlreadyEnrolledAsOnEnroll() {
+        Course course = courses.save(Course.builder().code("CART-4").title("Closing").build());
+        Long student = students.save(Fixtures.student("CART-2")).getId();
+        service.enroll(new EnrollRequest(student, course.getId()));
+        course = courses.findById(course.getId()).orElseThrow();
+        course.setEnrollmentOpen(false);
+        courses.save(course);
+
+        var report = checkout.checkout(new CheckoutRequest(student, List.of(course.getId()), false));
+        assertEquals(EnrollmentRules.CLOSED, report.getResults().get(0).getMessage());
+    }
+}
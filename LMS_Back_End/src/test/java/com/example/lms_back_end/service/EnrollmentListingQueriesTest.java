@@ -0,0 +1,88 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.entity.Enrollment;
+import com.example.lms_back_end.entity.Student;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Statement-count regression tests: every listing is exists + page + count, whatever the page size. */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(EnrollmentTestConfig.class)
+class EnrollmentListingQueriesTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired EnrollmentService service;
+
+    @Test
+    void coursesForStudentIsConstantStatements() {
+        assertConstant((student, course) -> service.listCoursesForStudent(student, 0, 100), true);
+    }
+
+    @Test
+    void enrollmentsByStudentIsConstantStatements() {
+        assertConstant((student, course) -> service.listByStudent(student, 0, 100), true);
+    }
+
+    @Test
+    void studentsForCourseIsConstantStatements() {
+        assertConstant((student, course) -> service.listStudentsForCourse(course, 0, 100), false);
+    }
+
+    @Test
+    void enrollmentsByCourseIsConstantStatements() {
+        assertConstant((student, course) -> service.listByCourse(course, 0, 100), false);
+    }
+
+    /** Runs the listing over 3 and 40 rows (one student's courses, or one course's students). */
+    private void assertConstant(BiFunction<Long, Long, Page<?>> listing, boolean perStudent) {
+        long small = statementsFor(3, listing, perStudent);
+        long large = statementsFor(40, listing, perStudent);
+        assertEquals(small, large, "statements must not grow with the number of rows");
+        assertTrue(large <= 3, "exists + page + count, got " + large);
+    }
+
+    private long statementsFor(int rows, BiFunction<Long, Long, Page<?>> listing, boolean perStudent) {
+        String tag = (perStudent ? "S" : "C") + rows;
+        Student student = em.persist(Fixtures.student(tag));
+        Course course = em.persist(Course.builder().code(tag).title("Course " + tag).build());
+        for (int i = 0; i < rows; i++) {
+            if (perStudent) {
+                Course c = em.persist(Course.builder().code(tag + "-" + i).title("Course " + i).build());
+                em.persist(Enrollment.builder().student(student).course(c).build());
+            } else {
+                Student s = em.persist(Student.builder().studentNo(tag + "-" + i).firstName("F").lastName("L" + i)
+                        .email(tag + "-" + i + "@example.com").build());
+                em.persist(Enrollment.builder().student(s).course(course).build());
+            }
+        }
+        // a dropped row must not show up
+        em.persist(Enrollment.builder().student(student).course(course).active(false).build());
+        em.flush();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var page = listing.apply(student.getId(), course.getId());
+        long statements = stats.getPrepareStatementCount();
+
+        assertEquals(rows, page.getTotalElements());
+        assertEquals(rows, page.getContent().size());
+        return statements;
+    }
+}
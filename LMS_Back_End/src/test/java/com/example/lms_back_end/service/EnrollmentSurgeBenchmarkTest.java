@@ -0,0 +1,160 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto.Status;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.entity.Student;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The same registration rush (many students, a few hot courses) through the direct enroll path
+ * and through surge mode, on a dedicated H2 database with real commits. Logs throughput and
+ * p99 latency (submit to decision) for both; asserts only that both seat exactly the capacity.
+ * The rush is tagged bench (mvn -Pbench test); the surge rule checks run with every build.
+ */
+@Slf4j
+@TestPropertySource(properties = "app.enrollments.surge.batch-size=100")
+@EnrollmentDataJpaTest
+@Import(EnrollmentSurgeServiceImpl.class)
+class EnrollmentSurgeBenchmarkTest {
+
+    private static final int COURSES = 4;
+    private static final int CAPACITY = 100;
+    private static final int PER_COURSE = 250;
+    private static final int CLIENTS = 200;
+
+    @Autowired EnrollmentService service;
+    @Autowired EnrollmentSurgeService surge;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+    @Autowired EnrollmentRepository enrollments;
+
+    @FunctionalInterface
+    interface Attempt {
+        /** true when a seat was taken */
+        boolean run(Long studentId, Long courseId) throws Exception;
+    }
+
+    @Test
+    @Tag("bench")
+    void surgeModeSeatsTheSameStudentsWithBatchedCommits() throws Exception {
+        var direct = rush("DIRECT", (studentId, courseId) -> {
+            try {
+                service.enroll(new EnrollRequest(studentId, courseId));
+                return true;
+            } catch (ResponseStatusException ex) {
+                assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+                return false;
+            }
+        });
+        var queued = rush("SURGE", (studentId, courseId) -> {
+            var ticket = surge.submit(new EnrollRequest(studentId, courseId));
+            var decided = surge.awaitTicket(ticket.getTicketId(), studentId, Duration.ofMinutes(1))
+                    .get(2, TimeUnit.MINUTES);
+            assertNotEquals(Status.QUEUED, decided.getStatus());
+            return decided.getStatus() == Status.ENROLLED;
+        });
+
+        log.info("Registration rush, {} requests on {} x {} seats", COURSES * PER_COURSE, COURSES, CAPACITY);
+        log.info("  direct: {} req/s, p99 {} ms", Math.round(direct.throughput()), String.format("%.1f", direct.p99Millis()));
+        log.info("  surge:  {} req/s, p99 {} ms", Math.round(queued.throughput()), String.format("%.1f", queued.p99Millis()));
+
+        for (var run : List.of(direct, queued)) {
+            assertEquals(COURSES * CAPACITY, run.seated());
+            for (Long courseId : run.courseIds()) {
+                assertEquals(CAPACITY, enrollments.countByCourse_IdAndActive(courseId, true));
+                assertEquals(CAPACITY, courses.findById(courseId).orElseThrow().getEnrolledCount());
+            }
+        }
+    }
+
+    @Test
+    void queuedRequestsFollowTheDirectEnrollRules() throws Exception {
+        Course open = courses.save(Course.builder().code("SRG-OPEN").title("Open").capacity(5).build());
+        Course closed = courses.save(Course.builder().code("SRG-SHUT").title("Closed").enrollmentOpen(false).build());
+        Long studentId = students.save(Fixtures.student("SRG-R")).getId();
+
+        var first = surge.submit(new EnrollRequest(studentId, open.getId()));
+        var again = surge.submit(new EnrollRequest(studentId, open.getId()));
+        var shut = surge.submit(new EnrollRequest(studentId, closed.getId()));
+        var nobody = surge.submit(new EnrollRequest(-1L, open.getId()));
+
+        assertEquals(Status.ENROLLED, decided(first, studentId).getStatus());
+        assertEquals("Already enrolled", decided(again, studentId).getMessage());
+        assertEquals("Enrollment is closed for this course", decided(shut, studentId).getMessage());
+        assertEquals("Student not found", decided(nobody, -1L).getMessage());
+        assertEquals(1, courses.findById(open.getId()).orElseThrow().getEnrolledCount());
+
+        var other = assertThrows(ResponseStatusException.class, () -> surge.ticket(first.getTicketId(), -1L));
+        assertEquals(HttpStatus.NOT_FOUND, other.getStatusCode());
+    }
+
+    private EnrollmentTicketDto decided(EnrollmentTicketDto ticket, Long studentId) throws Exception {
+        return surge.awaitTicket(ticket.getTicketId(), studentId, Duration.ofSeconds(30)).get(1, TimeUnit.MINUTES);
+    }
+
+    record Run(List<Long> courseIds, int seated, double seconds, long[] latenciesNanos) {
+        double throughput() { return latenciesNanos.length / seconds; }
+
+        double p99Millis() {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(sorted.length * 0.99) - 1] / 1e6;
+        }
+    }
+
+    private Run rush(String prefix, Attempt attempt) throws Exception {
+        var courseIds = new ArrayList<Long>();
+        for (int c = 0; c < COURSES; c++) {
+            courseIds.add(courses.save(Course.builder().code(prefix + "-" + c).title("Rush").capacity(CAPACITY)
+                    .build()).getId());
+        }
+        int requests = COURSES * PER_COURSE;
+        var studentIds = new ArrayList<Long>(requests);
+        for (int i = 0; i < requests; i++) {
+            studentIds.add(students.save(Fixtures.student(prefix + "-" + i)).getId());
+        }
+
+        var pool = Executors.newFixedThreadPool(CLIENTS);
+        var go = new CountDownLatch(1);
+        var seated = new AtomicInteger();
+        long[] latencies = new long[requests];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < requests; i++) {
+            int n = i;
+            futures.add(pool.submit(() -> {
+                go.await();
+                long t0 = System.nanoTime();
+                if (attempt.run(studentIds.get(n), courseIds.get(n % COURSES))) seated.incrementAndGet();
+                latencies[n] = System.nanoTime() - t0;
+                return null;
+            }));
+        }
+        long start = System.nanoTime();
+        go.countDown();
+        for (var f : futures) f.get(5, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        return new Run(courseIds, seated.get(), seconds, latencies);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto;
+import com.example.lms_back_end.dto.enrollment.EnrollmentTicketDto.Status;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/** The surge writer against mocked storage, to fail chosen inserts. */
+class EnrollmentSurgeServiceImplTest {
+
+    private static final long COURSE = 1L;
+    private static final long POISON = 13L;
+
+    private final CourseRepository courses = mock(CourseRepository.class);
+    private final StudentRepository students = mock(StudentRepository.class);
+    private final EnrollmentRepository enrollments = mock(EnrollmentRepository.class);
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final TransactionTemplate tx = mock(TransactionTemplate.class);
+    private final EnrollmentSurgeServiceImpl surge = new EnrollmentSurgeServiceImpl(courses, students, enrollments,
+            jdbc, tx, mock(WaitlistQueues.class), new TimetableIndex(enrollments, 30, 60, 100, Duration.ofMinutes(1)),
+            mock(SeatAvailabilityBroadcaster.class), true, 100, 1000, 1, Duration.ofMinutes(1));
+
+    @AfterEach
+    void stop() { surge.shutdown(); }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void aFailedBatchIsBisectedSoOnlyTheBadTicketFails() throws Exception {
+        var firstBatchHeld = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Course course = Course.builder().id(COURSE).code("SRG-1").title("Surge").build();
+        when(courses.existsById(COURSE)).thenReturn(true);
+        when(courses.lockById(COURSE)).thenAnswer(inv -> {
+            firstBatchHeld.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(course);
+        }).thenReturn(Optional.of(course));
+        when(students.findExistingIds(anyCollection())).thenAnswer(inv -> List.copyOf(inv.<Collection<Long>>getArgument(0)));
+        when(tx.execute(any())).thenAnswer(inv -> inv.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(jdbc.batchUpdate(startsWith("insert"), anyCollection(), anyInt(), any())).thenAnswer(inv -> {
+            if (inv.<Collection<Long>>getArgument(1).contains(POISON)) {
+                throw new DataIntegrityViolationException("fk_enrollments_student");
+            }
+            return new int[][] {};
+        });
+
+        var first = surge.submit(new EnrollRequest(1L, COURSE));
+        assertTrue(firstBatchHeld.await(5, TimeUnit.SECONDS));
+        // these three queue up behind the held write and are taken as one batch
+        var before = surge.submit(new EnrollRequest(12L, COURSE));
+        var bad = surge.submit(new EnrollRequest(POISON, COURSE));
+        var after = surge.submit(new EnrollRequest(14L, COURSE));
+        release.countDown();
+
+        assertEquals(Status.ENROLLED, decided(first, 1L).getStatus());
+        assertEquals(Status.ENROLLED, decided(before, 12L).getStatus());
+        assertEquals(EnrollmentSurgeServiceImpl.WRITE_FAILED, decided(bad, POISON).getMessage());
+        assertEquals(Status.ENROLLED, decided(after, 14L).getStatus());
+        verify(enrollments, never()).findLecturesByStudentId(any());
+    }
+
+    private EnrollmentTicketDto decided(EnrollmentTicketDto ticket, Long studentId) throws Exception {
+        return surge.awaitTicket(ticket.getTicketId(), studentId, Duration.ofSeconds(5)).get(10, TimeUnit.SECONDS);
+    }
+}
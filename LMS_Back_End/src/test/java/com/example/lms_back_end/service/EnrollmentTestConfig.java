@@ -0,0 +1,12 @@
+package com.example.lms_back_end.service;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+/** The services an enrollment write touches (standings, waitlists, timetables, seat events), for @DataJpaTest slices. */
+@TestConfiguration
+@Import({EnrollmentServiceImpl.class, AcademicStandingServiceImpl.class, GradeStatisticsServiceImpl.class,
+        ClassRankServiceImpl.class, GradingScaleCache.class, WaitlistServiceImpl.class, WaitlistQueues.class,
+        EnrollmentArchiver.class, TimetableIndex.class, SeatAvailabilityBroadcaster.class})
+class EnrollmentTestConfig {
+}
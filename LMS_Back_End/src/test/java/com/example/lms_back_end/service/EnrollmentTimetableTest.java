@@ -0,0 +1,57 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.course.CourseUpdateRequest;
+import com.example.lms_back_end.dto.enrollment.EnrollRequest;
+import com.example.lms_back_end.entity.Course;
+import com.example.lms_back_end.repository.CourseRepository;
+import com.example.lms_back_end.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Real commits, since cached weeks are only evicted once the enroll or reschedule commits. */
+@EnrollmentDataJpaTest
+@Import(CourseServiceImpl.class)
+class EnrollmentTimetableTest {
+
+    @Autowired EnrollmentService service;
+    @Autowired CourseService courseService;
+    @Autowired CourseRepository courses;
+    @Autowired StudentRepository students;
+
+    @Test
+    void clashingLecturesAreRefusedUntilOneIsRescheduled() {
+        Course morning = courses.save(Course.builder().code("TT-1").title("Morning")
+                .lectureDay(DayOfWeek.MONDAY).lectureTime(LocalTime.of(9, 0)).build());
+        Course overlap = courses.save(Course.builder().code("TT-2").title("Overlap")
+                .lectureDay(DayOfWeek.MONDAY).lectureTime(LocalTime.of(9, 30)).build());
+        Course next = courses.save(Course.builder().code("TT-3").title("Next")
+                .lectureDay(DayOfWeek.MONDAY).lectureTime(LocalTime.of(10, 0)).build());
+        Long student = students.save(Fixtures.student("TT-0")).getId();
+
+        service.enroll(new EnrollRequest(student, morning.getId()));
+        var clash = assertThrows(ResponseStatusException.class,
+                () -> service.enroll(new EnrollRequest(student, overlap.getId())));
+        assertEquals(HttpStatus.CONFLICT, clash.getStatusCode());
+        assertTrue(clash.getReason().contains("TT-1"), clash.getReason());
+        service.enroll(new EnrollRequest(student, next.getId())); // back-to-back is fine
+
+        var week = service.timetableForStudent(student).getLectures();
+        assertEquals(List.of("TT-1", "TT-3"), week.stream().map(l -> l.getCourseCode()).toList());
+        assertEquals(LocalTime.of(10, 0), week.get(0).getEnd());
+
+        // moving the overlapping course to Tuesday drops the cached weeks
+        courseService.update(overlap.getId(), CourseUpdateRequest.builder().code("TT-2").title("Overlap")
+                .lectureDay(DayOfWeek.TUESDAY).lectureTime(LocalTime.of(9, 30)).enrollmentOpen(true).build());
+        service.enroll(new EnrollRequest(student, overlap.getId()));
+        assertEquals(3, service.timetableForStudent(student).getLectures().size());
+    }
+}
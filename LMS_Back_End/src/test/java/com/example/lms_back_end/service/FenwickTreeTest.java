@@ -0,0 +1,31 @@
+package com.example.lms_back_end.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FenwickTreeTest {
+
+    @Test
+    void prefixCountsMatchABruteForceHistogramUnderRandomUpdates() {
+        var tree = new FenwickTree(101);
+        long[] naive = new long[101];
+        var random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            int bucket = random.nextInt(101);
+            long delta = naive[bucket] > 0 && random.nextBoolean() ? -1 : 1;
+            tree.add(bucket, delta);
+            naive[bucket] += delta;
+        }
+        long running = 0;
+        for (int b = 0; b <= 100; b++) {
+            running += naive[b];
+            assertEquals(running, tree.countAtMost(b), "prefix at " + b);
+            assertEquals(naive[b], tree.countAt(b), "bucket " + b);
+        }
+        assertEquals(running, tree.total());
+        assertEquals(0, tree.countAtMost(-1));
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.entity.Student;
+
+/** Unsaved test entities with the required columns filled in. */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /** Student "F L" with a unique email derived from the student number. */
+    static Student student(String studentNo) {
+        return Student.builder().studentNo(studentNo).firstName("F").lastName("L")
+                .email(studentNo.toLowerCase() + "@example.com").build();
+    }
+}
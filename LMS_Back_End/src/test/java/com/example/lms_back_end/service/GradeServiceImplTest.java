@@ -0,0 +1,283 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.grade.CourseGradesBatchRequest;
+import com.example.lms_back_end.dto.grade.GradeUpsertRequest;
+import com.example.lms_back_end.entity.*;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** PostgreSQL mode: standings rows are created with insert ... on conflict do nothing. */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.url=jdbc:h2:mem:grades;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GradeServiceImpl.class, AcademicStandingServiceImpl.class, GradeStatisticsServiceImpl.class,
+        GradingScaleCache.class, ClassRankServiceImpl.class})
+class GradeServiceImplTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired EntityManagerFactory emf;
+    @Autowired GradeService service;
+    @Autowired AcademicStandingService standingService;
+    @Autowired GradeStatisticsService statistics;
+    @Autowired ClassRankService ranks;
+
+    @Test
+    void listByCourseUsesConstantStatementsRegardlessOfClassSize() {
+        long small = statementsForCourseOf(5);
+        long large = statementsForCourseOf(60);
+        assertEquals(small, large);
+        assertTrue(large <= 3, "exists + page + count, got " + large);
+    }
+
+    @Test
+    void listByStudentIsOneBoundedQueryRegardlessOfHistoryLength() {
+        Student s = em.persist(Fixtures.student("H-1"));
+        for (int i = 0; i < 40; i++) {
+            Course c = em.persist(Course.builder().code("H" + i).title("History " + i).build());
+            Enrollment e = em.persist(Enrollment.builder().student(s).course(c).build());
+            em.persist(Grade.builder().enrollment(e).score(50 + i).build());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var page = service.listByStudent(s.getId(), 0, 10, "courseCode");
+
+        assertEquals(40, page.getTotalElements());
+        assertEquals("H0", page.getContent().get(0).getCourseCode());
+        assertTrue(stats.getPrepareStatementCount() <= 3, "exists + page + count");
+        assertEquals(0, stats.getEntityLoadCount(), "no entities or lazy loads");
+    }
+
+    @Test
+    void standingIsMaintainedIncrementallyAndMatchesRebuild() {
+        Student s = em.persist(Fixtures.student("G-1"));
+        Course a = em.persist(Course.builder().code("GA").title("A").credits(3).build());
+        Course b = em.persist(Course.builder().code("GB").title("B").credits(1).build());
+        Instructor i = Instructor.builder().staffNo("T-1").firstName("T").lastName("T").email("t1@example.com").build();
+        i.getCourses().add(a);
+        i.getCourses().add(b);
+        em.persist(i);
+        em.persist(Enrollment.builder().student(s).course(a).build());
+        em.persist(Enrollment.builder().student(s).course(b).build());
+        em.flush();
+
+        service.upsert(new GradeUpsertRequest(i.getId(), s.getId(), a.getId(), 70)); // 2.7
+        service.upsert(new GradeUpsertRequest(i.getId(), s.getId(), b.getId(), 95)); // 4.0
+        service.upsert(new GradeUpsertRequest(i.getId(), s.getId(), a.getId(), 86)); // 2.7 -> 3.7
+        em.flush();
+        em.clear();
+
+        var summary = service.summaryByStudent(s.getId());
+        assertEquals(2, summary.getGradedCourses());
+        assertEquals(3.85, summary.getGpa());
+        assertEquals(4, summary.getGradedCredits());
+        assertEquals(3.78, summary.getWeightedGpa()); // (3*3.7 + 1*4.0) / 4 = 3.775
+
+        standingService.rebuildFor(List.of(s.getId()));
+        em.flush();
+        em.clear();
+        var rebuilt = service.summaryByStudent(s.getId());
+        assertEquals(summary.getGpa(), rebuilt.getGpa());
+        assertEquals(summary.getWeightedGpa(), rebuilt.getWeightedGpa());
+    }
+
+    @Test
+    void courseBatchUpsertWritesAllScoresAndKeepsStandingsConsistent() {
+        Course c = em.persist(Course.builder().code("BB").title("Batch").credits(2).build());
+        Instructor i = Instructor.builder().staffNo("T-2").firstName("T").lastName("T").email("t2@example.com").build();
+        i.getCourses().add(c);
+        em.persist(i);
+        var students = new ArrayList<Student>();
+        for (int n = 0; n < 4; n++) {
+            Student s = em.persist(Fixtures.student("B-" + n));
+            em.persist(Enrollment.builder().student(s).course(c).build());
+            students.add(s);
+        }
+        em.flush();
+        service.upsert(new GradeUpsertRequest(i.getId(), students.get(0).getId(), c.getId(), 55));
+
+        var rows = service.upsertCourseGrades(c.getId(), new CourseGradesBatchRequest(i.getId(), List.of(
+                new CourseGradesBatchRequest.Entry(students.get(0).getId(), 91),
+                new CourseGradesBatchRequest.Entry(students.get(1).getId(), 72),
+                new CourseGradesBatchRequest.Entry(students.get(2).getId(), 64))));
+        em.clear();
+
+        assertEquals(3, rows.size());
+        assertEquals(91, rows.get(0).getScore());
+        var summary = service.summaryByStudent(students.get(0).getId());
+        assertEquals(1, summary.getGradedCourses());
+        assertEquals(2, summary.getGradedCredits());
+        standingService.rebuildFor(students.stream().map(Student::getId).toList());
+        em.flush();
+        em.clear();
+        assertEquals(summary.getGpa(), service.summaryByStudent(students.get(0).getId()).getGpa());
+        assertEquals(0, service.summaryByStudent(students.get(3).getId()).getGradedCourses());
+    }
+
+    @Test
+    void courseBatchUpsertRejectsWholeBatchWhenAStudentIsNotEnrolled() {
+        Course c = em.persist(Course.builder().code("BR").title("Reject").build());
+        Instructor i = Instructor.builder().staffNo("T-3").firstName("T").lastName("T").email("t3@example.com").build();
+        i.getCourses().add(c);
+        em.persist(i);
+        Student in = em.persist(Fixtures.student("R-1"));
+        Student out = em.persist(Fixtures.student("R-2"));
+        em.persist(Enrollment.builder().student(in).course(c).build());
+        em.flush();
+
+        var ex = assertThrows(ResponseStatusException.class, () -> service.upsertCourseGrades(c.getId(),
+                new CourseGradesBatchRequest(i.getId(), List.of(
+                        new CourseGradesBatchRequest.Entry(in.getId(), 80),
+                        new CourseGradesBatchRequest.Entry(out.getId(), 80)))));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertTrue(service.listByCourse(c.getId(), 0, 10, null, true).isEmpty());
+    }
+
+    @Test
+    void courseStatisticsComeFromOneAggregateAndAreDroppedOnUpsert() {
+        Course c = em.persist(Course.builder().code("ST").title("Stats").build());
+        Instructor i = Instructor.builder().staffNo("T-4").firstName("T").lastName("T").email("t4@example.com").build();
+        i.getCourses().add(c);
+        em.persist(i);
+        int[] scores = {40, 55, 70, 70, 95};
+        Student first = null;
+        for (int n = 0; n < scores.length; n++) {
+            Student s = em.persist(Fixtures.student("S-" + n));
+            Enrollment e = em.persist(Enrollment.builder().student(s).course(c).build());
+            em.persist(Grade.builder().enrollment(e).score(scores[n]).build());
+            if (first == null) first = s;
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var dist = statistics.forCourse(c.getId());
+        assertTrue(stats.getPrepareStatementCount() <= 2, "exists + histogram");
+        assertEquals(0, stats.getEntityLoadCount());
+        assertEquals(5, dist.getCount());
+        assertEquals(66.0, dist.getMean());
+        assertEquals(70.0, dist.getMedian());
+        assertEquals(40, dist.getMin());
+        assertEquals(0.8, dist.getPassRate());
+        assertEquals(2L, dist.getLetters().get("B-"));
+        assertEquals(0L, dist.getLetters().get("B"));
+
+        stats.clear();
+        assertSame(dist, statistics.forCourse(c.getId()));
+        assertEquals(0, stats.getPrepareStatementCount(), "served from cache");
+
+        service.upsert(new GradeUpsertRequest(i.getId(), first.getId(), c.getId(), 90));
+        var updated = statistics.forCourse(c.getId());
+        assertEquals(1.0, updated.getPassRate());
+        assertEquals(76.0, updated.getMean());
+    }
+
+    @Test
+    void courseScaleDrivesLettersStandingsAndStatistics() {
+        GradingScale pf = new GradingScale();
+        pf.setCode("PF");
+        pf.setName("Pass/fail");
+        pf.setPassMark(60);
+        pf.getBands().addAll(List.of(new GradingBand(60, "P", 4.0), new GradingBand(0, "NP", 0.0)));
+        em.persist(pf);
+        Course c = em.persist(Course.builder().code("PF1").title("Seminar").credits(2).gradingScale(pf).build());
+        Instructor i = Instructor.builder().staffNo("T-5").firstName("T").lastName("T").email("t5@example.com").build();
+        i.getCourses().add(c);
+        em.persist(i);
+        Student s = em.persist(Fixtures.student("P-1"));
+        em.persist(Enrollment.builder().student(s).course(c).build());
+        em.flush();
+
+        var dto = service.upsert(new GradeUpsertRequest(i.getId(), s.getId(), c.getId(), 62));
+        assertEquals("P", dto.getLetter());
+        assertEquals(4.0, dto.getGradePoint());
+        em.flush();
+        em.clear();
+
+        assertEquals("P", service.listByCourse(c.getId(), 0, 10, null, false).getContent().get(0).getLetter());
+        assertEquals("P", service.listByStudent(s.getId(), 0, 10, null).getContent().get(0).getLetter());
+        assertEquals(4.0, service.summaryByStudent(s.getId()).getGpa()); // 2.0 ("C") on the default scale
+        var dist = statistics.forCourse(c.getId());
+        assertEquals(List.of("P", "NP"), List.copyOf(dist.getLetters().keySet()));
+        assertEquals(1.0, dist.getPassRate());
+
+        standingService.rebuildFor(List.of(s.getId()));
+        em.flush();
+        em.clear();
+        assertEquals(4.0, service.summaryByStudent(s.getId()).getGpa());
+    }
+
+    @Test
+    void warmedRankIndexRanksByScoreWithSharedTies() {
+        Course c = em.persist(Course.builder().code("RK").title("Rank").build());
+        int[] scores = {50, 70, 70, 90};
+        var students = new ArrayList<Student>();
+        for (int n = 0; n < scores.length; n++) {
+            Student s = em.persist(Fixtures.student("K-" + n));
+            Enrollment e = em.persist(Enrollment.builder().student(s).course(c).build());
+            em.persist(Grade.builder().enrollment(e).score(scores[n]).build());
+            students.add(s);
+        }
+        em.flush();
+        standingService.rebuildFor(students.stream().map(Student::getId).toList());
+        em.flush();
+        ranks.warm();
+
+        var top = ranks.courseRank(c.getId(), students.get(3).getId());
+        assertEquals(1, top.getRank());
+        assertEquals(4, top.getOutOf());
+        assertEquals(87.5, top.getPercentile());
+        var tied = ranks.courseRank(c.getId(), students.get(1).getId());
+        assertEquals(2, tied.getRank());
+        assertEquals(50.0, tied.getPercentile());
+
+        var all = ranks.ranksFor(students.get(0).getId());
+        assertEquals(1, all.getCourses().size());
+        assertEquals(4, all.getCourses().get(0).getRank());
+        assertEquals(1.0, all.getOverall().getValue()); // "D" on the default scale
+        assertTrue(all.getOverall().getOutOf() >= 4);
+    }
+
+    private long statementsForCourseOf(int students) {
+        Course course = em.persist(Course.builder().code("C" + students).title("Course " + students).build());
+        for (int i = 0; i < students; i++) {
+            Student s = em.persist(Student.builder().studentNo(students + "-" + i)
+                    .firstName("F").lastName("L" + i).email(students + "-" + i + "@example.com").build());
+            Enrollment e = em.persist(Enrollment.builder().student(s).course(course).build());
+            em.persist(Grade.builder().enrollment(e).score(40 + i % 60).build());
+        }
+        em.flush();
+        em.clear();
+
+        Statistics stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        var page = service.listByCourse(course.getId(), 1, 2, "score,desc", true);
+        long statements = stats.getPrepareStatementCount();
+
+        assertEquals(students, page.getTotalElements());
+        assertEquals(2, page.getContent().size());
+        assertNotNull(page.getContent().get(0).getLetter());
+        return statements;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.entity.*;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({GradebookExportServiceImpl.class, GradingScaleCache.class, ObjectMapper.class})
+class GradebookExportServiceImplTest {
+
+    @Autowired TestEntityManager em;
+    @Autowired GradebookExportService exports;
+    @Autowired ObjectMapper json;
+
+    @Test
+    void streamsActiveRosterWithGradesAsCsvAndNdjson() throws Exception {
+        Course c = em.persist(Course.builder().code("EX1").title("Export").build());
+        Student graded = em.persist(Student.builder().studentNo("X-1").firstName("Ann").lastName("O\"Neil, Jr")
+                .email("x1@example.com").build());
+        Student pending = em.persist(Student.builder().studentNo("X-2").firstName("Bo").lastName("Li")
+                .email("x2@example.com").build());
+        Student dropped = em.persist(Student.builder().studentNo("X-3").firstName("Cy").lastName("Di")
+                .email("x3@example.com").build());
+        Enrollment e = em.persist(Enrollment.builder().student(graded).course(c).build());
+        em.persist(Grade.builder().enrollment(e).score(91).build());
+        em.persist(Enrollment.builder().student(pending).course(c).build());
+        em.persist(Enrollment.builder().student(dropped).course(c).active(false).build());
+        em.flush();
+
+        var csvOut = new ByteArrayOutputStream();
+        assertEquals(2, exports.exportGradebook(c.getId(), GradebookExportService.Format.CSV, csvOut));
+        String[] lines = csvOut.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("courseId,courseCode,studentId"));
+        assertTrue(lines[1].contains(",\"O\"\"Neil, Jr\",") && lines[1].endsWith(",91,A,4.0"), lines[1]);
+        assertTrue(lines[2].endsWith(",,,"), lines[2]);
+
+        var ndOut = new ByteArrayOutputStream();
+        assertEquals(2, exports.exportGradebook(null, GradebookExportService.Format.NDJSON, ndOut));
+        String[] records = ndOut.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, records.length);
+        var first = json.readTree(records[0]);
+        assertEquals("O\"Neil, Jr", first.get("lastName").asText());
+        assertEquals("A", first.get("letter").asText());
+        assertTrue(json.readTree(records[1]).get("score").isNull());
+    }
+}
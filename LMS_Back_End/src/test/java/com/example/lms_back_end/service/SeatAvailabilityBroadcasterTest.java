@@ -0,0 +1,139 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.course.CourseSeatsDto;
+import com.example.lms_back_end.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class SeatAvailabilityBroadcasterTest {
+
+    private final CourseRepository courses = mock(CourseRepository.class);
+    // the timer never fires during a test; flush() is driven by hand
+    private final SeatAvailabilityBroadcaster broadcaster = new SeatAvailabilityBroadcaster(courses,
+            Duration.ofHours(1), Duration.ofHours(1), Duration.ofMinutes(1), 2, 2, Duration.ofMillis(500));
+
+    @AfterEach
+    void stop() { broadcaster.shutdown(); }
+
+    /** Captures the rows of every "seats" event instead of writing to a response. */
+    static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<List<CourseSeatsDto>> events = new LinkedBlockingQueue<>();
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void send(SseEventBuilder builder) {
+            builder.build().stream()
+                    .filter(d -> d.getData() instanceof List<?>)
+                    .forEach(d -> events.add((List<CourseSeatsDto>) d.getData()));
+        }
+
+        List<CourseSeatsDto> next() throws InterruptedException {
+            return events.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /** A client that stops reading: its first write blocks until released. */
+    static class StuckEmitter extends SseEmitter {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static CourseRepository.CourseSeats row(long id, int capacity, int enrolled) {
+        return new CourseRepository.CourseSeats() {
+            public Long getId() { return id; }
+            public Integer getCapacity() { return capacity; }
+            public int getEnrolledCount() { return enrolled; }
+            public boolean isEnrollmentOpen() { return true; }
+        };
+    }
+
+    @Test
+    void changesAreCoalescedIntoOneQueryAndFilteredPerSubscriber() throws Exception {
+        when(courses.findSeatsByIds(anyCollection())).thenReturn(List.of(row(1, 30, 29), row(2, 10, 4)));
+        var catalog = new RecordingEmitter();
+        var onlyFirst = new RecordingEmitter();
+        broadcaster.register(catalog, null);
+        broadcaster.register(onlyFirst, Set.of(1L));
+
+        for (int i = 0; i < 100; i++) broadcaster.courseChanged(1L);
+        broadcaster.courseChanged(2L);
+        broadcaster.flush();
+        broadcaster.flush(); // nothing new
+
+        verify(courses, times(1)).findSeatsByIds(argThat((Collection<Long> ids) -> ids.containsAll(List.of(1L, 2L))));
+        assertEquals(2, catalog.next().size());
+        var first = onlyFirst.next();
+        assertEquals(1, first.size());
+        assertEquals(1L, first.get(0).getCourseId());
+        assertEquals(1, first.get(0).getSeatsRemaining());
+        assertNull(catalog.events.poll(200, TimeUnit.MILLISECONDS), "one event per flush, not per change");
+    }
+
+    @Test
+    void subscriptionsBeyondTheLimitAreRejected() {
+        broadcaster.register(new RecordingEmitter(), null);
+        broadcaster.register(new RecordingEmitter(), null);
+
+        var ex = assertThrows(ResponseStatusException.class, () -> broadcaster.register(new RecordingEmitter(), null));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatusCode());
+        assertEquals(2, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void aClientStuckInAWriteIsDroppedAndCompletedOnceTheWriteReturns() throws Exception {
+        when(courses.findSeatsByIds(anyCollection())).thenReturn(List.of(row(1, 30, 29)));
+        var stuck = new StuckEmitter();
+        var healthy = new RecordingEmitter();
+        broadcaster.register(stuck, null);
+        broadcaster.register(healthy, null);
+
+        broadcaster.courseChanged(1L);
+        broadcaster.flush();
+        assertTrue(stuck.writing.await(5, TimeUnit.SECONDS));
+        assertNotNull(healthy.next(), "the other send thread is not held up");
+
+        broadcaster.dropStalled();
+        assertEquals(2, broadcaster.subscriberCount(), "not stuck for send-timeout yet");
+        Thread.sleep(600);
+        broadcaster.dropStalled();
+        assertEquals(1, broadcaster.subscriberCount());
+
+        broadcaster.courseChanged(1L);
+        broadcaster.flush();
+        assertNotNull(healthy.next());
+        stuck.release.countDown();
+        assertTrue(stuck.completed.await(5, TimeUnit.SECONDS));
+    }
+}
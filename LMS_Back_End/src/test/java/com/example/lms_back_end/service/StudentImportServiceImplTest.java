@@ -0,0 +1,128 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.dto.student.StudentImportReport;
+import com.example.lms_back_end.dto.student.StudentImportRowResult;
+import com.example.lms_back_end.entity.AppUser;
+import com.example.lms_back_end.entity.Student;
+import com.example.lms_back_end.security.CurrentUserCache;
+import com.example.lms_back_end.security.Role;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "app.students.import.chunk-size=3",
+        "app.students.import.hash-pool-size=2",
+        "app.students.import.max-reported-errors=3"
+})
+@Import({StudentImportServiceImpl.class, CurrentUserCache.class, ObjectMapper.class,
+        StudentImportServiceImplTest.Beans.class})
+class StudentImportServiceImplTest {
+
+    @TestConfiguration
+    static class Beans {
+        @Bean PasswordEncoder passwordEncoder() { return new BCryptPasswordEncoder(4); }
+        @Bean LocalValidatorFactoryBean validator() { return new LocalValidatorFactoryBean(); }
+    }
+
+    @Autowired TestEntityManager em;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired StudentImportService imports;
+
+    @Test
+    void csvHeaderInAnyOrderWithQuotedFieldsCreatesStudentsAndLinksUsers() {
+        em.persist(AppUser.builder().username("Linked@Example.com").password("x").role(Role.ADMIN).build());
+        em.flush();
+        String csv = """
+                \uFEFFemail,lastName,studentNo,firstName,address
+                new@example.com,"O""Neil, Jr",S-1,Ann,"1 Main St, Town"
+
+                linked@example.com,Li,S-2,Bo,
+                bad-email,Di,S-3,Cy,
+                """;
+
+        var report = imports.importStudents(body(csv), StudentImportService.Format.CSV);
+
+        assertCounts(report, 3, 2, 1);
+        assertEquals(List.of(5), lines(report.getErrors()));
+        assertEquals("email must be a well-formed email address", report.getErrors().get(0).getMessage());
+        assertEquals("1 Main St, Town", jdbc.queryForObject(
+                "select address from students where student_no = 'S-1'", String.class));
+        assertEquals("O\"Neil, Jr", jdbc.queryForObject(
+                "select last_name from students where student_no = 'S-1'", String.class));
+        // a new STUDENT user for S-1, the existing account re-linked for S-2
+        assertEquals(List.of("STUDENT", "STUDENT"), jdbc.queryForList("""
+                select u.role from users u join students s on s.id = u.student_id
+                where s.student_no in ('S-1', 'S-2') order by s.student_no""", String.class));
+    }
+
+    @Test
+    void csvWithoutARequiredColumnIsRejected() {
+        var ex = assertThrows(ResponseStatusException.class,
+                () -> imports.importStudents(body("studentNo,firstName,lastName\nS-1,A,B\n"),
+                        StudentImportService.Format.CSV));
+        assertTrue(ex.getReason().contains("email"));
+    }
+
+    @Test
+    void ndjsonClashesAreFoundWithinAChunkAcrossChunksAndAgainstTheTable() {
+        em.persist(Fixtures.student("OLD-1"));
+        em.flush();
+        String ndjson = String.join("\n",
+                row("N-1", "n1@example.com"),           // chunk 1 (lines 1-3)
+                row("N-2", "N1@example.com"),           // same email as line 1, same chunk
+                "{not json",
+                row("old-1", "n4@example.com"),         // chunk 2: student number already in the table
+                row("N-5", "n5@example.com"),
+                row("n-1", "n6@example.com"),           // student number written by chunk 1
+                row("N-7", "n7@example.com"));          // chunk 3
+
+        var report = imports.importStudents(body(ndjson), StudentImportService.Format.NDJSON);
+
+        assertCounts(report, 7, 3, 4);
+        // only the first max-reported-errors failures are listed
+        assertEquals(List.of(2, 3, 4), lines(report.getErrors()));
+        assertEquals(1, report.getErrorsOmitted());
+        assertEquals(List.of("Duplicate email in file", "Invalid JSON", "Student number already exists"),
+                report.getErrors().stream().map(StudentImportRowResult::getMessage).toList());
+        assertEquals(List.of("N-1", "N-5", "N-7"), jdbc.queryForList(
+                "select student_no from students where student_no like 'N-%' order by student_no", String.class));
+        assertEquals(3, jdbc.queryForObject(
+                "select count(*) from users where username like 'n%@example.com'", Integer.class));
+    }
+
+    private static String row(String studentNo, String email) {
+        return "{\"studentNo\":\"" + studentNo + "\",\"firstName\":\"F\",\"lastName\":\"L\",\"email\":\"" + email + "\"}";
+    }
+
+    private static ByteArrayInputStream body(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<Integer> lines(List<StudentImportRowResult> rows) {
+        return rows.stream().map(StudentImportRowResult::getLine).toList();
+    }
+
+    private static void assertCounts(StudentImportReport report, int total, int created, int failed) {
+        assertEquals(total, report.getTotal());
+        assertEquals(created, report.getCreated());
+        assertEquals(failed, report.getFailed());
+    }
+}
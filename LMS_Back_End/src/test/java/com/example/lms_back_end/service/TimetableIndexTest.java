@@ -0,0 +1,67 @@
+package com.example.lms_back_end.service;
+
+import com.example.lms_back_end.repository.EnrollmentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TimetableIndexTest {
+
+    private final TimetableIndex index = new TimetableIndex(null, 30, 60, 10, Duration.ofMinutes(1));
+
+    private static TimetableIndex.Lecture lecture(long id, DayOfWeek day, int hour, int minute) {
+        return new TimetableIndex.Lecture(id, "C" + id, "T", null, day, LocalTime.of(hour, minute));
+    }
+
+    @Test
+    void masksCoverTheLectureAndStopAtMidnight() {
+        assertEquals(0b11L << 18, index.mask(LocalTime.of(9, 0)));
+        assertEquals(0b111L << 18, index.mask(LocalTime.of(9, 15)), "partial slots are marked; clash() compares minutes");
+        assertEquals(1L << 47, index.mask(LocalTime.of(23, 30)));
+        assertThrows(IllegalArgumentException.class, () -> new TimetableIndex(null, 15, 60, 10, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void clashNamesTheOverlappingLecture() {
+        var week = new TimetableIndex.Week(new long[7], List.of());
+        week = index.plus(week, lecture(1, DayOfWeek.MONDAY, 9, 0));
+        week = index.plus(week, lecture(2, DayOfWeek.MONDAY, 14, 0));
+
+        assertEquals(2L, index.clash(week, lecture(3, DayOfWeek.MONDAY, 14, 45)).orElseThrow().courseId());
+        assertTrue(index.clash(week, lecture(4, DayOfWeek.MONDAY, 10, 0)).isEmpty());
+        assertTrue(index.clash(week, lecture(5, DayOfWeek.TUESDAY, 9, 0)).isEmpty());
+        assertTrue(index.clash(week, null).isEmpty(), "unscheduled courses never clash");
+    }
+
+    @Test
+    void lecturesSharingOnlyASlotDoNotClash() {
+        var week = index.plus(new TimetableIndex.Week(new long[7], List.of()), lecture(1, DayOfWeek.MONDAY, 9, 15));
+
+        assertTrue(index.clash(week, lecture(2, DayOfWeek.MONDAY, 10, 15)).isEmpty(), "09:15-10:15 ends as 10:15 starts");
+        assertTrue(index.clash(week, lecture(3, DayOfWeek.MONDAY, 8, 15)).isEmpty());
+        assertEquals(1L, index.clash(week, lecture(4, DayOfWeek.MONDAY, 10, 14)).orElseThrow().courseId());
+        assertEquals(1L, index.clash(week, lecture(5, DayOfWeek.MONDAY, 8, 16)).orElseThrow().courseId());
+    }
+
+    @Test
+    void aLoadThatRacesAnEvictionIsNotKept() {
+        var enrollments = mock(EnrollmentRepository.class);
+        var cached = new TimetableIndex(enrollments, 30, 60, 10, Duration.ofMinutes(1));
+        // the student enrolls (and evicts) while their week is being read
+        when(enrollments.findLecturesByStudentId(7L)).thenAnswer(inv -> {
+            cached.evict(7L);
+            return List.of();
+        }).thenReturn(List.of());
+
+        cached.week(7L);
+        cached.week(7L);
+        cached.week(7L);
+        verify(enrollments, times(2)).findLecturesByStudentId(7L);
+    }
+}
@@ -5,7 +5,8 @@ import AdminService from "../../services/adminService";
  * - Total Instructors
  * - Total Students
  * - Total Courses
- * - Total Enrollments
+ * - Total Enrollments (and graded, when served by /api/admin/stats)
+ * - User accounts per role
  */
 export default function AdminDashboard() {
   const [stats, setStats] = React.useState({
@@ -59,11 +60,24 @@ export default function AdminDashboard() {
         <Card title="Students" value={stats.students} hintClass="text-bg-success" />
         <Card title="Courses" value={stats.courses} hintClass="text-bg-primary" />
         <Card title="Enrollments" value={stats.enrollments} hintClass="text-bg-secondary" />
+        {stats.gradedEnrollments != null && (
+          <Card title="Graded Enrollments" value={stats.gradedEnrollments} hintClass="text-bg-info" />
+        )}
       </div>
 
+      {!loading && stats.usersByRole && (
+        <div className="text-muted small mt-3">
+          <em>User accounts:</em>{" "}
+          {Object.entries(stats.usersByRole)
+            .map(([role, n]) => `${role.toLowerCase()} ${n}`)
+            .join(" · ")}
+        </div>
+      )}
+
       {!loading && stats.source && (
         <div className="text-muted small mt-2">
           <em>Source:</em> {stats.source}
+          {stats.computedAt && ` (as of ${new Date(stats.computedAt).toLocaleTimeString()})`}
         </div>
       )}
     </>
@@ -23,6 +23,7 @@ export default function ManageCourseGrades() {
   const [q, setQ] = React.useState("");
   const [modal, setModal] = React.useState({ open: false, studentId: null, studentName: "", score: "" });
   const [saving, setSaving] = React.useState(false);
+  const [exporting, setExporting] = React.useState(false);
 
   const load = React.useCallback(async () => {
     try {
@@ -105,11 +106,12 @@ export default function ManageCourseGrades() {
     }
     try {
       setSaving(true);
-      await InstructorService.upsertGrade({ studentId: modal.studentId, courseId, score: scoreNum });
-      // refresh grades only (faster)
-      const gradePage = await InstructorService.getGradesByCourse(courseId, { page: 0, size: 1000 });
+      // batch endpoint returns the updated gradebook, so no reload round-trip
+      const gradebook = await InstructorService.upsertCourseGrades(courseId, [
+        { studentId: modal.studentId, score: scoreNum },
+      ]);
       const gmap = new Map();
-      (gradePage?.content ?? []).forEach((g) => gmap.set(g.studentId, g));
+      (gradebook ?? []).forEach((g) => gmap.set(g.studentId, g));
       setGradesMap(gmap);
       closeModal();
     } catch (e2) {
@@ -120,6 +122,24 @@ export default function ManageCourseGrades() {
     }
   };
 
+  const exportCsv = async () => {
+    try {
+      setExporting(true);
+      const blob = await InstructorService.exportGradebook(courseId, "csv");
+      const url = URL.createObjectURL(blob);
+      const a = document.createElement("a");
+      a.href = url;
+      a.download = `gradebook-${headerCourse?.code || courseId}.csv`;
+      a.click();
+      URL.revokeObjectURL(url);
+    } catch (e) {
+      console.error(e);
+      alert("Failed to export gradebook.");
+    } finally {
+      setExporting(false);
+    }
+  };
+
   return (
     <>
       <div className="d-flex justify-content-between align-items-center mb-3">
@@ -135,13 +155,16 @@ export default function ManageCourseGrades() {
             )}
           </div>
         </div>
-        <form className="d-flex" onSubmit={(e) => e.preventDefault()}>
+        <form className="d-flex gap-2" onSubmit={(e) => e.preventDefault()}>
           <input
             className="form-control"
             placeholder="Search by student no, name or email..."
             value={q}
             onChange={(e) => setQ(e.target.value)}
           />
+          <button type="button" className="btn btn-outline-secondary text-nowrap" onClick={exportCsv} disabled={exporting}>
+            {exporting ? "Exporting…" : "Export CSV"}
+          </button>
         </form>
       </div>
 
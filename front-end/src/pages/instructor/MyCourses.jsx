@@ -22,7 +22,6 @@ export default function MyCourses() {
   const [size] = React.useState(6);
 
   const [data, setData] = React.useState(null);
-  const [counts, setCounts] = React.useState({});
   const [loading, setLoading] = React.useState(true);
   const [err, setErr] = React.useState(null);
 
@@ -47,12 +46,6 @@ export default function MyCourses() {
       // CHANGED: don't pass instructorId; service will use JWT iid
       const pageData = await InstructorService.getAssignedCourses({ page, size });
       setData(pageData || { content: [], number: 0, totalPages: 1, last: true });
-
-      const ids = (pageData?.content ?? []).map((c) => c.id);
-      const results = await Promise.all(ids.map((id) => InstructorService.getEnrollmentCountByCourse(id)));
-      const map = {};
-      ids.forEach((id, idx) => (map[id] = results[idx] ?? 0));
-      setCounts(map);
     } catch (e) {
       setErr(e);
       setData({ content: [], number: 0, totalPages: 1, last: true });
@@ -113,7 +106,7 @@ export default function MyCourses() {
           ) : (
             <div className="row g-3">
               {courses.map((c) => {
-                const enrolled = counts[c.id] ?? 0;
+                const enrolled = c.enrolledCount ?? 0; // served with the course page
                 return (
                   <div key={c.id} className="col-12">
                     <div className="card shadow-sm">
@@ -12,7 +12,6 @@ export default function ResultManagement() {
   const [size] = React.useState(6);
 
   const [coursesPage, setCoursesPage] = React.useState(null);
-  const [counts, setCounts] = React.useState({});
   const [loading, setLoading] = React.useState(true);
   const [err, setErr] = React.useState(null);
 
@@ -22,12 +21,6 @@ export default function ResultManagement() {
       setErr(null);
       const res = await InstructorService.getAssignedCourses(instructorId, { page, size });
       setCoursesPage(res || { content: [], number: 0, totalPages: 1, last: true });
-
-      const ids = (res?.content ?? []).map((c) => c.id);
-      const batch = await Promise.all(ids.map((id) => InstructorService.getEnrollmentCountByCourse(id)));
-      const map = {};
-      ids.forEach((id, idx) => (map[id] = batch[idx] ?? 0));
-      setCounts(map);
     } catch (e) {
       console.error(e);
       setErr(e);
@@ -60,7 +53,7 @@ export default function ResultManagement() {
           ) : (
             <div className="row g-3">
               {courses.map((c) => {
-                const enrolled = counts[c.id] ?? 0;
+                const enrolled = c.enrolledCount ?? 0; // served with the course page
                 const capacity = c?.capacity ?? "-";
                 return (
                   <div className="col-12" key={c.id}>
@@ -7,6 +7,9 @@ import StudentServise from "../../services/StudentServise";
  * - Shows all courses the student is NOT enrolled in
  * - Bootstrap cards
  * - "Enroll" button calls POST /api/enrollments
+ * - Full courses offer the waitlist (POST /api/waitlists) and show the queue position
+ * - "Add to cart" collects courses; checkout enrolls in all of them with one request
+ * - Seat counts update live from GET /api/courses/seats/stream (Server-Sent Events)
  */
 export default function CourseCatalog() {
   const { studentId } = useParams();
@@ -21,11 +24,14 @@ export default function CourseCatalog() {
   // data
   const [enrolledIds, setEnrolledIds] = React.useState(new Set());
   const [coursesPage, setCoursesPage] = React.useState(null);
+  const [waitlisted, setWaitlisted] = React.useState(new Map()); // courseId -> WaitlistEntryDto
 
   // ui states
   const [loading, setLoading] = React.useState(true);
   const [err, setErr] = React.useState(null);
   const [busyId, setBusyId] = React.useState(null); // track enrolling course
+  const [cart, setCart] = React.useState([]); // CourseDto[] picked for checkout
+  const [checkingOut, setCheckingOut] = React.useState(false);
 
   // Load enrolled + all courses (current page) in parallel
   const load = React.useCallback(async () => {
@@ -33,12 +39,14 @@ export default function CourseCatalog() {
       setLoading(true);
       setErr(null);
 
-      const [enrolled, allCourses] = await Promise.all([
+      const [enrolled, allCourses, waitlists] = await Promise.all([
         StudentServise.getEnrolledCourses(studentId, { page: 0, size: 1000 }), // grab enough to compute exclusion
         StudentServise.getCourses({ page, size, q }),
+        StudentServise.getWaitlists(studentId).catch(() => []),
       ]);
 
       setEnrolledIds(new Set((enrolled?.content || []).map((c) => c.id)));
+      setWaitlisted(new Map((waitlists || []).map((w) => [w.courseId, w])));
       setCoursesPage(allCourses);
     } catch (e) {
       console.error(e);
@@ -52,6 +60,32 @@ export default function CourseCatalog() {
     load();
   }, [load]);
 
+  // Live seat counts / open-closed flags for the courses on this page
+  const pageCourseIds = (coursesPage?.content || []).map((c) => c.id).join(",");
+  React.useEffect(() => {
+    if (!pageCourseIds) return undefined;
+    return StudentServise.subscribeSeats(pageCourseIds.split(","), (rows) => {
+      const byId = new Map(rows.map((r) => [r.courseId, r]));
+      setCoursesPage((p) =>
+        p && {
+          ...p,
+          content: p.content.map((c) => {
+            const r = byId.get(c.id);
+            return r
+              ? {
+                  ...c,
+                  capacity: r.capacity,
+                  enrolledCount: r.enrolledCount,
+                  seatsRemaining: r.seatsRemaining,
+                  enrollmentOpen: r.enrollmentOpen,
+                }
+              : c;
+          }),
+        }
+      );
+    });
+  }, [pageCourseIds]);
+
   const handleEnroll = async (courseId) => {
     if (!window.confirm("Enroll in this course?")) return;
     try {
@@ -61,7 +95,68 @@ export default function CourseCatalog() {
       await load();
     } catch (e) {
       console.error(e);
-      alert("Failed to enroll. Please try again.");
+      if (e?.response?.status === 409 && window.confirm("This course is full. Join the waitlist instead?")) {
+        await handleJoinWaitlist(courseId);
+      } else {
+        alert("Failed to enroll. Please try again.");
+      }
+    } finally {
+      setBusyId(null);
+    }
+  };
+
+  const toggleCart = (course) =>
+    setCart((items) =>
+      items.some((c) => c.id === course.id)
+        ? items.filter((c) => c.id !== course.id)
+        : [...items, course]
+    );
+
+  const handleCheckout = async () => {
+    if (!window.confirm(`Enroll in ${cart.length} course(s)?`)) return;
+    try {
+      setCheckingOut(true);
+      const report = await StudentServise.checkout(studentId, cart.map((c) => c.id));
+      const done = (report.results || []).filter((r) => r.success).map((r) => r.courseId);
+      // no reload: the enrolled courses simply drop out of the catalog
+      setEnrolledIds((ids) => new Set([...ids, ...done]));
+      setCart((items) => items.filter((c) => !done.includes(c.id)));
+      const refused = (report.results || []).filter((r) => !r.success);
+      if (refused.length > 0) {
+        const byId = new Map(cart.map((c) => [c.id, c]));
+        alert(
+          "Some courses could not be enrolled:\n" +
+            refused.map((r) => `${byId.get(r.courseId)?.code || r.courseId}: ${r.message}`).join("\n")
+        );
+      }
+    } catch (e) {
+      console.error(e);
+      alert("Checkout failed. Please try again.");
+    } finally {
+      setCheckingOut(false);
+    }
+  };
+
+  const handleJoinWaitlist = async (courseId) => {
+    try {
+      const entry = await StudentServise.joinWaitlist(studentId, courseId);
+      alert(`You are #${entry.position} on the waitlist. You will be enrolled automatically when a seat frees up.`);
+      await load();
+    } catch (e) {
+      console.error(e);
+      alert("Could not join the waitlist. Please try enrolling again.");
+    }
+  };
+
+  const handleLeaveWaitlist = async (courseId) => {
+    if (!window.confirm("Leave the waitlist for this course?")) return;
+    try {
+      setBusyId(courseId);
+      await StudentServise.leaveWaitlist(studentId, courseId);
+      await load();
+    } catch (e) {
+      console.error(e);
+      alert("Failed to leave the waitlist. Please try again.");
     } finally {
       setBusyId(null);
     }
@@ -95,6 +190,24 @@ export default function CourseCatalog() {
         </form>
       </div>
 
+      {/* Cart */}
+      {cart.length > 0 && (
+        <div className="alert alert-primary d-flex justify-content-between align-items-center flex-wrap gap-2">
+          <div>
+            <span className="fw-semibold">Cart:</span>{" "}
+            {cart.map((c) => c.code || c.title).join(", ")}
+          </div>
+          <div className="d-flex gap-2">
+            <button className="btn btn-outline-secondary btn-sm" onClick={() => setCart([])}>
+              Clear
+            </button>
+            <button className="btn btn-primary btn-sm" disabled={checkingOut} onClick={handleCheckout}>
+              {checkingOut ? "Enrolling..." : `Checkout (${cart.length})`}
+            </button>
+          </div>
+        </div>
+      )}
+
       {/* Content */}
       {loading && <div className="text-muted">Loading courses…</div>}
       {err && <div className="text-danger">Failed to load courses.</div>}
@@ -150,9 +263,11 @@ export default function CourseCatalog() {
                         <div className="col">
                           <div className="small">
                             <div className="fw-semibold">
-                              {c.capacity ?? "-"}
+                              {typeof c.seatsRemaining === "number"
+                                ? `${c.seatsRemaining} / ${c.capacity} left`
+                                : c.capacity ?? "-"}
                             </div>
-                            <div className="text-muted">Seats</div>
+                            <div className="text-muted">Seats (live)</div>
                           </div>
                         </div>
                       </div>
@@ -161,14 +276,38 @@ export default function CourseCatalog() {
                       {c.description && <p className="mt-3 mb-2">{c.description}</p>}
 
                       {/* actions */}
-                      <div className="d-flex gap-2">
-                        <button
-                          className="btn btn-primary"
-                          disabled={busyId === c.id || !c.enrollmentOpen}
-                          onClick={() => handleEnroll(c.id)}
-                        >
-                          {busyId === c.id ? "Enrolling..." : "Enroll"}
-                        </button>
+                      <div className="d-flex gap-2 align-items-center">
+                        {waitlisted.has(c.id) ? (
+                          <>
+                            <span className="badge text-bg-warning">
+                              Waitlisted #{waitlisted.get(c.id).position}
+                            </span>
+                            <button
+                              className="btn btn-outline-secondary btn-sm"
+                              disabled={busyId === c.id}
+                              onClick={() => handleLeaveWaitlist(c.id)}
+                            >
+                              Leave waitlist
+                            </button>
+                          </>
+                        ) : (
+                          <>
+                            <button
+                              className="btn btn-primary"
+                              disabled={busyId === c.id || !c.enrollmentOpen}
+                              onClick={() => handleEnroll(c.id)}
+                            >
+                              {busyId === c.id ? "Enrolling..." : "Enroll"}
+                            </button>
+                            <button
+                              className="btn btn-outline-primary"
+                              disabled={!c.enrollmentOpen}
+                              onClick={() => toggleCart(c)}
+                            >
+                              {cart.some((x) => x.id === c.id) ? "Remove from cart" : "Add to cart"}
+                            </button>
+                          </>
+                        )}
                       </div>
                     </div>
                   </div>
@@ -7,14 +7,19 @@ export default function EnrolledCourses() {
   const [page, setPage] = React.useState(0);
   const [size] = React.useState(6);
   const [data, setData] = React.useState(null);
+  const [timetable, setTimetable] = React.useState(null); // TimetableDto
   const [loading, setLoading] = React.useState(true);
   const [err, setErr] = React.useState(null);
 
   const load = React.useCallback(async () => {
     try {
       setLoading(true);
-      const res = await StudentServise.getEnrolledCourses(studentId, { page, size });
+      const [res, week] = await Promise.all([
+        StudentServise.getEnrolledCourses(studentId, { page, size }),
+        StudentServise.getTimetable(studentId).catch(() => null), // timetable is optional
+      ]);
       setData(res);
+      setTimetable(week);
       setErr(null);
     } catch (e) {
       console.error(e);
@@ -45,6 +50,32 @@ export default function EnrolledCourses() {
       {loading && <div className="text-muted">Loading courses…</div>}
       {err && <div className="text-danger">Failed to load courses.</div>}
 
+      {!loading && !err && timetable?.lectures?.length > 0 && (
+        <div className="card shadow-sm mb-3">
+          <div className="card-body">
+            <div className="fw-semibold mb-2">Weekly Timetable</div>
+            <div className="table-responsive">
+              <table className="table table-sm mb-0">
+                <tbody>
+                  {timetable.lectures.map((l) => (
+                    <tr key={l.courseId}>
+                      <td style={{ width: "20%" }}>{l.day}</td>
+                      <td style={{ width: "20%" }}>
+                        {formatTime(l.start)}–{formatTime(l.end)}
+                      </td>
+                      <td>
+                        <span className="fw-semibold">{l.courseCode}</span> {l.courseTitle}
+                      </td>
+                      <td className="text-muted">{l.lectureHall || "-"}</td>
+                    </tr>
+                  ))}
+                </tbody>
+              </table>
+            </div>
+          </div>
+        </div>
+      )}
+
       {!loading && !err && (
         <>
           {data?.content?.length === 0 ? (
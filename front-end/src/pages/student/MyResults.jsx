@@ -6,6 +6,7 @@ import StudentServise from "../../services/StudentServise";
  * My Results
  * - Shows overall GPA for the student
  * - Shows a table with ALL enrolled courses and their grade/marks (or Pending)
+ * - Shows class rank/percentile per course and overall (by GPA)
  */
 export default function MyResults() {
   const { studentId } = useParams();
@@ -13,6 +14,7 @@ export default function MyResults() {
   const [gpaValue, setGpaValue] = React.useState(null);
   const [grades, setGrades] = React.useState([]); // GradeDto[]
   const [enrolledCourses, setEnrolledCourses] = React.useState([]); // CourseDto[]
+  const [ranks, setRanks] = React.useState(null); // StudentRanksDto
   const [loading, setLoading] = React.useState(true);
   const [err, setErr] = React.useState(null);
 
@@ -22,14 +24,16 @@ export default function MyResults() {
       setErr(null);
 
       // Fetch all grades (big page) and all enrolled courses (big page)
-      const [gradesPage, coursesPage, summary] = await Promise.all([
+      const [gradesPage, coursesPage, summary, rankInfo] = await Promise.all([
         StudentServise.getGradesByStudent(studentId, { page: 0, size: 1000 }),
         StudentServise.getEnrolledCourses(studentId, { page: 0, size: 1000 }),
         StudentServise.getGradeSummary(studentId),
+        StudentServise.getRanks(studentId).catch(() => null), // ranks are optional
       ]);
 
       setGrades(gradesPage?.content || []);
       setEnrolledCourses(coursesPage?.content || []);
+      setRanks(rankInfo);
 
       // Try to read GPA from summary. Fall back to computing average gradePoint.
       const gpaFromSummary =
@@ -70,6 +74,14 @@ export default function MyResults() {
     return m;
   }, [grades]);
 
+  const rankByCourseId = React.useMemo(() => {
+    const m = new Map();
+    for (const r of ranks?.courses || []) m.set(r.courseId, r);
+    return m;
+  }, [ranks]);
+
+  const formatRank = (r) => (r ? `${r.rank} / ${r.outOf}` : "—");
+
   return (
     <>
       <h2 className="h6 mb-3">My Results</h2>
@@ -87,6 +99,11 @@ export default function MyResults() {
                 <div className="text-muted small">
                   Based on completed/graded courses
                 </div>
+                {ranks?.overall && (
+                  <div className="text-muted small">
+                    Rank {formatRank(ranks.overall)} · {ranks.overall.percentile.toFixed(1)}th percentile
+                  </div>
+                )}
               </div>
               <div className="display-6 m-0">
                 {typeof gpaValue === "number" ? gpaValue.toFixed(2) : "—"}
@@ -105,18 +122,20 @@ export default function MyResults() {
                       <th>Course ID</th>
                       <th className="text-center">Grade</th>
                       <th className="text-center">Marks</th>
+                      <th className="text-center">Class Rank</th>
                     </tr>
                   </thead>
                   <tbody>
                     {enrolledCourses.length === 0 ? (
                       <tr>
-                        <td colSpan={4} className="text-center py-4 text-muted">
+                        <td colSpan={5} className="text-center py-4 text-muted">
                           You are not enrolled in any courses.
                         </td>
                       </tr>
                     ) : (
                       enrolledCourses.map((c) => {
                         const g = gradeByCourseId.get(c.id);
+                        const r = rankByCourseId.get(c.id);
                         const hasGrade =
                           !!g && (typeof g.score === "number" || g.letter);
 
@@ -148,6 +167,13 @@ export default function MyResults() {
                                 ? (typeof g.score === "number" ? g.score : "—")
                                 : "—"}
                             </td>
+                            <td className="text-center">
+                              {r ? (
+                                <span title={`${r.percentile.toFixed(1)}th percentile`}>{formatRank(r)}</span>
+                              ) : (
+                                "—"
+                              )}
+                            </td>
                           </tr>
                         );
                       })
@@ -4,7 +4,6 @@ import StudentServise, {
   getAuthInfo as _getAuthInfo,
   getAuthToken as _getAuthToken,
   setAuthToken as _setAuthToken,
-  clearAuth as _clearAuth,
 } from "./StudentServise";
 
 function safeDecode() {                         // <--- ADDED: robust decoder
@@ -27,8 +26,8 @@ const AuthService = {
   /** Login -> stores token & claims (role, userId, studentId, instructorId) */
   login: (username, password) => StudentServise.login(username, password),
 
-  /** Logout -> clears token & claims */
-  logout: () => _clearAuth(),
+  /** Logout -> revokes tokens server-side and clears token & claims */
+  logout: () => StudentServise.logout(),
 
   /** Helpers */
   getAuthInfo: () => {
@@ -44,11 +44,13 @@ const InstructorService = {
   getEnrollmentsByCourse: (courseId, { page = 0, size = 50 } = {}) =>
     api.get(`/api/enrollments/courses/${courseId}`, { params: { page, size } }).then(unpack),
 
-  /** Count via Page.totalElements (cheap) */
-  getEnrollmentCountByCourse: async (courseId) => {
-    const page = await InstructorService.getEnrollmentsByCourse(courseId, { page: 0, size: 1 });
-    return typeof page?.totalElements === "number" ? page.totalElements : 0;
-  },
+  /**
+   * Seat counters for many courses in one call: CourseSeatsDto[]
+   * { courseId, capacity, enrolledCount, seatsRemaining, enrollmentOpen }.
+   * Course pages already carry enrolledCount/seatsRemaining; use this to refresh just the numbers.
+   */
+  getCourseCounts: (courseIds) =>
+    api.get(`/api/courses/counts`, { params: { ids: courseIds.join(",") } }).then(unpack),
 
   /** Fetch a single student for the modal table */
   getStudentById: (studentId) => api.get(`/api/students/${studentId}`).then(unpack),
@@ -66,6 +68,19 @@ const InstructorService = {
     if (iid == null) throw new Error("Not authenticated as instructor");
     return api.post(`/api/grades`, { instructorId: iid, studentId, courseId, score }).then(unpack);
   },
+
+  // Streams the active roster + grades; returns a Blob (format: "csv" | "ndjson")
+  exportGradebook: (courseId, format = "csv") =>
+    api
+      .get(`/api/exports/courses/${courseId}/gradebook`, { params: { format }, responseType: "blob" })
+      .then((res) => res.data),
+
+  // grades: [{ studentId, score }] -> whole updated gradebook (GradeDto[]); all-or-nothing
+  upsertCourseGrades: (courseId, grades) => {
+    const iid = getInstructorIdFromAuth();
+    if (iid == null) throw new Error("Not authenticated as instructor");
+    return api.post(`/api/grades/courses/${courseId}/batch`, { instructorId: iid, grades }).then(unpack);
+  },
 };
 
 export default InstructorService;
@@ -11,6 +11,7 @@ const unpack = (res) => res.data;
 /** ===== Auth handling (JWT) ===== */
 const TOKEN_KEY = "auth_token";
 const AUTH_INFO_KEY = "auth_info"; // { role, userId, studentId, instructorId }
+const REFRESH_KEY = "auth_refresh_token";
 
 /** Attach token to every request if present */
 api.interceptors.request.use((config) => {
@@ -22,20 +23,53 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
-/** Optional: simple 401 hook (no redirect here; handle in UI if desired) */
-api.interceptors.response.use(
-  (r) => r,
-  (error) => {
-    // if (error?.response?.status === 401) { /* e.g., logout() */ }
-    return Promise.reject(error);
+/** Access tokens are short-lived: on 401, refresh once and retry the request */
+let refreshing = null;
+function refreshAuth() {
+  const refreshToken = localStorage.getItem(REFRESH_KEY);
+  if (!refreshToken) return Promise.reject(new Error("No refresh token"));
+  if (!refreshing) {
+    refreshing = axios
+      .post(`${api.defaults.baseURL}/api/auth/refresh`, { refreshToken })
+      .then((res) => {
+        saveAuth(res.data);
+        return res.data.token;
+      })
+      .catch((err) => {
+        clearAuth();
+        throw err;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
   }
-);
+  return refreshing;
+}
+
+/** Response interceptor usable by any axios instance that sends the stored token */
+function retryWithRefresh(instance) {
+  return async (error) => {
+    const original = error?.config;
+    const isAuthCall = original?.url?.includes("/api/auth/");
+    if (error?.response?.status === 401 && original && !original._retried && !isAuthCall) {
+      original._retried = true;
+      const token = await refreshAuth();
+      original.headers = original.headers || {};
+      original.headers.Authorization = `Bearer ${token}`;
+      return instance(original);
+    }
+    return Promise.reject(error);
+  };
+}
+
+api.interceptors.response.use((r) => r, retryWithRefresh(api));
 
 /** Save token + auth info from /api/auth/login response */
 function saveAuth(authResponse) {
   if (!authResponse) return;
-  const { token, role, userId, studentId, instructorId } = authResponse;
+  const { token, refreshToken, role, userId, studentId, instructorId } = authResponse;
   setAuthToken(token);
+  if (refreshToken) localStorage.setItem(REFRESH_KEY, refreshToken);
   const info = { role, userId, studentId, instructorId };
   localStorage.setItem(AUTH_INFO_KEY, JSON.stringify(info));
 }
@@ -44,6 +78,7 @@ function saveAuth(authResponse) {
 function clearAuth() {
   localStorage.removeItem(TOKEN_KEY);
   localStorage.removeItem(AUTH_INFO_KEY);
+  localStorage.removeItem(REFRESH_KEY);
 }
 
 /** Set token only */
@@ -67,6 +102,58 @@ function getAuthInfo() {
   }
 }
 
+/**
+ * Live seat counts over Server-Sent Events. EventSource cannot send the Authorization header,
+ * so the stream is read with fetch. Calls onSeats(CourseSeatsDto[]) per "seats" event and
+ * reconnects after drops; returns a function that closes the stream.
+ */
+function subscribeSeats(courseIds, onSeats) {
+  const controller = new AbortController();
+  const query = courseIds?.length ? `?ids=${courseIds.join(",")}` : "";
+  let retried401 = false;
+
+  const connect = async () => {
+    try {
+      const res = await fetch(`${api.defaults.baseURL}/api/courses/seats/stream${query}`, {
+        headers: { Authorization: `Bearer ${getAuthToken()}`, Accept: "text/event-stream" },
+        signal: controller.signal,
+      });
+      if (res.status === 401 && !retried401) {
+        retried401 = true;
+        await refreshAuth();
+        return connect();
+      }
+      if (!res.ok || !res.body) throw new Error(`Seat stream failed: ${res.status}`);
+      retried401 = false;
+
+      const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+      let buffer = "";
+      for (;;) {
+        const { value, done } = await reader.read();
+        if (done) break;
+        buffer += value;
+        let end;
+        while ((end = buffer.indexOf("\n\n")) >= 0) {
+          const frame = buffer.slice(0, end);
+          buffer = buffer.slice(end + 2);
+          const lines = frame.split("\n");
+          const event = lines.find((l) => l.startsWith("event:"))?.slice(6).trim();
+          const data = lines.filter((l) => l.startsWith("data:")).map((l) => l.slice(5)).join("\n");
+          if (event === "seats" && data) onSeats(JSON.parse(data));
+        }
+      }
+    } catch (e) {
+      if (controller.signal.aborted) return;
+      console.warn(e);
+    }
+    // server timeout or network drop: reconnect (the stream resends the current counts)
+    if (!controller.signal.aborted) setTimeout(connect, 3000);
+  };
+
+  connect();
+  return () => controller.abort();
+}
+
 /** ===== Public service API ===== */
 const StudentServise = {
   /** -------- Auth -------- */
@@ -80,8 +167,13 @@ const StudentServise = {
     return res;
   },
 
-  /** Logout (clear stored auth) */
+  /** Logout (revoke tokens server-side, best effort, then clear stored auth) */
   logout: () => {
+    const refreshToken = localStorage.getItem(REFRESH_KEY);
+    const token = getAuthToken();
+    api
+      .post(`/api/auth/logout`, { refreshToken }, token ? { headers: { Authorization: `Bearer ${token}` } } : {})
+      .catch(() => {});
     clearAuth();
   },
 
@@ -101,18 +193,58 @@ const StudentServise = {
       .get(`/api/students/${studentId}/courses`, { params: { page, size } })
       .then(unpack),
 
+  /** Weekly lectures of the enrolled courses => TimetableDto { lectures: [{ day, start, end, courseCode, ... }] } */
+  getTimetable: (studentId) => api.get(`/api/students/${studentId}/timetable`).then(unpack),
+
   /** ALL courses (Spring Page<CourseDto>) */
   getCourses: ({ page = 0, size = 12, q = "" } = {}) =>
     api.get(`/api/courses`, { params: { page, size, q } }).then(unpack),
 
-  /** Enroll */
-  enroll: (studentId, courseId) =>
-    api.post(`/api/enrollments`, { studentId, courseId }).then(unpack),
+  /** Live seat counts for the given course ids (all courses if empty) => unsubscribe function */
+  subscribeSeats,
+
+  /**
+   * Enroll. In registration-surge mode the server answers 202 with a ticket; this waits for the
+   * ticket's decision (long poll) and rejects like a direct 409 when no seat was given.
+   */
+  enroll: async (studentId, courseId) => {
+    const res = await api.post(`/api/enrollments`, { studentId, courseId });
+    if (res.status !== 202) return res.data;
+
+    let ticket = res.data;
+    while (ticket.status === "QUEUED") {
+      ticket = await api
+        .get(`/api/enrollments/tickets/${ticket.ticketId}`, { params: { studentId, waitSeconds: 25 } })
+        .then(unpack);
+    }
+    if (ticket.status === "REJECTED") {
+      const err = new Error(ticket.message);
+      err.response = { status: 409, data: ticket };
+      throw err;
+    }
+    return ticket;
+  },
+
+  /** Cart checkout: many courses in one request => BulkEnrollReport { enrolled, failed, results[] } */
+  checkout: (studentId, courseIds, { allOrNothing = false } = {}) =>
+    api.post(`/api/enrollments/checkout`, { studentId, courseIds, allOrNothing }).then(unpack),
 
   /** Unenroll */
   unenroll: (studentId, courseId) =>
     api.delete(`/api/enrollments`, { params: { studentId, courseId } }),
 
+  /** Join a full course's waitlist => WaitlistEntryDto { courseId, position, ... } */
+  joinWaitlist: (studentId, courseId) =>
+    api.post(`/api/waitlists`, { studentId, courseId }).then(unpack),
+
+  /** Leave a waitlist */
+  leaveWaitlist: (studentId, courseId) =>
+    api.delete(`/api/waitlists`, { params: { studentId, courseId } }),
+
+  /** Courses the student is queued for, with current positions => WaitlistEntryDto[] */
+  getWaitlists: (studentId) =>
+    api.get(`/api/waitlists/students/${studentId}`).then(unpack),
+
   /** -------- Grades -------- */
   /** /api/grades/students/{studentId} => Page<GradeDto> */
   getGradesByStudent: (studentId, { page = 0, size = 100 } = {}) =>
@@ -123,7 +255,11 @@ const StudentServise = {
   /** /api/grades/students/{studentId}/summary => GradeSummaryDto */
   getGradeSummary: (studentId) =>
     api.get(`/api/grades/students/${studentId}/summary`).then(unpack),
+
+  /** /api/grades/students/{studentId}/ranks => StudentRanksDto (overall GPA rank + per-course ranks) */
+  getRanks: (studentId) =>
+    api.get(`/api/grades/students/${studentId}/ranks`).then(unpack),
 };
 
 export default StudentServise;
-export { api, getAuthToken, getAuthInfo, setAuthToken, clearAuth };
+export { api, getAuthToken, getAuthInfo, setAuthToken, clearAuth, retryWithRefresh };
@@ -1,5 +1,6 @@
 // src/services/adminService.js
 import axios from "axios";
+import { retryWithRefresh } from "./StudentServise";
 
 /** ===== Axios (standalone) ===== */
 const API_BASE = import.meta.env.VITE_API_URL || "http://localhost:8080";
@@ -17,6 +18,9 @@ api.interceptors.request.use((config) => {
   return config;
 });
 
+// Refresh the short-lived access token on 401 and retry once
+api.interceptors.response.use((r) => r, retryWithRefresh(api));
+
 const unpack = (res) => res.data;
 
 /** ===== Helpers for dashboard stats ===== */
@@ -29,8 +33,9 @@ async function getCountFromPage(path) {
   }
 }
 
-async function getAllCourseIds() {
-  const ids = [];
+/** Sum of CourseDto.enrolledCount over every course page (no per-course requests) */
+async function sumEnrolledCounts() {
+  let total = 0;
   let page = 0;
   while (true) {
     const data = await api
@@ -38,22 +43,11 @@ async function getAllCourseIds() {
       .then(unpack)
       .catch(() => null);
     if (!data) break;
-    (data.content || []).forEach((c) => ids.push(c.id));
+    (data.content || []).forEach((c) => (total += c.enrolledCount || 0));
     if (data.last || page >= (data.totalPages ?? 1) - 1) break;
     page += 1;
   }
-  return ids;
-}
-
-async function getEnrollmentCountForCourse(courseId) {
-  try {
-    const data = await api
-      .get(`/api/enrollments/courses/${courseId}`, { params: { page: 0, size: 1 } })
-      .then(unpack);
-    return typeof data?.totalElements === "number" ? data.totalElements : 0;
-  } catch {
-    return 0;
-  }
+  return total;
 }
 
 async function getOverviewCounts() {
@@ -66,6 +60,9 @@ async function getOverviewCounts() {
       students: norm(stats.students),
       courses: norm(stats.courses),
       enrollments: norm(stats.enrollments),
+      gradedEnrollments: norm(stats.gradedEnrollments),
+      usersByRole: stats.usersByRole || null,
+      computedAt: stats.computedAt || null,
       source: "stats-endpoint",
     };
   } catch {
@@ -79,16 +76,10 @@ async function getOverviewCounts() {
     getCountFromPage("/api/courses"),
   ]);
 
-  // Compute enrollments by summing per-course counts (no /api/enrollments root)
+  // Enrollments: courses carry their enrolled count, so one pass over the course pages
   let totalEnrollments = 0;
   try {
-    const courseIds = await getAllCourseIds();
-    const concurrency = 8;
-    for (let i = 0; i < courseIds.length; i += concurrency) {
-      const batch = courseIds.slice(i, i + concurrency);
-      const counts = await Promise.all(batch.map((id) => getEnrollmentCountForCourse(id)));
-      totalEnrollments += counts.reduce((a, b) => a + (b || 0), 0);
-    }
+    totalEnrollments = await sumEnrolledCounts();
   } catch {
     totalEnrollments = 0;
   }
@@ -98,7 +89,7 @@ async function getOverviewCounts() {
     students,
     courses,
     enrollments: totalEnrollments,
-    source: "computed-per-course",
+    source: "computed-from-courses",
   };
 }
 